@@ -0,0 +1,130 @@
+package ru.practicum.shareit.benchmark.gateway;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.config.ShareItServerProperties;
+import ru.practicum.shareit.item.dto.ItemCreateRequestDto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Построение запросов к серверу в {@link BaseClient} gateway и формирование ответа из ответа сервера.
+ * Транспорт заменен фабрикой, которая сразу возвращает подготовленный ответ, поэтому замер
+ * включает заголовки, подстановку параметров в URI, сериализацию тела и копирование ответа, но не сеть.
+ * Бенчмарк getStreamed выполняет запрос внутри обработки запроса gateway, где ответ сервера копируется
+ * в ответ gateway потоком, остальные читают ответ сервера в массив байтов.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BaseClientBenchmark {
+
+    private static final long OWNER_ID = 1L;
+    private static final long BOOKER_ID = 2L;
+    private static final int PAGE_SIZE = 20;
+
+    private static final byte[] ITEM_JSON = ("{\"id\":1,\"name\":\"Cordless drill\","
+            + "\"description\":\"Cordless drill with two batteries\",\"available\":true,"
+            + "\"owner\":{\"id\":1,\"name\":\"Owner User\",\"email\":\"owner@example.com\"},"
+            + "\"requestId\":null,\"comments\":[],\"lastBooking\":null,\"nextBooking\":null}")
+            .getBytes(StandardCharsets.UTF_8);
+
+    private final ItemCreateRequestDto createRequest =
+            new ItemCreateRequestDto("Cordless drill", "Cordless drill with two batteries", true, null);
+    private final Map<String, Object> pageParameters = Map.of("from", 0, "size", PAGE_SIZE);
+
+    private BenchmarkClient client;
+    private MockHttpServletResponse gatewayResponse;
+    private ServletRequestAttributes gatewayRequest;
+
+    @Setup
+    public void setUp() {
+        RestTemplate rest = new RestTemplate((uri, method) -> {
+            MockClientHttpRequest request = new MockClientHttpRequest(method, uri);
+            MockClientHttpResponse response = new MockClientHttpResponse(ITEM_JSON, HttpStatus.OK);
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            request.setResponse(response);
+            return request;
+        });
+        client = new BenchmarkClient(rest);
+        client.setServerProperties(new ShareItServerProperties());
+        gatewayResponse = new MockHttpServletResponse();
+        gatewayRequest = new ServletRequestAttributes(new MockHttpServletRequest(), gatewayResponse);
+    }
+
+    @Benchmark
+    public ResponseEntity<Object> get() {
+        return client.get("/items/1", BOOKER_ID);
+    }
+
+    @Benchmark
+    public ResponseEntity<Object> getStreamed() {
+        gatewayResponse.setCommitted(false);
+        gatewayResponse.reset();
+        RequestContextHolder.setRequestAttributes(gatewayRequest);
+        try {
+            return client.get("/items/1", BOOKER_ID);
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    @Benchmark
+    public ResponseEntity<Object> getWithParameters() {
+        return client.get("/items?from={from}&size={size}", OWNER_ID, pageParameters);
+    }
+
+    @Benchmark
+    public ResponseEntity<Object> post() {
+        return client.post("/items", OWNER_ID, createRequest);
+    }
+
+    /**
+     * Клиент, открывающий методы {@link BaseClient} для бенчмарка.
+     */
+    static class BenchmarkClient extends BaseClient {
+
+        BenchmarkClient(RestTemplate rest) {
+            super(rest);
+        }
+
+        @Override
+        protected ResponseEntity<Object> get(String path, Long userId) {
+            return super.get(path, userId);
+        }
+
+        @Override
+        protected ResponseEntity<Object> get(String path, Long userId, Map<String, Object> parameters) {
+            return super.get(path, userId, parameters);
+        }
+
+        @Override
+        protected ResponseEntity<Object> post(String path, Long userId, Object body) {
+            return super.post(path, userId, body);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,124 @@
+package ru.practicum.shareit.benchmark;
+
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.dto.CommentResponseDto;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentView;
+import ru.practicum.shareit.item.repository.ItemView;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Данные для бенчмарков: страница вещей одного владельца с отзывами и бронированиями
+ * в виде сущностей и в виде проекций.
+ */
+final class BenchmarkData {
+
+    /**
+     * Размер страницы, которую возвращают эндпоинты списков.
+     */
+    static final int PAGE_SIZE = 20;
+
+    /**
+     * Количество отзывов у каждой вещи.
+     */
+    static final int COMMENTS_PER_ITEM = 3;
+
+    static final LocalDateTime NOW = LocalDateTime.of(2024, 6, 1, 12, 0);
+
+    static final User OWNER = User.builder().id(1L).name("Owner User").email("owner@example.com").build();
+    static final User BOOKER = User.builder().id(2L).name("Booker User").email("booker@example.com").build();
+
+    private BenchmarkData() {
+    }
+
+    static Item item(long id) {
+        return Item.builder()
+                .id(id)
+                .name("Cordless drill " + id)
+                .description("Cordless drill with two batteries and a case, item " + id)
+                .available(true)
+                .owner(OWNER)
+                .requestId(id % 2 == 0 ? 100L + id : null)
+                .version(0L)
+                .build();
+    }
+
+    static List<Item> items() {
+        List<Item> items = new ArrayList<>(PAGE_SIZE);
+        for (long id = 1; id <= PAGE_SIZE; id++) {
+            items.add(item(id));
+        }
+        return items;
+    }
+
+    static ItemView itemView(long id) {
+        Item item = item(id);
+        return new ItemView(item.getId(), item.getName(), item.getDescription(), item.getAvailable(),
+                OWNER.getId(), OWNER.getName(), OWNER.getEmail(), item.getRequestId());
+    }
+
+    static List<ItemView> itemViews() {
+        List<ItemView> views = new ArrayList<>(PAGE_SIZE);
+        for (long id = 1; id <= PAGE_SIZE; id++) {
+            views.add(itemView(id));
+        }
+        return views;
+    }
+
+    static Comment comment(Item item, long id) {
+        return Comment.builder()
+                .id(id)
+                .text("Works great, batteries last long enough, comment " + id)
+                .item(item)
+                .author(BOOKER)
+                .created(NOW.minusDays(id))
+                .build();
+    }
+
+    static List<CommentResponseDto> commentDtos(long itemId) {
+        List<CommentResponseDto> comments = new ArrayList<>(COMMENTS_PER_ITEM);
+        for (int i = 0; i < COMMENTS_PER_ITEM; i++) {
+            long id = itemId * COMMENTS_PER_ITEM + i;
+            comments.add(new CommentResponseDto(id, "Works great, batteries last long enough, comment " + id,
+                    BOOKER.getName(), NOW.minusDays(id)));
+        }
+        return comments;
+    }
+
+    static List<CommentView> commentViews() {
+        List<CommentView> views = new ArrayList<>(PAGE_SIZE * COMMENTS_PER_ITEM);
+        for (long itemId = 1; itemId <= PAGE_SIZE; itemId++) {
+            for (CommentResponseDto comment : commentDtos(itemId)) {
+                views.add(new CommentView(comment.id(), itemId, comment.text(), comment.authorName(),
+                        comment.created()));
+            }
+        }
+        return views;
+    }
+
+    static Booking booking(Item item, long id, LocalDateTime start) {
+        Booking booking = new Booking();
+        booking.setId(id);
+        booking.setStart(start);
+        booking.setEnd(start.plusDays(2));
+        booking.setItem(item);
+        booking.setBooker(BOOKER);
+        booking.setStatus(BookingStatus.APPROVED);
+        booking.setVersion(0L);
+        return booking;
+    }
+
+    static List<Booking> bookings(List<Item> items, LocalDateTime start) {
+        List<Booking> bookings = new ArrayList<>(items.size());
+        for (Item item : items) {
+            bookings.add(booking(item, item.getId() + (start.isBefore(NOW) ? 0 : 1000), start));
+        }
+        return bookings;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,55 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.dto.BookingCreateRequestDto;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.mapper.BookingMapperImpl;
+import ru.practicum.shareit.booking.model.Booking;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Преобразования бронирований: одно бронирование, страница бронирований и DTO создания.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookingMapperBenchmark {
+
+    private final BookingMapper bookingMapper = new BookingMapperImpl();
+
+    private final Booking booking = BenchmarkData.booking(BenchmarkData.item(1L), 1L, BenchmarkData.NOW);
+    private final List<Booking> page = BenchmarkData.bookings(BenchmarkData.items(), BenchmarkData.NOW);
+    private final BookingCreateRequestDto createRequest =
+            new BookingCreateRequestDto(1L, BenchmarkData.NOW.plusDays(1), BenchmarkData.NOW.plusDays(3));
+
+    @Benchmark
+    public BookingResponseDto toResponseDto() {
+        return bookingMapper.toResponseDto(booking);
+    }
+
+    @Benchmark
+    public List<BookingResponseDto> toResponseDtoPage() {
+        return page.stream()
+                .map(bookingMapper::toResponseDto)
+                .toList();
+    }
+
+    @Benchmark
+    public Booking toEntity() {
+        return bookingMapper.toEntity(createRequest);
+    }
+}
\ No newline at end of file
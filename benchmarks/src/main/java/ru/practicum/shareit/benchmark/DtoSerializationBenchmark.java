@@ -0,0 +1,100 @@
+package ru.practicum.shareit.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.practicum.shareit.booking.dto.BookingCreateRequestDto;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.mapper.BookingMapperImpl;
+import ru.practicum.shareit.item.dto.BookingForItemDto;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.mapper.ItemMapperImpl;
+import ru.practicum.shareit.item.repository.ItemView;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сериализация DTO ответов в JSON и разбор DTO запросов тем же {@link ObjectMapper},
+ * что настраивает Spring Boot для контроллеров.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DtoSerializationBenchmark {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private ItemResponseDto item;
+    private List<ItemResponseDto> itemPage;
+    private List<BookingResponseDto> bookingPage;
+    private ItemRequestDto itemRequest;
+    private byte[] bookingCreateJson;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        ItemMapper itemMapper = new ItemMapperImpl();
+        BookingForItemDto lastBooking = new BookingForItemDto(1L, BenchmarkData.BOOKER.getId());
+        BookingForItemDto nextBooking = new BookingForItemDto(2L, BenchmarkData.BOOKER.getId());
+
+        item = itemMapper.toResponseDto(BenchmarkData.itemView(1L), BenchmarkData.commentDtos(1L),
+                lastBooking, nextBooking);
+        itemPage = BenchmarkData.itemViews().stream()
+                .map(view -> itemMapper.toResponseDto(view, BenchmarkData.commentDtos(view.id()),
+                        lastBooking, nextBooking))
+                .toList();
+        BookingMapperImpl bookingMapper = new BookingMapperImpl();
+        bookingPage = BenchmarkData.bookings(BenchmarkData.items(), BenchmarkData.NOW).stream()
+                .map(bookingMapper::toResponseDto)
+                .toList();
+        itemRequest = new ItemRequestDto(100L, "Need a cordless drill for the weekend",
+                BenchmarkData.NOW.minusDays(1), BenchmarkData.itemViews().stream()
+                .filter(view -> view.requestId() != null)
+                .map(ItemView::id)
+                .map(id -> itemMapper.toResponseDto(BenchmarkData.itemView(id)))
+                .toList());
+        bookingCreateJson = objectMapper.writeValueAsBytes(
+                new BookingCreateRequestDto(1L, BenchmarkData.NOW.plusDays(1), BenchmarkData.NOW.plusDays(3)));
+    }
+
+    @Benchmark
+    public byte[] writeItem() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(item);
+    }
+
+    @Benchmark
+    public byte[] writeItemPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(itemPage);
+    }
+
+    @Benchmark
+    public byte[] writeBookingPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(bookingPage);
+    }
+
+    @Benchmark
+    public byte[] writeItemRequest() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(itemRequest);
+    }
+
+    @Benchmark
+    public BookingCreateRequestDto readBookingCreateRequest() throws IOException {
+        return objectMapper.readValue(bookingCreateJson, BookingCreateRequestDto.class);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,67 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.item.dto.BookingForItemDto;
+import ru.practicum.shareit.item.dto.CommentResponseDto;
+import ru.practicum.shareit.item.dto.ItemCreateRequestDto;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.mapper.ItemMapperImpl;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemView;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Преобразования вещей и отзывов: из сущностей, из проекций с отзывами и бронированиями,
+ * а также DTO создания в сущность.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemMapperBenchmark {
+
+    private final ItemMapper itemMapper = new ItemMapperImpl();
+
+    private final Item item = BenchmarkData.item(1L);
+    private final ItemView itemView = BenchmarkData.itemView(1L);
+    private final List<CommentResponseDto> comments = BenchmarkData.commentDtos(1L);
+    private final BookingForItemDto lastBooking = new BookingForItemDto(1L, BenchmarkData.BOOKER.getId());
+    private final BookingForItemDto nextBooking = new BookingForItemDto(2L, BenchmarkData.BOOKER.getId());
+    private final Comment comment = BenchmarkData.comment(item, 1L);
+    private final ItemCreateRequestDto createRequest =
+            new ItemCreateRequestDto("Cordless drill", "Cordless drill with two batteries", true, null);
+
+    @Benchmark
+    public ItemResponseDto toResponseDtoFromEntity() {
+        return itemMapper.toResponseDto(item);
+    }
+
+    @Benchmark
+    public ItemResponseDto toResponseDtoFromView() {
+        return itemMapper.toResponseDto(itemView, comments, lastBooking, nextBooking);
+    }
+
+    @Benchmark
+    public CommentResponseDto toCommentResponseDto() {
+        return itemMapper.toCommentResponseDto(comment);
+    }
+
+    @Benchmark
+    public Item toEntity() {
+        return itemMapper.toEntity(createRequest);
+    }
+}
\ No newline at end of file
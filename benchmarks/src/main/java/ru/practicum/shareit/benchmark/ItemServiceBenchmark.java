@@ -0,0 +1,100 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.dto.ItemCreateRequestDto;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.dto.ItemUpdateRequestDto;
+import ru.practicum.shareit.item.mapper.ItemMapperImpl;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemSearchEngine;
+import ru.practicum.shareit.item.service.ItemServiceImpl;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сборка ответов в {@link ItemServiceImpl}: вещь с отзывами, страницы вещей владельца и поиска
+ * с отзывами и бронированиями, а также пересборка {@link ItemResponseDto} после создания и изменения.
+ * Репозитории заменены заглушками, поэтому замер отражает только работу сервиса и маппера.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemServiceBenchmark {
+
+    private final ItemCreateRequestDto createRequest =
+            new ItemCreateRequestDto("Cordless drill", "Cordless drill with two batteries", true, null);
+    private final ItemUpdateRequestDto updateRequest =
+            new ItemUpdateRequestDto(null, "Cordless drill with two batteries and a case", null);
+
+    private ItemServiceImpl itemService;
+
+    @Setup
+    public void setUp() {
+        List<Item> items = BenchmarkData.items();
+        Item item = items.getFirst();
+
+        ItemRepository itemRepository = Stubs.of(ItemRepository.class, Map.of(
+                "findById", Optional.of(item),
+                "findViewById", Optional.of(BenchmarkData.itemView(item.getId())),
+                "findViewsByOwnerId", BenchmarkData.itemViews(),
+                "save", item));
+        CommentRepository commentRepository = Stubs.of(CommentRepository.class, Map.of(
+                "findResponseDtosByItemId", BenchmarkData.commentDtos(item.getId()),
+                "findViewsByItemIdIn", BenchmarkData.commentViews()));
+        BookingRepository bookingRepository = Stubs.of(BookingRepository.class, Map.of(
+                "findLastBookingsForItems", BenchmarkData.bookings(items, BenchmarkData.NOW.minusDays(5)),
+                "findNextBookingsForItems", BenchmarkData.bookings(items, BenchmarkData.NOW.plusDays(5))));
+        UserService userService = Stubs.of(UserService.class, Map.of(
+                "getUserOrThrow", BenchmarkData.OWNER));
+        ItemSearchEngine itemSearchEngine = Stubs.of(ItemSearchEngine.class, Map.of(
+                "search", BenchmarkData.itemViews()));
+
+        itemService = new ItemServiceImpl(itemRepository, commentRepository, bookingRepository, new ItemMapperImpl(),
+                userService, Stubs.of(ItemRequestRepository.class, Map.of()), null, itemSearchEngine);
+    }
+
+    @Benchmark
+    public ItemResponseDto findById() {
+        return itemService.findById(1L);
+    }
+
+    @Benchmark
+    public List<ItemResponseDto> findByOwnerId() {
+        return itemService.findByOwnerId(BenchmarkData.OWNER.getId(), 0, BenchmarkData.PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<ItemResponseDto> searchAvailableItems() {
+        return itemService.searchAvailableItems("drill", 0, BenchmarkData.PAGE_SIZE);
+    }
+
+    @Benchmark
+    public ItemResponseDto create() {
+        return itemService.create(BenchmarkData.OWNER.getId(), createRequest);
+    }
+
+    @Benchmark
+    public ItemResponseDto update() {
+        return itemService.update(1L, BenchmarkData.OWNER.getId(), updateRequest);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,44 @@
+package ru.practicum.shareit.benchmark;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+
+/**
+ * Заглушки зависимостей сервисов для бенчмарков.
+ * Заглушка возвращает заранее подготовленное значение по имени метода, поэтому замер
+ * не включает ни обращение к базе данных, ни накладные расходы библиотек подмены.
+ */
+final class Stubs {
+
+    private Stubs() {
+    }
+
+    /**
+     * Создает заглушку интерфейса.
+     * Методы без подготовленного значения выбрасывают {@link UnsupportedOperationException},
+     * методы, возвращающие void, ничего не делают.
+     *
+     * @param type    интерфейс зависимости
+     * @param answers значения по имени метода
+     * @param <T>     тип зависимости
+     * @return заглушка
+     */
+    static <T> T of(Class<T> type, Map<String, Object> answers) {
+        Object stub = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            String name = method.getName();
+            if (answers.containsKey(name)) {
+                return answers.get(name);
+            }
+            if (method.getReturnType() == void.class) {
+                return null;
+            }
+            return switch (name) {
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "equals" -> proxy == args[0];
+                case "toString" -> type.getSimpleName() + " stub";
+                default -> throw new UnsupportedOperationException(type.getSimpleName() + "." + name);
+            };
+        });
+        return type.cast(stub);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,127 @@
+package ru.practicum.shareit.benchmark.postgres;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Время вставки одного бронирования и одного отзыва через JPA на PostgreSQL.
+ * Сущности сохраняются через saveAll транзакциями по {@link #CHUNK_SIZE}.
+ * Бронирования занимают последовательные непересекающиеся периоды одной вещи пользователя бенчмарка;
+ * бронирования и отзывы удаляются после каждой итерации.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class EntityInsertBenchmark {
+
+    private static final String OWNER_EMAIL = "entity-insert-owner@benchmark.shareit";
+    private static final String BOOKER_EMAIL = "entity-insert-booker@benchmark.shareit";
+    private static final int CHUNK_SIZE = 500;
+
+    private ServerContext server;
+    private TransactionTemplate transactionTemplate;
+    private BookingRepository bookingRepository;
+    private CommentRepository commentRepository;
+    private Item item;
+    private User booker;
+    private LocalDateTime base;
+    private long slot;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        server = ServerContext.start();
+        transactionTemplate = new TransactionTemplate(server.getBean(PlatformTransactionManager.class));
+        bookingRepository = server.getBean(BookingRepository.class);
+        commentRepository = server.getBean(CommentRepository.class);
+
+        long ownerId = server.user(OWNER_EMAIL);
+        long bookerId = server.user(BOOKER_EMAIL);
+        server.deleteData(ownerId);
+        server.deleteData(bookerId);
+        server.jdbc().update("INSERT INTO items (name, description, available, owner_id) VALUES (?, ?, ?, ?)",
+                "Benchmark item", "Item for insert benchmark", true, ownerId);
+        long itemId = server.jdbc().queryForObject(
+                "SELECT id FROM items WHERE owner_id = ?", Long.class, ownerId);
+        item = server.getBean(ItemRepository.class).getReferenceById(itemId);
+        booker = server.getBean(UserRepository.class).getReferenceById(bookerId);
+        base = LocalDateTime.now().plusYears(1);
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteEntities() {
+        server.jdbc().update("DELETE FROM comments WHERE author_id = ?", booker.getId());
+        server.jdbc().update("DELETE FROM bookings WHERE booker_id = ?", booker.getId());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        server.deleteData(server.user(OWNER_EMAIL));
+        server.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CHUNK_SIZE)
+    public List<Booking> saveBookings() {
+        return transactionTemplate.execute(status -> {
+            List<Booking> chunk = new ArrayList<>(CHUNK_SIZE);
+            for (int i = 0; i < CHUNK_SIZE; i++) {
+                LocalDateTime start = base.plusHours(slot++);
+                Booking booking = new Booking();
+                booking.setStart(start);
+                booking.setEnd(start.plusMinutes(30));
+                booking.setItem(item);
+                booking.setBooker(booker);
+                booking.setStatus(BookingStatus.WAITING);
+                chunk.add(booking);
+            }
+            return bookingRepository.saveAll(chunk);
+        });
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CHUNK_SIZE)
+    public List<Comment> saveComments() {
+        return transactionTemplate.execute(status -> {
+            List<Comment> chunk = new ArrayList<>(CHUNK_SIZE);
+            for (int i = 0; i < CHUNK_SIZE; i++) {
+                chunk.add(Comment.builder()
+                        .text("Benchmark comment " + i)
+                        .item(item)
+                        .author(booker)
+                        .created(base)
+                        .build());
+            }
+            return commentRepository.saveAll(chunk);
+        });
+    }
+}
\ No newline at end of file
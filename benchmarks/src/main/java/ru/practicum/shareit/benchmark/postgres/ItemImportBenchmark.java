@@ -0,0 +1,89 @@
+package ru.practicum.shareit.benchmark.postgres;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.item.dto.ItemCreateRequestDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.service.ItemImportService;
+import ru.practicum.shareit.item.service.ItemService;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Время добавления одной вещи на PostgreSQL: создание по одной вещи в сравнении с импортом NDJSON.
+ * Вещи создаются пользователем бенчмарка и удаляются после каждой итерации.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ItemImportBenchmark {
+
+    private static final String EMAIL = "item-import@benchmark.shareit";
+    private static final int ITEMS = 1000;
+
+    private ServerContext server;
+    private ItemService itemService;
+    private ItemImportService itemImportService;
+    private long ownerId;
+    private byte[] ndjson;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        server = ServerContext.start();
+        itemService = server.getBean(ItemService.class);
+        itemImportService = server.getBean(ItemImportService.class);
+        ownerId = server.user(EMAIL);
+        server.deleteData(ownerId);
+
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < ITEMS; i++) {
+            body.append("{\"name\":\"Bulk ").append(i)
+                    .append("\",\"description\":\"Imported in batches\",\"available\":true}\n");
+        }
+        ndjson = body.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteItems() {
+        server.deleteData(ownerId);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        server.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITEMS)
+    public ItemResponseDto create() {
+        ItemResponseDto item = null;
+        for (int i = 0; i < ITEMS; i++) {
+            item = itemService.create(ownerId,
+                    new ItemCreateRequestDto("Single " + i, "Created one by one", true, null));
+        }
+        return item;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITEMS)
+    public ItemImportResultDto importItems() {
+        return itemImportService.importItems(ownerId, new ByteArrayInputStream(ndjson));
+    }
+}
\ No newline at end of file
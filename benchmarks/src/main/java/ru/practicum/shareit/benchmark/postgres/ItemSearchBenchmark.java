@@ -0,0 +1,93 @@
+package ru.practicum.shareit.benchmark.postgres;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.service.ItemService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Задержка поиска вещей на PostgreSQL при росте каталога.
+ * Каталог принадлежит пользователю бенчмарка и остается в базе между запусками:
+ * при смене размера каталога недостающие вещи добавляются, лишние — удаляются вместе с каталогом.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemSearchBenchmark {
+
+    private static final String EMAIL = "item-search@benchmark.shareit";
+    private static final String[] WORDS = {"drill", "ladder", "tent", "bike", "kayak", "projector", "saw",
+            "camera", "guitar", "speaker", "grill", "scooter", "vacuum", "printer", "telescope", "mixer"};
+    private static final int BATCH_SIZE = 10_000;
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"10000", "100000", "1000000"})
+    private int catalogSize;
+
+    @Param({"drill", "kayak", "telescope", "portable", "zzz"})
+    private String query;
+
+    private ServerContext server;
+    private ItemService itemService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        server = ServerContext.start();
+        itemService = server.getBean(ItemService.class);
+        long ownerId = server.user(EMAIL);
+        int size = server.jdbc().queryForObject(
+                "SELECT COUNT(*) FROM items WHERE owner_id = ?", Integer.class, ownerId);
+        if (size > catalogSize) {
+            server.deleteData(ownerId);
+            size = 0;
+        }
+        if (size < catalogSize) {
+            insertItems(ownerId, catalogSize - size, new Random(size));
+            server.jdbc().execute("ANALYZE items");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        server.close();
+    }
+
+    @Benchmark
+    public List<ItemResponseDto> searchAvailableItems() {
+        return itemService.searchAvailableItems(query, 0, PAGE_SIZE);
+    }
+
+    private void insertItems(long ownerId, int count, Random random) {
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < count; i++) {
+            String name = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)];
+            String description = (random.nextInt(100) == 0 ? "portable " : "")
+                    + WORDS[random.nextInt(WORDS.length)] + " in good condition";
+            batch.add(new Object[]{name, description, random.nextInt(10) != 0, ownerId});
+            if (batch.size() == BATCH_SIZE || i == count - 1) {
+                server.jdbc().batchUpdate(
+                        "INSERT INTO items (name, description, available, owner_id) VALUES (?, ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,201 @@
+package ru.practicum.shareit.benchmark.postgres;
+
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.item.dto.CommentResponseDto;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.service.RequestService;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Эндпоинты чтения на PostgreSQL: загрузка сущностей с последующим преобразованием маппером
+ * в сравнении с реализацией сервисов. Путь через сущности воспроизводит прежнюю реализацию сервисов
+ * и выполняется в такой же транзакции только для чтения. Память, выделяемая на вызов,
+ * выводится профилировщиком gc как gc.alloc.rate.norm.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReadProjectionBenchmark {
+
+    private static final String OWNER_EMAIL = "read-projection-owner@benchmark.shareit";
+    private static final String REQUESTOR_EMAIL = "read-projection-requestor@benchmark.shareit";
+    private static final String SEARCH_TEXT = "projection drill";
+    private static final int PAGE_SIZE = 20;
+
+    private ServerContext server;
+    private ItemService itemService;
+    private RequestService requestService;
+    private ItemMapper itemMapper;
+    private EntityManager entityManager;
+    private TransactionTemplate readOnlyTransaction;
+    private long ownerId;
+    private long requestorId;
+    private long itemId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        server = ServerContext.start();
+        itemService = server.getBean(ItemService.class);
+        requestService = server.getBean(RequestService.class);
+        itemMapper = server.getBean(ItemMapper.class);
+        entityManager = server.getBean(EntityManager.class);
+        readOnlyTransaction = new TransactionTemplate(server.getBean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+
+        ownerId = server.user(OWNER_EMAIL);
+        requestorId = server.user(REQUESTOR_EMAIL);
+        server.deleteData(ownerId);
+        server.deleteData(requestorId);
+
+        LocalDateTime created = LocalDateTime.now().plusYears(10);
+        List<Object[]> requests = new ArrayList<>();
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            requests.add(new Object[]{"Benchmark request " + i, requestorId, created.plusHours(i)});
+        }
+        server.jdbc().batchUpdate("INSERT INTO requests (description, requestor_id, created) VALUES (?, ?, ?)",
+                requests);
+        List<Long> requestIds = server.jdbc().queryForList(
+                "SELECT id FROM requests WHERE requestor_id = ? ORDER BY id", Long.class, requestorId);
+
+        List<Object[]> items = new ArrayList<>();
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            items.add(new Object[]{"Projection drill " + i, "Cordless drill", ownerId, requestIds.get(i)});
+        }
+        server.jdbc().batchUpdate("INSERT INTO items (name, description, available, owner_id, request_id) "
+                + "VALUES (?, ?, TRUE, ?, ?)", items);
+        itemId = server.jdbc().queryForObject("SELECT MIN(id) FROM items WHERE owner_id = ?", Long.class, ownerId);
+
+        List<Object[]> comments = new ArrayList<>();
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            comments.add(new Object[]{"Benchmark comment " + i, itemId, requestorId, created.plusHours(i)});
+        }
+        server.jdbc().batchUpdate("INSERT INTO comments (text, item_id, author_id, created) VALUES (?, ?, ?, ?)",
+                comments);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        server.deleteData(ownerId);
+        server.deleteData(requestorId);
+        server.close();
+    }
+
+    @Benchmark
+    public ItemResponseDto findById() {
+        return itemService.findById(itemId);
+    }
+
+    @Benchmark
+    public ItemResponseDto findByIdViaEntities() {
+        return readOnlyTransaction.execute(status -> {
+            Item item = entityManager.find(Item.class, itemId);
+            List<CommentResponseDto> comments = entityManager.createQuery(
+                            "SELECT c FROM Comment c WHERE c.item.id = :itemId ORDER BY c.id", Comment.class)
+                    .setParameter("itemId", itemId)
+                    .getResultStream()
+                    .map(itemMapper::toCommentResponseDto)
+                    .toList();
+            return withComments(itemMapper.toResponseDto(item), comments);
+        });
+    }
+
+    @Benchmark
+    public List<ItemResponseDto> searchAvailableItems() {
+        return itemService.searchAvailableItems(SEARCH_TEXT, 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<ItemResponseDto> searchViaEntities() {
+        return readOnlyTransaction.execute(status -> {
+            List<Item> items = entityManager.createQuery("SELECT i FROM Item i "
+                            + "WHERE i.available = true "
+                            + "AND (LOWER(i.name) LIKE LOWER(CONCAT('%', :text, '%')) "
+                            + "OR LOWER(i.description) LIKE LOWER(CONCAT('%', :text, '%'))) "
+                            + "ORDER BY CASE WHEN LOWER(i.name) LIKE LOWER(CONCAT('%', :text, '%')) "
+                            + "THEN 0 ELSE 1 END, i.id",
+                            Item.class)
+                    .setParameter("text", SEARCH_TEXT)
+                    .setMaxResults(PAGE_SIZE)
+                    .getResultList();
+            List<Long> itemIds = items.stream().map(Item::getId).toList();
+            Map<Long, List<CommentResponseDto>> comments = entityManager.createQuery(
+                            "SELECT c FROM Comment c JOIN FETCH c.author WHERE c.item.id IN :itemIds ORDER BY c.id",
+                            Comment.class)
+                    .setParameter("itemIds", itemIds)
+                    .getResultStream()
+                    .collect(Collectors.groupingBy(comment -> comment.getItem().getId(),
+                            Collectors.mapping(itemMapper::toCommentResponseDto, Collectors.toList())));
+            return items.stream()
+                    .map(item -> withComments(itemMapper.toResponseDto(item),
+                            comments.getOrDefault(item.getId(), Collections.emptyList())))
+                    .toList();
+        });
+    }
+
+    @Benchmark
+    public List<ItemRequestDto> getAllItemRequests() {
+        return requestService.getAllItemRequests(ownerId, 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<ItemRequestDto> getAllItemRequestsViaEntities() {
+        return readOnlyTransaction.execute(status -> {
+            entityManager.createQuery("SELECT COUNT(u) FROM User u WHERE u.id = :userId")
+                    .setParameter("userId", ownerId)
+                    .getSingleResult();
+            List<ItemRequest> requests = entityManager.createQuery(
+                            "SELECT r FROM ItemRequest r WHERE r.requestor.id <> :userId ORDER BY r.created DESC",
+                            ItemRequest.class)
+                    .setParameter("userId", ownerId)
+                    .setMaxResults(PAGE_SIZE)
+                    .getResultList();
+            List<Long> requestIds = requests.stream().map(ItemRequest::getId).toList();
+            Map<Long, List<ItemResponseDto>> items = entityManager.createQuery(
+                            "SELECT i FROM Item i JOIN FETCH i.owner WHERE i.requestId IN :requestIds ORDER BY i.id",
+                            Item.class)
+                    .setParameter("requestIds", requestIds)
+                    .getResultStream()
+                    .collect(Collectors.groupingBy(Item::getRequestId,
+                            Collectors.mapping(itemMapper::toResponseDto, Collectors.toList())));
+            return requests.stream()
+                    .map(request -> new ItemRequestDto(request.getId(), request.getDescription(),
+                            request.getCreated(), items.getOrDefault(request.getId(), Collections.emptyList())))
+                    .toList();
+        });
+    }
+
+    private static ItemResponseDto withComments(ItemResponseDto item, List<CommentResponseDto> comments) {
+        return new ItemResponseDto(item.id(), item.name(), item.description(), item.available(), item.owner(),
+                item.requestId(), comments, item.lastBooking(), item.nextBooking());
+    }
+}
\ No newline at end of file
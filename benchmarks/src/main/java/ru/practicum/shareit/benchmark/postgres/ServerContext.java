@@ -0,0 +1,92 @@
+package ru.practicum.shareit.benchmark.postgres;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.ShareItServer;
+
+import java.util.List;
+
+/**
+ * Контекст сервера ShareIt без веб-слоя для бенчмарков на PostgreSQL.
+ * Подключение задается свойствами spring.datasource.*, которые модуль передает JVM бенчмарков
+ * из свойств benchmark.datasource.*; схему перед запуском мигрирует Flyway.
+ * Данные каждого бенчмарка принадлежат отдельному пользователю и удаляются по его идентификатору,
+ * поэтому бенчмарки можно запускать на базе с другими данными.
+ */
+final class ServerContext implements AutoCloseable {
+
+    private final ConfigurableApplicationContext context;
+    private final JdbcTemplate jdbcTemplate;
+
+    private ServerContext(ConfigurableApplicationContext context) {
+        this.context = context;
+        this.jdbcTemplate = context.getBean(JdbcTemplate.class);
+    }
+
+    /**
+     * Запускает контекст сервера.
+     *
+     * @return контекст сервера
+     */
+    static ServerContext start() {
+        return new ServerContext(new SpringApplicationBuilder(ShareItServer.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .run());
+    }
+
+    /**
+     * Возвращает бин контекста сервера.
+     *
+     * @param type тип бина
+     * @return бин
+     */
+    <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    /**
+     * Возвращает JdbcTemplate для подготовки данных.
+     *
+     * @return JdbcTemplate
+     */
+    JdbcTemplate jdbc() {
+        return jdbcTemplate;
+    }
+
+    /**
+     * Возвращает идентификатор пользователя бенчмарка, создавая пользователя при необходимости.
+     *
+     * @param email электронная почта пользователя
+     * @return идентификатор пользователя
+     */
+    long user(String email) {
+        List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM users WHERE email = ?", Long.class, email);
+        if (ids.isEmpty()) {
+            jdbcTemplate.update("INSERT INTO users (name, email) VALUES (?, ?)", "Benchmark", email);
+            ids = jdbcTemplate.queryForList("SELECT id FROM users WHERE email = ?", Long.class, email);
+        }
+        return ids.getFirst();
+    }
+
+    /**
+     * Удаляет вещи, бронирования, отзывы и запросы пользователя бенчмарка, оставляя самого пользователя.
+     *
+     * @param userId идентификатор пользователя
+     */
+    void deleteData(long userId) {
+        jdbcTemplate.update("DELETE FROM comments WHERE author_id = ? "
+                + "OR item_id IN (SELECT id FROM items WHERE owner_id = ?)", userId, userId);
+        jdbcTemplate.update("DELETE FROM bookings WHERE booker_id = ? "
+                + "OR item_id IN (SELECT id FROM items WHERE owner_id = ?)", userId, userId);
+        jdbcTemplate.update("DELETE FROM items WHERE owner_id = ?", userId);
+        jdbcTemplate.update("DELETE FROM requests WHERE requestor_id = ?", userId);
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,132 @@
+package ru.practicum.shareit.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Приложение Spring Boot, запущенное из исполняемого jar в отдельной JVM.
+ * Вывод приложения пишется в файл {@code <name>.log} рабочего каталога, туда же
+ * попадает каталог logs из конфигурации логирования приложения.
+ */
+final class ApplicationProcess implements AutoCloseable {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(30);
+
+    private final String name;
+    private final Process process;
+    private final Path log;
+    private final URI health;
+
+    private ApplicationProcess(String name, Process process, Path log, int port) {
+        this.name = name;
+        this.process = process;
+        this.log = log;
+        this.health = URI.create("http://localhost:" + port + "/actuator/health");
+    }
+
+    /**
+     * Запускает приложение и дожидается, пока его health-эндпоинт не ответит успешно.
+     *
+     * @param name    имя приложения, используется в имени файла журнала
+     * @param jar     исполняемый jar
+     * @param port    порт приложения
+     * @param jvmArgs параметры JVM
+     * @param args    аргументы приложения
+     * @param workDir рабочий каталог процесса
+     * @return запущенное приложение
+     * @throws IOException если процесс не удалось запустить
+     */
+    static ApplicationProcess start(String name, Path jar, int port, List<String> jvmArgs, List<String> args,
+                                    Path workDir) throws IOException {
+        if (!Files.isRegularFile(jar)) {
+            throw new IllegalStateException("Не найден jar " + jar.toAbsolutePath()
+                    + ": соберите модули server и gateway (mvn package)");
+        }
+        Files.createDirectories(workDir);
+        Path log = workDir.resolve(name + ".log");
+
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmArgs);
+        command.add("-jar");
+        command.add(jar.toAbsolutePath().toString());
+        command.add("--server.port=" + port);
+        command.addAll(args);
+
+        Process process = new ProcessBuilder(command)
+                .directory(workDir.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        ApplicationProcess application = new ApplicationProcess(name, process, log, port);
+        try {
+            application.awaitHealthy();
+        } catch (RuntimeException e) {
+            application.close();
+            throw e;
+        }
+        return application;
+    }
+
+    private void awaitHealthy() {
+        HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(1))
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(health).timeout(Duration.ofSeconds(2)).GET().build();
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException(name + " завершился с кодом " + process.exitValue()
+                        + ", журнал: " + log.toAbsolutePath());
+            }
+            try {
+                if (http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // приложение еще не открыло порт
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Ожидание запуска " + name + " прервано", e);
+            }
+            sleep();
+        }
+        throw new IllegalStateException(name + " не запустился за " + STARTUP_TIMEOUT.toSeconds()
+                + " с, журнал: " + log.toAbsolutePath());
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(500);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Останавливает приложение, при необходимости принудительно.
+     */
+    @Override
+    public void close() {
+        process.destroy();
+        try {
+            if (!process.waitFor(SHUTDOWN_TIMEOUT.toSeconds(), TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        } catch (InterruptedException e) {
+            process.destroyForcibly();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,188 @@
+package ru.practicum.shareit.loadtest;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+
+/**
+ * Заполняет ShareIt данными через gateway: пользователи, запросы вещей, вещи владельцев,
+ * завершенное бронирование с отзывом и предстоящее бронирование у каждой вещи.
+ * Данные создаются теми же запросами, что и у клиентов, поэтому проходят валидацию gateway.
+ * Email пользователей содержат метку запуска, поэтому повторный запуск на той же базе данных
+ * создает новых пользователей, а не получает отказ из-за занятого email.
+ */
+final class DataSeeder {
+
+    /**
+     * Слова, из которых составляются названия вещей и поисковые запросы нагрузки.
+     */
+    static final List<String> VOCABULARY = List.of("drill", "ladder", "tent", "bicycle", "projector",
+            "camera", "kayak", "snowboard", "sewing machine", "pressure washer", "lawn mower", "guitar");
+
+    /**
+     * Время от создания «завершенного» бронирования до его окончания. Gateway не принимает
+     * бронирование с окончанием в прошлом, поэтому отзывы оставляются после этой паузы.
+     */
+    private static final Duration FINISHED_BOOKING_END = Duration.ofSeconds(3);
+
+    /**
+     * Запрос вещи создает каждый четвертый арендатор.
+     */
+    private static final int BOOKERS_PER_REQUEST = 4;
+
+    private final ShareItClient client;
+    private final LoadTestSettings settings;
+    private final String run = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+
+    DataSeeder(ShareItClient client, LoadTestSettings settings) {
+        this.client = client;
+        this.settings = settings;
+    }
+
+    /**
+     * Создает данные нагрузочного теста.
+     *
+     * @return идентификаторы созданных сущностей
+     */
+    SeededData seed() {
+        ExecutorService executor = Executors.newFixedThreadPool(settings.concurrency());
+        try {
+            List<Long> owners = parallel(executor, settings.owners(),
+                    i -> createUser("owner", i));
+            List<Long> bookers = parallel(executor, settings.bookers(),
+                    i -> createUser("booker", i));
+            List<Long> requests = parallel(executor, settings.bookers() / BOOKERS_PER_REQUEST,
+                    i -> client.post("/requests", bookers.get(i * BOOKERS_PER_REQUEST),
+                            Map.of("description", "Looking for a " + word(i) + " for the weekend"))
+                            .id("Создание запроса"));
+
+            int itemCount = settings.owners() * settings.itemsPerOwner();
+            List<Long> items = parallel(executor, itemCount, i -> createItem(i, owners, requests));
+
+            LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+            List<Long> finished = parallel(executor, itemCount, i -> book(bookers.get(i % bookers.size()),
+                    items.get(i), now.minusDays(7), LocalDateTime.now().plus(FINISHED_BOOKING_END)));
+            LocalDateTime finishedEnd = LocalDateTime.now().plus(FINISHED_BOOKING_END);
+            List<Long> upcoming = parallel(executor, itemCount, i -> book(bookers.get((i + 1) % bookers.size()),
+                    items.get(i), now.plusDays(1), now.plusDays(2)));
+            parallel(executor, itemCount, i -> approve(owners.get(i / settings.itemsPerOwner()), finished.get(i)));
+            parallel(executor, itemCount, i -> approve(owners.get(i / settings.itemsPerOwner()), upcoming.get(i)));
+
+            awaitUntil(finishedEnd.plusSeconds(1));
+            parallel(executor, itemCount, i -> client.post("/items/" + items.get(i) + "/comment",
+                    bookers.get(i % bookers.size()), Map.of("text", "Worked fine, returned on time"))
+                    .id("Создание отзыва"));
+
+            return new SeededData(owners, bookers, items, settings.itemsPerOwner());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private long createUser(String role, int index) {
+        return client.post("/users", null, Map.of(
+                        "name", role + " " + index,
+                        "email", role + index + "-" + run + "@loadtest.shareit"))
+                .id("Создание пользователя");
+    }
+
+    private long createItem(int index, List<Long> owners, List<Long> requests) {
+        Long owner = owners.get(index / settings.itemsPerOwner());
+        Map<String, Object> item = new HashMap<>(Map.of(
+                "name", capitalize(word(index)) + " " + index,
+                "description", "Well kept " + word(index) + ", ready to use, item " + index,
+                "available", true));
+        if (index < requests.size()) {
+            item.put("requestId", requests.get(index));
+        }
+        return client.post("/items", owner, item).id("Создание вещи");
+    }
+
+    private long book(Long booker, Long item, LocalDateTime start, LocalDateTime end) {
+        return client.post("/bookings", booker, Map.of(
+                        "itemId", item,
+                        "start", start.toString(),
+                        "end", end.toString()))
+                .id("Создание бронирования");
+    }
+
+    private long approve(Long owner, Long booking) {
+        return client.patch("/bookings/" + booking + "?approved=true", owner).id("Подтверждение бронирования");
+    }
+
+    private static String word(int index) {
+        return VOCABULARY.get(index % VOCABULARY.size());
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+
+    private static void awaitUntil(LocalDateTime moment) {
+        long millis = Duration.between(LocalDateTime.now(), moment).toMillis();
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Заполнение данных прервано", e);
+        }
+    }
+
+    private static List<Long> parallel(ExecutorService executor, int count, IntFunction<Long> action) {
+        List<Callable<Long>> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int index = i;
+            tasks.add(() -> action.apply(index));
+        }
+        try {
+            List<Long> ids = new ArrayList<>(count);
+            for (Future<Long> future : executor.invokeAll(tasks)) {
+                ids.add(future.get());
+            }
+            return ids;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Не удалось заполнить данные: " + e.getCause().getMessage(), e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Заполнение данных прервано", e);
+        }
+    }
+
+    /**
+     * Идентификаторы созданных данных.
+     *
+     * @param owners        владельцы вещей
+     * @param bookers       арендаторы
+     * @param items         вещи, упорядоченные по владельцам
+     * @param itemsPerOwner количество вещей у каждого владельца
+     */
+    record SeededData(List<Long> owners, List<Long> bookers, List<Long> items, int itemsPerOwner) {
+
+        Long ownerOf(int itemIndex) {
+            return owners.get(itemIndex / itemsPerOwner);
+        }
+
+        /**
+         * Возвращает арендатора, у которого есть завершенное бронирование вещи.
+         *
+         * @param itemIndex индекс вещи
+         * @return идентификатор арендатора
+         */
+        Long finishedBookerOf(int itemIndex) {
+            return bookers.get(itemIndex % bookers.size());
+        }
+    }
+}
\ No newline at end of file
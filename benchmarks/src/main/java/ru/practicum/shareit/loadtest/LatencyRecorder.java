@@ -0,0 +1,154 @@
+package ru.practicum.shareit.loadtest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Время ответов по эндпоинтам. Каждый клиент нагрузки пишет в собственный экземпляр
+ * без синхронизации, после замера экземпляры объединяются в один.
+ */
+final class LatencyRecorder {
+
+    /**
+     * Название итоговой строки по всем эндпоинтам.
+     */
+    static final String TOTAL = "TOTAL";
+
+    private final Map<String, Samples> samples = new TreeMap<>();
+    private long missed;
+
+    /**
+     * Записывает полученный ответ.
+     *
+     * @param endpoint   эндпоинт
+     * @param nanos      время ответа в наносекундах
+     * @param successful true, если ответ успешный
+     */
+    void record(String endpoint, long nanos, boolean successful) {
+        Samples endpointSamples = samples.computeIfAbsent(endpoint, key -> new Samples());
+        endpointSamples.add(nanos);
+        if (!successful) {
+            endpointSamples.errors++;
+        }
+    }
+
+    /**
+     * Записывает запрос, на который не получен ответ.
+     *
+     * @param endpoint эндпоинт
+     */
+    void recordFailure(String endpoint) {
+        Samples endpointSamples = samples.computeIfAbsent(endpoint, key -> new Samples());
+        endpointSamples.errors++;
+        endpointSamples.unanswered++;
+    }
+
+    /**
+     * Записывает операцию, которая не началась до окончания замера, потому что клиент отставал от расписания.
+     */
+    void recordMissed() {
+        missed++;
+    }
+
+    /**
+     * Возвращает количество операций, не начатых по расписанию.
+     *
+     * @return количество пропущенных операций
+     */
+    long missed() {
+        return missed;
+    }
+
+    /**
+     * Добавляет записи другого экземпляра.
+     *
+     * @param other записи клиента нагрузки
+     */
+    void merge(LatencyRecorder other) {
+        other.samples.forEach((endpoint, otherSamples) ->
+                samples.computeIfAbsent(endpoint, key -> new Samples()).addAll(otherSamples));
+        missed += other.missed;
+    }
+
+    /**
+     * Рассчитывает статистику по каждому эндпоинту и итоговую строку.
+     *
+     * @param duration длительность замера
+     * @return статистика, итоговая строка последней
+     */
+    List<EndpointStats> stats(Duration duration) {
+        List<EndpointStats> stats = new ArrayList<>(samples.size() + 1);
+        Samples total = new Samples();
+        samples.forEach((endpoint, endpointSamples) -> {
+            stats.add(endpointSamples.stats(endpoint, duration));
+            total.addAll(endpointSamples);
+        });
+        stats.add(total.stats(TOTAL, duration));
+        return stats;
+    }
+
+    /**
+     * Статистика эндпоинта. Время указано в миллисекундах.
+     *
+     * @param endpoint   эндпоинт
+     * @param requests   количество запросов
+     * @param errors     количество неуспешных запросов
+     * @param throughput запросов в секунду
+     * @param p50        медиана времени ответа
+     * @param p90        90-й процентиль времени ответа
+     * @param p99        99-й процентиль времени ответа
+     * @param max        максимальное время ответа
+     */
+    record EndpointStats(String endpoint, long requests, long errors, double throughput,
+                         double p50, double p90, double p99, double max) {
+    }
+
+    private static final class Samples {
+
+        private long[] nanos = new long[1024];
+        private int size;
+        private long errors;
+        private long unanswered;
+
+        void add(long value) {
+            if (size == nanos.length) {
+                nanos = Arrays.copyOf(nanos, size * 2);
+            }
+            nanos[size++] = value;
+        }
+
+        void addAll(Samples other) {
+            for (int i = 0; i < other.size; i++) {
+                add(other.nanos[i]);
+            }
+            errors += other.errors;
+            unanswered += other.unanswered;
+        }
+
+        EndpointStats stats(String endpoint, Duration duration) {
+            long[] sorted = Arrays.copyOf(nanos, size);
+            Arrays.sort(sorted);
+            long requests = size + unanswered;
+            double seconds = duration.toNanos() / 1e9;
+            return new EndpointStats(endpoint, requests, errors, requests / seconds,
+                    percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99),
+                    sorted.length == 0 ? 0 : millis(sorted[sorted.length - 1]));
+        }
+
+        private static double percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(quantile * sorted.length) - 1;
+            return millis(sorted[Math.max(rank, 0)]);
+        }
+
+        private static double millis(long nanos) {
+            return nanos / 1e6;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,176 @@
+package ru.practicum.shareit.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Нагрузочный тест ShareIt. Запускает сервер и gateway из собранных jar (по умолчанию сервер
+ * подключается к PostgreSQL), заполняет их данными через gateway и подает смешанную нагрузку
+ * заданным числом клиентов. Если задана частота операций, клиенты начинают операции по общему
+ * расписанию независимо от времени ответов (открытая модель), и время ответа отсчитывается
+ * от запланированного начала. Иначе каждый клиент отправляет следующий запрос сразу после ответа
+ * на предыдущий. По каждому эндпоинту выводятся пропускная способность и
+ * процентили времени ответа, результаты также сохраняются в {@code load-test-result.json}.
+ * Параметры задаются системными свойствами, см. {@link LoadTestSettings}.
+ */
+public final class LoadTest {
+
+    private static final String RESULT_FILE = "load-test-result.json";
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        List<ApplicationProcess> applications = new ArrayList<>();
+        try {
+            String gatewayUrl = settings.gatewayUrl();
+            if (!settings.external()) {
+                System.out.println("Запуск сервера и gateway, журналы: " + settings.workDir().toAbsolutePath());
+                applications.add(ApplicationProcess.start("server", settings.serverJar(), settings.serverPort(),
+                        settings.jvmArgs(), settings.serverArgs(), settings.workDir()));
+                applications.add(ApplicationProcess.start("gateway", settings.gatewayJar(), settings.gatewayPort(),
+                        settings.jvmArgs(), List.of("--shareit-server.url=http://localhost:" + settings.serverPort()),
+                        settings.workDir()));
+                gatewayUrl = "http://localhost:" + settings.gatewayPort();
+            }
+            ShareItClient client = new ShareItClient(gatewayUrl);
+
+            System.out.printf("Заполнение данных: %d владельцев по %d вещей, %d арендаторов%n",
+                    settings.owners(), settings.itemsPerOwner(), settings.bookers());
+            DataSeeder.SeededData data = new DataSeeder(client, settings).seed();
+            Workload workload = new Workload(client, data);
+
+            System.out.printf("Прогрев: %d с, %s%n", settings.warmup().toSeconds(), load(settings));
+            run(workload, settings, settings.warmup());
+            System.out.printf("Замер: %d с, %s%n", settings.duration().toSeconds(), load(settings));
+            long start = System.nanoTime();
+            LatencyRecorder recorder = run(workload, settings, settings.duration());
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+            List<LatencyRecorder.EndpointStats> stats = recorder.stats(elapsed);
+            print(stats);
+            if (recorder.missed() > 0) {
+                System.out.printf("Не начато по расписанию: %d операций, увеличьте loadtest.concurrency "
+                        + "или уменьшите loadtest.rate%n", recorder.missed());
+            }
+            write(settings, elapsed, recorder.missed(), stats);
+        } finally {
+            for (int i = applications.size() - 1; i >= 0; i--) {
+                applications.get(i).close();
+            }
+        }
+    }
+
+    /**
+     * Подает нагрузку в течение заданного времени. При заданной частоте операций клиент i начинает
+     * операции в моменты start + (i + k * concurrency) / rate, при отставании от расписания следующая
+     * операция начинается сразу. Операции, которые по расписанию должны были начаться до окончания
+     * замера, но не начались, учитываются как пропущенные.
+     *
+     * @param workload нагрузка
+     * @param settings параметры нагрузочного теста
+     * @param duration длительность
+     * @return объединенные записи всех клиентов
+     */
+    private static LatencyRecorder run(Workload workload, LoadTestSettings settings, Duration duration) {
+        int concurrency = settings.concurrency();
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        try {
+            List<Future<LatencyRecorder>> clients = new ArrayList<>(concurrency);
+            for (int i = 0; i < concurrency; i++) {
+                int client = i;
+                clients.add(executor.submit(() -> {
+                    LatencyRecorder recorder = new LatencyRecorder();
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    if (!settings.fixedRate()) {
+                        while (System.nanoTime() < deadline) {
+                            workload.execute(random, recorder, System.nanoTime());
+                        }
+                        return recorder;
+                    }
+                    double interval = 1e9 / settings.rate();
+                    for (long k = 0; ; k++) {
+                        long scheduled = start + (long) ((client + k * concurrency) * interval);
+                        if (scheduled >= deadline) {
+                            return recorder;
+                        }
+                        if (System.nanoTime() >= deadline) {
+                            recorder.recordMissed();
+                            continue;
+                        }
+                        for (long wait = scheduled - System.nanoTime(); wait > 0;
+                             wait = scheduled - System.nanoTime()) {
+                            LockSupport.parkNanos(wait);
+                        }
+                        workload.execute(random, recorder, scheduled);
+                    }
+                }));
+            }
+            LatencyRecorder total = new LatencyRecorder();
+            for (Future<LatencyRecorder> recorder : clients) {
+                total.merge(recorder.get());
+            }
+            return total;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Клиент нагрузки завершился с ошибкой", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Нагрузка прервана", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static String load(LoadTestSettings settings) {
+        return settings.fixedRate()
+                ? String.format("%d операций/с, %d клиентов", settings.rate(), settings.concurrency())
+                : String.format("%d клиентов в замкнутом цикле", settings.concurrency());
+    }
+
+    private static void print(List<LatencyRecorder.EndpointStats> stats) {
+        String format = "%-28s %10s %8s %10s %9s %9s %9s %9s%n";
+        System.out.println();
+        System.out.printf(format, "Endpoint", "Requests", "Errors", "Req/s", "p50, ms", "p90, ms", "p99, ms", "max, ms");
+        for (LatencyRecorder.EndpointStats endpoint : stats) {
+            System.out.printf(format, endpoint.endpoint(), endpoint.requests(), endpoint.errors(),
+                    String.format("%.1f", endpoint.throughput()), String.format("%.2f", endpoint.p50()),
+                    String.format("%.2f", endpoint.p90()), String.format("%.2f", endpoint.p99()),
+                    String.format("%.2f", endpoint.max()));
+        }
+    }
+
+    private static void write(LoadTestSettings settings, Duration elapsed, long missed,
+                              List<LatencyRecorder.EndpointStats> stats) throws IOException {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("owners", settings.owners());
+        result.put("bookers", settings.bookers());
+        result.put("items", settings.owners() * settings.itemsPerOwner());
+        result.put("concurrency", settings.concurrency());
+        result.put("rate", settings.rate());
+        result.put("missedOperations", missed);
+        result.put("durationSeconds", elapsed.toMillis() / 1000.0);
+        result.put("endpoints", stats);
+
+        Files.createDirectories(settings.workDir());
+        Path file = settings.workDir().resolve(RESULT_FILE);
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(file.toFile(), result);
+        System.out.println("Результаты: " + file.toAbsolutePath());
+    }
+}
\ No newline at end of file
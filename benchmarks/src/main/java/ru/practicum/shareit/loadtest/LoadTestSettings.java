@@ -0,0 +1,104 @@
+package ru.practicum.shareit.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Параметры нагрузочного теста. Читаются из системных свойств с префиксом {@code loadtest.}.
+ *
+ * @param serverJar      исполняемый jar сервера
+ * @param gatewayJar     исполняемый jar gateway
+ * @param serverPort     порт запускаемого сервера
+ * @param gatewayPort    порт запускаемого gateway
+ * @param serverArgs     дополнительные аргументы сервера, по умолчанию подключение к PostgreSQL
+ * @param jvmArgs        параметры JVM запускаемых приложений
+ * @param gatewayUrl     адрес уже развернутого gateway; если задан, приложения не запускаются
+ * @param workDir        каталог для журналов приложений и результатов
+ * @param owners         количество владельцев вещей
+ * @param bookers        количество арендаторов
+ * @param itemsPerOwner  количество вещей у каждого владельца
+ * @param concurrency    количество одновременно работающих клиентов
+ * @param rate           операций в секунду по расписанию от всех клиентов; 0 — замкнутый цикл,
+ *                       в котором клиент отправляет следующий запрос сразу после ответа
+ * @param warmup         длительность прогрева, результаты которого не учитываются
+ * @param duration       длительность замера
+ */
+record LoadTestSettings(
+        Path serverJar,
+        Path gatewayJar,
+        int serverPort,
+        int gatewayPort,
+        List<String> serverArgs,
+        List<String> jvmArgs,
+        String gatewayUrl,
+        Path workDir,
+        int owners,
+        int bookers,
+        int itemsPerOwner,
+        int concurrency,
+        int rate,
+        Duration warmup,
+        Duration duration
+) {
+
+    /**
+     * Аргументы сервера по умолчанию: локальная база данных PostgreSQL, как у бенчмарков пакета postgres.
+     */
+    static final String DEFAULT_SERVER_ARGS = "--spring.datasource.url=jdbc:postgresql://localhost:5432/shareit "
+            + "--spring.datasource.username=shareit --spring.datasource.password=shareit";
+
+    /**
+     * Собирает параметры из системных свойств, подставляя значения по умолчанию.
+     *
+     * @return параметры нагрузочного теста
+     */
+    static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+                Path.of(property("serverJar", "server/target/server-0.0.1-SNAPSHOT.jar")),
+                Path.of(property("gatewayJar", "gateway/target/gateway-0.0.1-SNAPSHOT.jar")),
+                Integer.parseInt(property("serverPort", "19090")),
+                Integer.parseInt(property("gatewayPort", "18080")),
+                split(property("serverArgs", DEFAULT_SERVER_ARGS)),
+                split(property("jvmArgs", "")),
+                property("gatewayUrl", ""),
+                Path.of(property("workDir", "target/load-test")),
+                Integer.parseInt(property("owners", "100")),
+                Integer.parseInt(property("bookers", "400")),
+                Integer.parseInt(property("itemsPerOwner", "20")),
+                Integer.parseInt(property("concurrency", "32")),
+                Integer.parseInt(property("rate", "0")),
+                Duration.ofSeconds(Long.parseLong(property("warmup", "15"))),
+                Duration.ofSeconds(Long.parseLong(property("duration", "60"))));
+    }
+
+    /**
+     * Проверяет, нужно ли запускать сервер и gateway или нагрузка подается на развернутый gateway.
+     *
+     * @return true, если gateway уже развернут
+     */
+    boolean external() {
+        return !gatewayUrl.isBlank();
+    }
+
+    /**
+     * Проверяет, подается ли нагрузка по расписанию с заданной частотой операций.
+     *
+     * @return true, если задана частота операций
+     */
+    boolean fixedRate() {
+        return rate > 0;
+    }
+
+    private static String property(String name, String defaultValue) {
+        String value = System.getProperty("loadtest." + name);
+        return value == null || value.isBlank() ? defaultValue : value.trim();
+    }
+
+    private static List<String> split(String value) {
+        return Arrays.stream(value.split("\\s+"))
+                .filter(argument -> !argument.isBlank())
+                .toList();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,114 @@
+package ru.practicum.shareit.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
+/**
+ * HTTP-клиент ShareIt на основе {@link HttpClient} JDK.
+ * Каждый ответ возвращается вместе со временем от отправки запроса до получения тела.
+ */
+final class ShareItClient {
+
+    private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final HttpClient http;
+    private final String baseUrl;
+
+    ShareItClient(String baseUrl) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    Response get(String path, Long userId) {
+        return send(request(path, userId).GET());
+    }
+
+    Response post(String path, Long userId, Object body) {
+        return send(request(path, userId)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(toJson(body))));
+    }
+
+    Response patch(String path, Long userId) {
+        return send(request(path, userId).method("PATCH", HttpRequest.BodyPublishers.noBody()));
+    }
+
+    private HttpRequest.Builder request(String path, Long userId) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Accept", "application/json");
+        if (userId != null) {
+            builder.header(USER_ID_HEADER, String.valueOf(userId));
+        }
+        return builder;
+    }
+
+    private Response send(HttpRequest.Builder builder) {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = http.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+            return new Response(response.statusCode(), response.body(), System.nanoTime() - start);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Запрос прерван", e);
+        }
+    }
+
+    private String toJson(Object body) {
+        try {
+            return OBJECT_MAPPER.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Не удалось сериализовать тело запроса", e);
+        }
+    }
+
+    /**
+     * Ответ сервиса.
+     *
+     * @param status HTTP-статус
+     * @param body   тело ответа
+     * @param nanos  время выполнения запроса в наносекундах
+     */
+    record Response(int status, String body, long nanos) {
+
+        boolean successful() {
+            return status >= 200 && status < 300;
+        }
+
+        /**
+         * Возвращает идентификатор созданной сущности из тела успешного ответа.
+         *
+         * @param operation описание операции для сообщения об ошибке
+         * @return идентификатор сущности
+         */
+        long id(String operation) {
+            if (!successful()) {
+                throw new IllegalStateException(operation + ": HTTP " + status + " " + body);
+            }
+            try {
+                JsonNode id = OBJECT_MAPPER.readTree(body).get("id");
+                return id.asLong();
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException(operation + ": некорректный ответ " + body, e);
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,143 @@
+package ru.practicum.shareit.loadtest;
+
+import java.io.UncheckedIOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Смешанная нагрузка: просмотр и поиск вещей, списки вещей и бронирований, запросы вещей,
+ * создание и подтверждение бронирований, отзывы. Операция выбирается случайно с весом,
+ * приближенным к соотношению чтения и записи у клиентов.
+ */
+final class Workload {
+
+    private static final int PAGE_SIZE = 20;
+    private static final String PAGE = "from=0&size=" + PAGE_SIZE;
+
+    /**
+     * Операции нагрузки и их веса.
+     */
+    enum Operation {
+        GET_ITEM("GET /items/{id}", 25),
+        SEARCH_ITEMS("GET /items/search", 20),
+        GET_OWNER_ITEMS("GET /items", 10),
+        GET_BOOKER_BOOKINGS("GET /bookings", 15),
+        GET_OWNER_BOOKINGS("GET /bookings/owner", 10),
+        GET_ALL_REQUESTS("GET /requests/all", 5),
+        CREATE_BOOKING("POST /bookings", 10),
+        CREATE_COMMENT("POST /items/{id}/comment", 5);
+
+        private final String endpoint;
+        private final int weight;
+
+        Operation(String endpoint, int weight) {
+            this.endpoint = endpoint;
+            this.weight = weight;
+        }
+    }
+
+    /**
+     * Эндпоинт подтверждения, которое следует за каждым успешно созданным бронированием.
+     */
+    static final String APPROVE_BOOKING = "PATCH /bookings/{id}";
+
+    private static final int TOTAL_WEIGHT = Arrays.stream(Operation.values())
+            .mapToInt(operation -> operation.weight)
+            .sum();
+
+    private final ShareItClient client;
+    private final DataSeeder.SeededData data;
+
+    /**
+     * Бронирования нагрузки занимают непересекающиеся интервалы после предстоящих
+     * бронирований из заполнения, поэтому не получают отказ из-за занятости вещи.
+     */
+    private final LocalDateTime bookingSlotsStart = LocalDateTime.now().truncatedTo(ChronoUnit.DAYS).plusDays(30);
+    private final AtomicLong bookingSlots = new AtomicLong();
+
+    Workload(ShareItClient client, DataSeeder.SeededData data) {
+        this.client = client;
+        this.data = data;
+    }
+
+    /**
+     * Выполняет одну случайно выбранную операцию и записывает время ответа.
+     * Время отсчитывается от запланированного начала операции: если клиент не успел отправить
+     * запрос вовремя из-за медленных предыдущих ответов, задержка входит во время ответа,
+     * и замер не занижает процентили (coordinated omission).
+     *
+     * @param random    генератор случайных чисел клиента нагрузки
+     * @param recorder  записи клиента нагрузки
+     * @param scheduled запланированное время начала операции по {@link System#nanoTime()}
+     */
+    void execute(Random random, LatencyRecorder recorder, long scheduled) {
+        Operation operation = next(random);
+        int itemIndex = random.nextInt(data.items().size());
+        long delay = Math.max(System.nanoTime() - scheduled, 0);
+        try {
+            ShareItClient.Response response = send(operation, itemIndex, random);
+            recorder.record(operation.endpoint, delay + response.nanos(), response.successful());
+            if (operation == Operation.CREATE_BOOKING && response.successful()) {
+                approve(response.id("Создание бронирования"), data.ownerOf(itemIndex), recorder);
+            }
+        } catch (UncheckedIOException e) {
+            recorder.recordFailure(operation.endpoint);
+        }
+    }
+
+    private ShareItClient.Response send(Operation operation, int itemIndex, Random random) {
+        Long item = data.items().get(itemIndex);
+        Long owner = data.ownerOf(itemIndex);
+        Long booker = data.bookers().get(random.nextInt(data.bookers().size()));
+        return switch (operation) {
+            case GET_ITEM -> client.get("/items/" + item, booker);
+            case SEARCH_ITEMS -> client.get("/items/search?text=" + searchText(random) + "&" + PAGE, booker);
+            case GET_OWNER_ITEMS -> client.get("/items?" + PAGE, owner);
+            case GET_BOOKER_BOOKINGS -> client.get("/bookings?status=ALL&" + PAGE, booker);
+            case GET_OWNER_BOOKINGS -> client.get("/bookings/owner?status=ALL&" + PAGE, owner);
+            case GET_ALL_REQUESTS -> client.get("/requests/all?" + PAGE, booker);
+            case CREATE_BOOKING -> createBooking(item, booker);
+            case CREATE_COMMENT -> client.post("/items/" + item + "/comment", data.finishedBookerOf(itemIndex),
+                    Map.of("text", "Second time renting it, still in good shape"));
+        };
+    }
+
+    private ShareItClient.Response createBooking(Long item, Long booker) {
+        LocalDateTime start = bookingSlotsStart.plusMinutes(10 * bookingSlots.getAndIncrement());
+        return client.post("/bookings", booker, Map.of(
+                "itemId", item,
+                "start", start.toString(),
+                "end", start.plusMinutes(5).toString()));
+    }
+
+    private void approve(long booking, Long owner, LatencyRecorder recorder) {
+        try {
+            ShareItClient.Response response = client.patch("/bookings/" + booking + "?approved=true", owner);
+            recorder.record(APPROVE_BOOKING, response.nanos(), response.successful());
+        } catch (UncheckedIOException e) {
+            recorder.recordFailure(APPROVE_BOOKING);
+        }
+    }
+
+    private static String searchText(Random random) {
+        String word = DataSeeder.VOCABULARY.get(random.nextInt(DataSeeder.VOCABULARY.size()));
+        return URLEncoder.encode(word, StandardCharsets.UTF_8);
+    }
+
+    private static Operation next(Random random) {
+        int point = random.nextInt(TOTAL_WEIGHT);
+        for (Operation operation : Operation.values()) {
+            point -= operation.weight;
+            if (point < 0) {
+                return operation;
+            }
+        }
+        throw new IllegalStateException("Веса операций нагрузки заданы неверно");
+    }
+}
\ No newline at end of file
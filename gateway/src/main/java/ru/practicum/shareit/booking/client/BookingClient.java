@@ -1,11 +1,15 @@
 package ru.practicum.shareit.booking.client;
 
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
+import ru.practicum.shareit.booking.dto.BookingBatchStatusRequestDto;
 import ru.practicum.shareit.booking.dto.BookingCreateRequestDto;
 import ru.practicum.shareit.client.BaseClient;
 
+import java.io.IOException;
+import java.util.HashMap;
 import java.util.Map;
 
 /**
@@ -51,6 +55,17 @@ public class BookingClient extends BaseClient {
         return patch(API_PREFIX + "/" + bookingId + "?approved={approved}", userId, parameters, null);
     }
 
+    /**
+     * Подтверждает или отклоняет несколько бронирований на сервере одним запросом.
+     *
+     * @param userId  идентификатор владельца вещей
+     * @param request идентификаторы бронирований и флаг подтверждения
+     * @return ответ сервера с результатами по каждому бронированию
+     */
+    public ResponseEntity<Object> updateStatuses(Long userId, BookingBatchStatusRequestDto request) {
+        return patch(API_PREFIX + "/batch", userId, null, request);
+    }
+
     /**
      * Находит бронирование по идентификатору на сервере.
      *
@@ -62,6 +77,17 @@ public class BookingClient extends BaseClient {
         return get(API_PREFIX + "/" + bookingId, userId);
     }
 
+    /**
+     * Передает клиенту выгрузку истории бронирований пользователя с сервера потоком.
+     *
+     * @param userId   идентификатор пользователя
+     * @param response ответ gateway для записи выгрузки
+     * @throws IOException если передача выгрузки не удалась
+     */
+    public void exportByBookerId(Long userId, HttpServletResponse response) throws IOException {
+        getStream(API_PREFIX + "/export", userId, response);
+    }
+
     /**
      * Находит бронирования пользователя на сервере с фильтрацией по статусу.
      *
@@ -69,15 +95,21 @@ public class BookingClient extends BaseClient {
      * @param status   статус бронирования для фильтрации
      * @param from     начальный индекс для пагинации
      * @param size     количество элементов на странице
+     * @param cursor   курсор следующей страницы или null
      * @return ответ сервера со списком бронирований пользователя
      */
-    public ResponseEntity<Object> findByBookerId(Long bookerId, String status, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
-                "state", status,
-                "from", from,
-                "size", size
-        );
-        return get(API_PREFIX + "?state={state}&from={from}&size={size}", bookerId, parameters);
+    public ResponseEntity<Object> findByBookerId(Long bookerId, String status, Integer from, Integer size,
+                                                 String cursor) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("state", status);
+        parameters.put("from", from);
+        parameters.put("size", size);
+        String path = API_PREFIX + "?state={state}&from={from}&size={size}";
+        if (cursor != null) {
+            parameters.put("cursor", cursor);
+            path += "&cursor={cursor}";
+        }
+        return get(path, bookerId, parameters);
     }
 
     /**
@@ -87,14 +119,20 @@ public class BookingClient extends BaseClient {
      * @param status  статус бронирования для фильтрации
      * @param from    начальный индекс для пагинации
      * @param size    количество элементов на странице
+     * @param cursor  курсор следующей страницы или null
      * @return ответ сервера со списком бронирований для вещей владельца
      */
-    public ResponseEntity<Object> findByOwnerId(Long ownerId, String status, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
-                "state", status,
-                "from", from,
-                "size", size
-        );
-        return get(API_PREFIX + "/owner?state={state}&from={from}&size={size}", ownerId, parameters);
+    public ResponseEntity<Object> findByOwnerId(Long ownerId, String status, Integer from, Integer size,
+                                                String cursor) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("state", status);
+        parameters.put("from", from);
+        parameters.put("size", size);
+        String path = API_PREFIX + "/owner?state={state}&from={from}&size={size}";
+        if (cursor != null) {
+            parameters.put("cursor", cursor);
+            path += "&cursor={cursor}";
+        }
+        return get(path, ownerId, parameters);
     }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.booking.controller;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
@@ -8,8 +9,11 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.booking.client.BookingClient;
+import ru.practicum.shareit.booking.dto.BookingBatchStatusRequestDto;
 import ru.practicum.shareit.booking.dto.BookingCreateRequestDto;
 
+import java.io.IOException;
+
 /**
  * Контроллер для работы с бронированием вещей.
  * Обеспечивает REST API для управления информацией о бронировании вещей.
@@ -53,6 +57,34 @@ public class BookingController {
         return bookingClient.updateStatus(userId, bookingId, approved);
     }
 
+    /**
+     * Подтверждает или отклоняет несколько бронирований одним запросом.
+     *
+     * @param userId  идентификатор владельца вещей
+     * @param request идентификаторы бронирований и флаг подтверждения
+     * @return результаты смены статуса по каждому бронированию
+     */
+    @PatchMapping("/batch")
+    public ResponseEntity<Object> updateStatuses(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @Valid @RequestBody BookingBatchStatusRequestDto request) {
+        return bookingClient.updateStatuses(userId, request);
+    }
+
+    /**
+     * Выгружает всю историю бронирований пользователя в формате NDJSON.
+     * Выгрузка передается от сервера клиенту потоком, без буферизации в gateway.
+     *
+     * @param userId   идентификатор пользователя
+     * @param response ответ для записи выгрузки
+     * @throws IOException если передача выгрузки не удалась
+     */
+    @GetMapping("/export")
+    public void exportByBookerId(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                 HttpServletResponse response) throws IOException {
+        bookingClient.exportByBookerId(userId, response);
+    }
+
     /**
      * Находит бронирование по идентификатору.
      *
@@ -74,6 +106,7 @@ public class BookingController {
      * @param status   статус бронирования для фильтрации
      * @param from     начальный индекс для пагинации
      * @param size     количество элементов на странице
+     * @param cursor   курсор из заголовка X-Next-Cursor предыдущей страницы
      * @return список бронирований пользователя
      */
     @GetMapping
@@ -81,8 +114,9 @@ public class BookingController {
             @RequestHeader("X-Sharer-User-Id") Long bookerId,
             @RequestParam(defaultValue = "ALL") String status,
             @RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
-            @RequestParam(defaultValue = "10") @Positive Integer size) {
-        return bookingClient.findByBookerId(bookerId, status, from, size);
+            @RequestParam(defaultValue = "10") @Positive Integer size,
+            @RequestParam(required = false) String cursor) {
+        return bookingClient.findByBookerId(bookerId, status, from, size, cursor);
     }
 
     /**
@@ -92,6 +126,7 @@ public class BookingController {
      * @param status  статус бронирования для фильтрации
      * @param from    начальный индекс для пагинации
      * @param size    количество элементов на странице
+     * @param cursor  курсор из заголовка X-Next-Cursor предыдущей страницы
      * @return список бронирований для вещей владельца
      */
     @GetMapping("/owner")
@@ -99,7 +134,8 @@ public class BookingController {
             @RequestHeader("X-Sharer-User-Id") Long ownerId,
             @RequestParam(defaultValue = "ALL") String status,
             @RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
-            @RequestParam(defaultValue = "10") @Positive Integer size) {
-        return bookingClient.findByOwnerId(ownerId, status, from, size);
+            @RequestParam(defaultValue = "10") @Positive Integer size,
+            @RequestParam(required = false) String cursor) {
+        return bookingClient.findByOwnerId(ownerId, status, from, size, cursor);
     }
 }
\ No newline at end of file
@@ -0,0 +1,23 @@
+package ru.practicum.shareit.booking.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * DTO для пакетного подтверждения или отклонения бронирований.
+ * Содержит валидационные аннотации для списка бронирований и решения владельца.
+ */
+public record BookingBatchStatusRequestDto(
+        @NotEmpty(message = "Список бронирований не может быть пустым")
+        @Size(max = 1000, message = "За один запрос можно обработать не более 1000 бронирований")
+        List<@NotNull(message = "Идентификатор бронирования не может быть пустым")
+        @Positive(message = "Идентификатор бронирования должен быть положительным") Long> bookingIds,
+
+        @NotNull(message = "Решение по бронированиям не может быть пустым")
+        Boolean approved
+) {
+}
\ No newline at end of file
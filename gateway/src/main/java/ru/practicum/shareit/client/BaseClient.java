@@ -1,23 +1,53 @@
 package ru.practicum.shareit.client;
 
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.annotation.Autowired;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.io.InputStreamResource;
 import org.springframework.http.*;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import ru.practicum.shareit.config.ShareItServerProperties;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * Базовый клиент для выполнения HTTP запросов к серверу.
  * Предоставляет общие методы для работы с REST API.
  * Наследуется специализированными клиентами для конкретных сущностей.
+ * Ответ сервера, который не сохраняется в кэше, передается клиенту gateway потоком: статус и заголовки
+ * переносятся в ответ gateway, а тело копируется по мере получения без загрузки в память.
+ * Такие методы возвращают null, и Spring MVC больше ничего не пишет в ответ. Вне обработки HTTP запроса
+ * gateway, например в тестах, ответ сервера читается в массив байтов и возвращается как тело ответа.
  */
 public abstract class BaseClient {
+
+    /**
+     * Заголовки соединения с сервером, которые не передаются клиенту gateway.
+     */
+    private static final List<String> HOP_BY_HOP_HEADERS = List.of(HttpHeaders.CONNECTION, "Keep-Alive",
+            HttpHeaders.TRANSFER_ENCODING, HttpHeaders.TE, HttpHeaders.TRAILER, HttpHeaders.UPGRADE,
+            HttpHeaders.PROXY_AUTHENTICATE, HttpHeaders.PROXY_AUTHORIZATION);
+
+    /**
+     * Обработчик статуса ответа на запрос, не изменяющий данные.
+     */
+    private static final Consumer<HttpStatusCode> READ_ONLY = status -> {
+    };
+
     protected final RestTemplate rest;
 
-    @Value("${shareit-server.url:http://localhost:9090}")
     private String serverUrl;
 
+    private GatewayResponseCache responseCache;
+
     /**
      * Конструктор базового клиента.
      *
@@ -27,16 +57,53 @@ public abstract class BaseClient {
         this.rest = rest;
     }
 
+    /**
+     * Задает адрес сервера из настроек транспорта.
+     *
+     * @param serverProperties настройки транспорта между gateway и сервером
+     */
+    @Autowired
+    public void setServerProperties(ShareItServerProperties serverProperties) {
+        this.serverUrl = serverProperties.getUrl();
+    }
+
+    /**
+     * Подключает кэш ответов на GET запросы.
+     * Без кэша все запросы передаются серверу.
+     *
+     * @param responseCache кэш ответов gateway
+     */
+    @Autowired(required = false)
+    public void setResponseCache(GatewayResponseCache responseCache) {
+        this.responseCache = responseCache;
+    }
+
     /**
      * Выполняет POST запрос.
      *
      * @param path   путь к endpoint
      * @param userId идентификатор пользователя
      * @param body   тело запроса
-     * @return ответ сервера
+     * @return ответ сервера или null, если он передан клиенту gateway потоком
      */
     protected ResponseEntity<Object> post(String path, Long userId, Object body) {
-        return makeAndSendRequest(HttpMethod.POST, path, userId, body);
+        return forward(HttpMethod.POST, path, userId, body, null, MediaType.APPLICATION_JSON,
+                status -> invalidateCache(path, status));
+    }
+
+    /**
+     * Выполняет POST запрос с потоковым телом.
+     * Тело передается серверу по мере чтения и не загружается в память gateway.
+     *
+     * @param path        путь к endpoint
+     * @param userId      идентификатор пользователя
+     * @param contentType тип содержимого тела
+     * @param body        поток тела запроса
+     * @return ответ сервера или null, если он передан клиенту gateway потоком
+     */
+    protected ResponseEntity<Object> postStream(String path, Long userId, MediaType contentType, InputStream body) {
+        return forward(HttpMethod.POST, path, userId, new InputStreamResource(body), null, contentType,
+                status -> invalidateCache(path, status));
     }
 
     /**
@@ -44,7 +111,7 @@ public abstract class BaseClient {
      *
      * @param path   путь к endpoint
      * @param userId идентификатор пользователя
-     * @return ответ сервера
+     * @return ответ сервера или null, если он передан клиенту gateway потоком
      */
     protected ResponseEntity<Object> get(String path, Long userId) {
         return get(path, userId, null);
@@ -56,10 +123,49 @@ public abstract class BaseClient {
      * @param path       путь к endpoint
      * @param userId     идентификатор пользователя
      * @param parameters параметры запроса
-     * @return ответ сервера
+     * @return ответ сервера или null, если он передан клиенту gateway потоком
      */
     protected ResponseEntity<Object> get(String path, Long userId, Map<String, Object> parameters) {
-        return makeAndSendRequest(HttpMethod.GET, path, userId, null, parameters);
+        return forward(HttpMethod.GET, path, userId, null, parameters, MediaType.APPLICATION_JSON, READ_ONLY);
+    }
+
+    /**
+     * Выполняет GET запрос с параметрами через кэш ответов.
+     * Ключом ответа служат путь с подставленными параметрами и идентификатор пользователя.
+     * Применяется для ответов, которые часто запрашиваются и редко изменяются.
+     * Тело ответа хранится в кэше, поэтому читается в массив байтов.
+     * Без кэша ответ передается клиенту gateway потоком, как при обычном GET запросе.
+     *
+     * @param path       путь к endpoint
+     * @param userId     идентификатор пользователя
+     * @param parameters параметры запроса
+     * @return ответ сервера, сохраненный ответ или null, если ответ передан клиенту gateway потоком
+     */
+    protected ResponseEntity<Object> cachedGet(String path, Long userId, Map<String, Object> parameters) {
+        if (responseCache == null) {
+            return get(path, userId, parameters);
+        }
+        String uri = rest.getUriTemplateHandler()
+                .expand(path, parameters != null ? parameters : Map.of())
+                .toString();
+        String key = userId != null ? userId + ":" + uri : uri;
+        return responseCache.getOrLoad(path, key,
+                eTag -> makeAndSendRequest(HttpMethod.GET, path, userId, null, parameters, eTag,
+                        MediaType.APPLICATION_JSON));
+    }
+
+    /**
+     * Выполняет GET запрос и передает ответ сервера клиенту потоком.
+     * Статус и заголовки сервера переносятся в ответ gateway, а тело копируется
+     * по мере получения без загрузки в память. Ответ сервера с ошибкой передается так же.
+     *
+     * @param path     путь к endpoint
+     * @param userId   идентификатор пользователя
+     * @param response ответ gateway, в который записывается ответ сервера
+     * @throws IOException если передача тела не удалась
+     */
+    protected void getStream(String path, Long userId, HttpServletResponse response) throws IOException {
+        stream(HttpMethod.GET, path, userId, null, null, MediaType.APPLICATION_JSON, response, READ_ONLY);
     }
 
     /**
@@ -69,10 +175,11 @@ public abstract class BaseClient {
      * @param userId     идентификатор пользователя
      * @param parameters параметры запроса
      * @param body       тело запроса
-     * @return ответ сервера
+     * @return ответ сервера или null, если он передан клиенту gateway потоком
      */
     protected ResponseEntity<Object> patch(String path, Long userId, Map<String, Object> parameters, Object body) {
-        return makeAndSendRequest(HttpMethod.PATCH, path, userId, body, parameters);
+        return forward(HttpMethod.PATCH, path, userId, body, parameters, MediaType.APPLICATION_JSON,
+                status -> invalidateCache(path, status));
     }
 
     /**
@@ -80,47 +187,183 @@ public abstract class BaseClient {
      *
      * @param path   путь к endpoint
      * @param userId идентификатор пользователя
-     * @return ответ сервера
+     * @return ответ сервера или null, если он передан клиенту gateway потоком
      */
     protected ResponseEntity<Object> delete(String path, Long userId) {
-        return makeAndSendRequest(HttpMethod.DELETE, path, userId, null);
+        return forward(HttpMethod.DELETE, path, userId, null, null, MediaType.APPLICATION_JSON,
+                status -> invalidateCache(path, status));
+    }
+
+    /**
+     * Отправляет HTTP запрос и передает ответ сервера клиенту gateway.
+     * В потоке обработки HTTP запроса gateway ответ передается потоком в ответ gateway,
+     * иначе читается в массив байтов.
+     *
+     * @param method      HTTP метод
+     * @param path        путь к endpoint
+     * @param userId      идентификатор пользователя
+     * @param body        тело запроса
+     * @param parameters  параметры запроса
+     * @param contentType тип содержимого тела запроса
+     * @param onStatus    обработчик статуса ответа сервера, вызывается до передачи тела
+     * @return ответ сервера или null, если он передан клиенту gateway потоком
+     */
+    private ResponseEntity<Object> forward(HttpMethod method, String path, Long userId, Object body,
+                                           Map<String, Object> parameters, MediaType contentType,
+                                           Consumer<HttpStatusCode> onStatus) {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)
+                || attributes.getResponse() == null) {
+            ResponseEntity<Object> response = makeAndSendRequest(method, path, userId, body, parameters, null,
+                    contentType);
+            onStatus.accept(response.getStatusCode());
+            return response;
+        }
+        try {
+            stream(method, path, userId, body, parameters, contentType, attributes.getResponse(), onStatus);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось передать ответ сервера", e);
+        }
+        return null;
     }
 
-    private ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, Object body) {
-        return makeAndSendRequest(method, path, userId, body, null);
+    /**
+     * Отправляет HTTP запрос и копирует ответ сервера в ответ gateway по мере получения.
+     * Статус и заголовки сервера переносятся в ответ gateway. Ответ сервера с ошибкой передается так же.
+     *
+     * @param method      HTTP метод
+     * @param path        путь к endpoint
+     * @param userId      идентификатор пользователя
+     * @param body        тело запроса
+     * @param parameters  параметры запроса
+     * @param contentType тип содержимого тела запроса
+     * @param response    ответ gateway, в который записывается ответ сервера
+     * @param onStatus    обработчик статуса ответа сервера, вызывается до передачи тела
+     * @throws IOException если передача тела ответа с ошибкой не удалась
+     */
+    private void stream(HttpMethod method, String path, Long userId, Object body, Map<String, Object> parameters,
+                        MediaType contentType, HttpServletResponse response,
+                        Consumer<HttpStatusCode> onStatus) throws IOException {
+        HttpEntity<Object> requestEntity = new HttpEntity<>(body, requestHeaders(userId, null, contentType));
+        try {
+            rest.execute(serverUrl + path, method, rest.httpEntityCallback(requestEntity), serverResponse -> {
+                onStatus.accept(serverResponse.getStatusCode());
+                copyStatusAndHeaders(serverResponse.getStatusCode(), serverResponse.getHeaders(), response);
+                StreamUtils.copy(serverResponse.getBody(), response.getOutputStream());
+                return null;
+            }, parameters != null ? parameters : Map.of());
+        } catch (HttpStatusCodeException e) {
+            onStatus.accept(e.getStatusCode());
+            copyStatusAndHeaders(e.getStatusCode(), e.getResponseHeaders(), response);
+            response.getOutputStream().write(e.getResponseBodyAsByteArray());
+        }
     }
 
     /**
      * Создает и отправляет HTTP запрос.
+     * Ответ сервера возвращается без разбора JSON: тело передается клиенту байтами как есть.
      *
-     * @param method     HTTP метод
-     * @param path       путь к endpoint
-     * @param userId     идентификатор пользователя
-     * @param body       тело запроса
-     * @param parameters параметры запроса
+     * @param method      HTTP метод
+     * @param path        путь к endpoint
+     * @param userId      идентификатор пользователя
+     * @param body        тело запроса
+     * @param parameters  параметры запроса
+     * @param eTag        ETag сохраненного ответа для условного запроса
+     * @param contentType тип содержимого тела запроса
      * @return ответ сервера
      */
     private ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path,
                                                       Long userId, Object body,
-                                                      Map<String, Object> parameters) {
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-
-        if (userId != null) {
-            headers.set("X-Sharer-User-Id", userId.toString());
-        }
-
-        HttpEntity<Object> requestEntity = new HttpEntity<>(body, headers);
+                                                      Map<String, Object> parameters, String eTag,
+                                                      MediaType contentType) {
+        HttpEntity<Object> requestEntity = new HttpEntity<>(body, requestHeaders(userId, eTag, contentType));
         String url = serverUrl + path;
 
+        ResponseEntity<byte[]> serverResponse;
         try {
             if (parameters != null && !parameters.isEmpty()) {
-                return rest.exchange(url, method, requestEntity, Object.class, parameters);
+                serverResponse = rest.exchange(url, method, requestEntity, byte[].class, parameters);
             } else {
-                return rest.exchange(url, method, requestEntity, Object.class);
+                serverResponse = rest.exchange(url, method, requestEntity, byte[].class);
             }
         } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+            return passThrough(e.getStatusCode(), e.getResponseHeaders(), e.getResponseBodyAsByteArray());
         }
+        return passThrough(serverResponse.getStatusCode(), serverResponse.getHeaders(), serverResponse.getBody());
+    }
+
+    /**
+     * Формирует заголовки запроса к серверу.
+     *
+     * @param userId      идентификатор пользователя
+     * @param eTag        ETag сохраненного ответа для условного запроса
+     * @param contentType тип содержимого тела запроса
+     * @return заголовки запроса
+     */
+    private static HttpHeaders requestHeaders(Long userId, String eTag, MediaType contentType) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(contentType);
+
+        if (userId != null) {
+            headers.set("X-Sharer-User-Id", userId.toString());
+        }
+        if (eTag != null) {
+            headers.setIfNoneMatch(eTag);
+        }
+        return headers;
+    }
+
+    /**
+     * Удаляет из кэша ответы, устаревшие после успешного изменения ресурса.
+     *
+     * @param path   путь изменяющего запроса
+     * @param status статус ответа сервера
+     */
+    private void invalidateCache(String path, HttpStatusCode status) {
+        if (responseCache != null && status.is2xxSuccessful()) {
+            responseCache.invalidate(path);
+        }
+    }
+
+    /**
+     * Формирует ответ gateway из ответа сервера.
+     * Сохраняет статус, тело и заголовки сервера, включая Content-Type,
+     * за исключением заголовков, относящихся к соединению с сервером.
+     *
+     * @param status        статус ответа сервера
+     * @param serverHeaders заголовки ответа сервера
+     * @param body          тело ответа сервера
+     * @return ответ для клиента gateway
+     */
+    private static ResponseEntity<Object> passThrough(HttpStatusCode status, HttpHeaders serverHeaders, byte[] body) {
+        HttpHeaders headers = new HttpHeaders();
+        if (serverHeaders != null) {
+            headers.putAll(serverHeaders);
+            HOP_BY_HOP_HEADERS.forEach(headers::remove);
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(status).headers(headers);
+        return body != null && body.length > 0 ? response.body(body) : response.build();
+    }
+
+    /**
+     * Переносит статус и заголовки ответа сервера в ответ gateway.
+     * Заголовки соединения с сервером и длина тела не переносятся: тело передается потоком.
+     *
+     * @param status        статус ответа сервера
+     * @param serverHeaders заголовки ответа сервера
+     * @param response      ответ gateway
+     */
+    private static void copyStatusAndHeaders(HttpStatusCode status, HttpHeaders serverHeaders,
+                                             HttpServletResponse response) {
+        response.setStatus(status.value());
+        if (serverHeaders == null) {
+            return;
+        }
+        serverHeaders.forEach((name, values) -> {
+            if (HOP_BY_HOP_HEADERS.stream().noneMatch(name::equalsIgnoreCase)
+                    && !HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                values.forEach(value -> response.addHeader(name, value));
+            }
+        });
     }
 }
\ No newline at end of file
@@ -0,0 +1,202 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Кэш ответов сервера на идемпотентные GET запросы gateway.
+ * Хранит ограниченное число ответов и вытесняет те, к которым дольше всего не обращались.
+ * Ответ считается свежим в течение TTL, после чего перепроверяется на сервере запросом
+ * с If-None-Match и продлевается без передачи тела, если сервер ответил 304.
+ * Ответы сгруппированы по ресурсам (первому сегменту пути): изменение ресурса через gateway
+ * удаляет из кэша ответы этого ресурса и ресурсов, в ответы которых он входит.
+ * Блокировка вместо synchronized не закрепляет виртуальные потоки за потоками-носителями.
+ */
+@Component
+@ConditionalOnProperty(name = "shareit-gateway.cache.enabled", havingValue = "true", matchIfMissing = true)
+public class GatewayResponseCache {
+
+    /**
+     * Ресурсы, ответы которых устаревают при изменении ресурса-ключа.
+     * Вещи входят в ответы по запросам, а владельцы и авторы - в ответы по вещам и запросам.
+     */
+    private static final Map<String, Set<String>> DEPENDENT_REGIONS = Map.of(
+            "/items", Set.of("/items", "/requests"),
+            "/requests", Set.of("/requests"),
+            "/users", Set.of("/items", "/requests"));
+
+    private final long ttlNanos;
+    private final Map<String, CachedResponse> entries;
+    private final Lock lock = new ReentrantLock();
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter revalidations;
+    private final Map<String, Long> generations = new HashMap<>();
+
+    /**
+     * Создает кэш ответов.
+     *
+     * @param maxEntries    максимальное количество ответов в кэше
+     * @param ttl           время, в течение которого ответ отдается без обращения к серверу
+     * @param meterRegistry реестр метрик для статистики попаданий и промахов
+     */
+    public GatewayResponseCache(@Value("${shareit-gateway.cache.max-entries:10000}") int maxEntries,
+                                @Value("${shareit-gateway.cache.ttl:10s}") Duration ttl,
+                                MeterRegistry meterRegistry) {
+        this.ttlNanos = ttl.toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        this.hits = requestCounter(meterRegistry, "hit");
+        this.misses = requestCounter(meterRegistry, "miss");
+        this.revalidations = requestCounter(meterRegistry, "revalidated");
+        Gauge.builder("shareit.gateway.cache.size", this, GatewayResponseCache::size)
+                .description("Количество ответов в кэше gateway")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Возвращает ответ из кэша или загружает его с сервера.
+     * Загрузчик получает ETag устаревшего ответа для условного запроса или null, если ответа в кэше нет.
+     * Успешный ответ сохраняется, только если за время загрузки ресурс не изменялся через gateway.
+     *
+     * @param path   путь запроса к серверу, по которому определяется ресурс
+     * @param key    ключ ответа
+     * @param loader загрузчик ответа с сервера
+     * @return ответ сервера
+     */
+    public ResponseEntity<Object> getOrLoad(String path, String key, Function<String, ResponseEntity<Object>> loader) {
+        String region = region(path);
+        CachedResponse cached;
+        long loadGeneration;
+        lock.lock();
+        try {
+            cached = entries.get(key);
+            loadGeneration = generations.getOrDefault(region, 0L);
+        } finally {
+            lock.unlock();
+        }
+
+        long now = System.nanoTime();
+        if (cached != null && now - cached.storedAt() < ttlNanos) {
+            hits.increment();
+            return cached.toResponse();
+        }
+
+        ResponseEntity<Object> response = loader.apply(cached != null ? cached.eTag() : null);
+        if (cached != null && response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+            revalidations.increment();
+            store(key, cached.refreshed(System.nanoTime()), loadGeneration);
+            return cached.toResponse();
+        }
+
+        misses.increment();
+        if (response.getStatusCode().is2xxSuccessful() && response.getBody() instanceof byte[] body) {
+            store(key, new CachedResponse(region, response.getStatusCode(),
+                    HttpHeaders.readOnlyHttpHeaders(response.getHeaders()), body, System.nanoTime()), loadGeneration);
+        }
+        return response;
+    }
+
+    /**
+     * Удаляет из кэша ответы, устаревшие после изменения ресурса.
+     *
+     * @param path путь изменяющего запроса к серверу
+     */
+    public void invalidate(String path) {
+        String region = region(path);
+        Set<String> dependentRegions = DEPENDENT_REGIONS.getOrDefault(region, Set.of(region));
+        lock.lock();
+        try {
+            dependentRegions.forEach(dependent -> generations.merge(dependent, 1L, Long::sum));
+            entries.values().removeIf(entry -> dependentRegions.contains(entry.region()));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Возвращает количество ответов в кэше.
+     *
+     * @return количество ответов
+     */
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void store(String key, CachedResponse response, long loadGeneration) {
+        lock.lock();
+        try {
+            if (generations.getOrDefault(response.region(), 0L) == loadGeneration) {
+                entries.put(key, response);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static String region(String path) {
+        int end = 1;
+        while (end < path.length() && path.charAt(end) != '/' && path.charAt(end) != '?') {
+            end++;
+        }
+        return path.substring(0, end);
+    }
+
+    private static Counter requestCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("shareit.gateway.cache.requests")
+                .description("Запросы к кэшу ответов gateway")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Сохраненный ответ сервера.
+     *
+     * @param region   ресурс, к которому относится ответ
+     * @param status   статус ответа
+     * @param headers  заголовки ответа
+     * @param body     тело ответа
+     * @param storedAt время сохранения или последней перепроверки по System.nanoTime
+     */
+    private record CachedResponse(String region, HttpStatusCode status, HttpHeaders headers, byte[] body,
+                                  long storedAt) {
+
+        private String eTag() {
+            return headers.getETag();
+        }
+
+        private CachedResponse refreshed(long now) {
+            return new CachedResponse(region, status, headers, body, now);
+        }
+
+        private ResponseEntity<Object> toResponse() {
+            return ResponseEntity.status(status).headers(headers).body(body);
+        }
+    }
+}
\ No newline at end of file
@@ -1,39 +1,141 @@
 package ru.practicum.shareit.config;
 
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.DefaultConnectionKeepAliveStrategy;
 import org.apache.hc.client5.http.impl.classic.HttpClients;
 import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
 import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.net.http.HttpClient;
+import java.time.Duration;
+
 /**
  * Конфигурационный класс для настройки компонентов Gateway.
  * Предоставляет бины для работы с REST запросами к основному серверу.
+ * Транспорт настраивается свойствами {@link ShareItServerProperties}:
+ * по умолчанию используется пул соединений HTTP/1.1 Apache HttpClient 5,
+ * при shareit-server.http2=true - HTTP/2 без TLS (h2c) через HttpClient из JDK.
  */
 @Configuration
+@EnableConfigurationProperties(ShareItServerProperties.class)
 public class GatewayConfig {
 
     /**
-     * Создает и настраивает RestTemplate с поддержкой HTTP методов, включая PATCH.
-     * Использует Apache HttpClient 5 с пулом соединений для улучшения производительности.
+     * Создает RestTemplate с поддержкой HTTP методов, включая PATCH.
+     * Запросы обрабатываются на виртуальных потоках, и число одновременных вызовов сервера
+     * ограничивается только транспортом.
      *
+     * @param requestFactory фабрика запросов к серверу
      * @return настроенный экземпляр RestTemplate с поддержкой всех HTTP методов
      */
     @Bean
-    public RestTemplate restTemplate() {
-        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+    public RestTemplate restTemplate(ClientHttpRequestFactory requestFactory) {
+        return new RestTemplate(requestFactory);
+    }
+
+    /**
+     * Создает пул соединений HTTP/1.1 с сервером.
+     *
+     * @param properties настройки транспорта
+     * @return пул соединений
+     */
+    @Bean
+    @ConditionalOnProperty(name = "shareit-server.http2", havingValue = "false", matchIfMissing = true)
+    public PoolingHttpClientConnectionManager serverConnectionManager(ShareItServerProperties properties) {
+        ConnectionConfig connectionConfig = ConnectionConfig.custom()
+                .setConnectTimeout(toTimeout(properties.getConnectTimeout()))
+                .setSocketTimeout(toTimeout(properties.getResponseTimeout()))
+                .setValidateAfterInactivity(TimeValue.of(properties.getValidateAfterInactivity()))
+                .build();
+
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(properties.getMaxConnections())
+                .setMaxConnPerRoute(properties.getMaxConnectionsPerRoute())
+                .setDefaultConnectionConfig(connectionConfig)
+                .build();
+    }
+
+    /**
+     * Создает фабрику запросов Apache HttpClient 5 поверх пула соединений.
+     * Простаивающие соединения закрываются фоновой очисткой, а время переиспользования
+     * соединения ограничивается меньшим из значений shareit-server.keep-alive и заголовка Keep-Alive сервера.
+     *
+     * @param connectionManager пул соединений с сервером
+     * @param properties        настройки транспорта
+     * @return фабрика запросов
+     */
+    @Bean
+    @ConditionalOnProperty(name = "shareit-server.http2", havingValue = "false", matchIfMissing = true)
+    public HttpComponentsClientHttpRequestFactory pooledRequestFactory(
+            PoolingHttpClientConnectionManager connectionManager, ShareItServerProperties properties) {
+        TimeValue keepAlive = TimeValue.of(properties.getKeepAlive());
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectionRequestTimeout(toTimeout(properties.getConnectionRequestTimeout()))
+                .setResponseTimeout(toTimeout(properties.getResponseTimeout()))
                 .build();
 
         var httpClient = HttpClients.custom()
                 .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .setKeepAliveStrategy((response, context) -> keepAlive.min(
+                        DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context)))
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(properties.getIdleTimeout()))
                 .build();
 
-        var requestFactory = new HttpComponentsClientHttpRequestFactory(httpClient);
-        requestFactory.setConnectTimeout(5000);
-        requestFactory.setConnectionRequestTimeout(5000);
+        return new HttpComponentsClientHttpRequestFactory(httpClient);
+    }
 
-        return new RestTemplate(requestFactory);
+    /**
+     * Публикует статистику пула соединений в метриках actuator
+     * (httpcomponents.httpclient.pool.* с тегом httpclient=shareit-server).
+     *
+     * @param connectionManager пул соединений с сервером
+     * @return регистратор метрик пула
+     */
+    @Bean
+    @ConditionalOnProperty(name = "shareit-server.http2", havingValue = "false", matchIfMissing = true)
+    public MeterBinder serverConnectionPoolMetrics(PoolingHttpClientConnectionManager connectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "shareit-server");
+    }
+
+    /**
+     * Создает фабрику запросов HTTP/2 без TLS (h2c).
+     * Соединение с сервером переключается на HTTP/2 через заголовок Upgrade,
+     * поэтому сервер должен поддерживать h2c (server.http2.enabled=true).
+     *
+     * @param properties настройки транспорта
+     * @return фабрика запросов
+     */
+    @Bean
+    @ConditionalOnProperty(name = "shareit-server.http2", havingValue = "true")
+    public JdkClientHttpRequestFactory http2RequestFactory(ShareItServerProperties properties) {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(properties.getConnectTimeout())
+                .build();
+
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        if (properties.getResponseTimeout() != null) {
+            requestFactory.setReadTimeout(properties.getResponseTimeout());
+        }
+        return requestFactory;
+    }
+
+    private static Timeout toTimeout(Duration duration) {
+        return duration == null ? null : Timeout.of(duration);
     }
 }
\ No newline at end of file
@@ -0,0 +1,71 @@
+package ru.practicum.shareit.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Настройки транспорта между gateway и основным сервером.
+ * Задаются свойствами с префиксом shareit-server.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server")
+public class ShareItServerProperties {
+
+    /**
+     * Адрес основного сервера.
+     */
+    private String url = "http://localhost:9090";
+
+    /**
+     * Максимальное количество соединений с сервером в пуле.
+     */
+    private int maxConnections = 500;
+
+    /**
+     * Максимальное количество соединений на один маршрут.
+     * Все запросы идут на один сервер, поэтому по умолчанию совпадает с общим лимитом.
+     */
+    private int maxConnectionsPerRoute = 500;
+
+    /**
+     * Время установки соединения с сервером.
+     */
+    private Duration connectTimeout = Duration.ofSeconds(5);
+
+    /**
+     * Время ожидания свободного соединения в пуле.
+     * При его превышении запрос завершается ошибкой исчерпания пула.
+     */
+    private Duration connectionRequestTimeout = Duration.ofSeconds(5);
+
+    /**
+     * Время ожидания ответа сервера. Если не задано, ожидание не ограничено.
+     */
+    private Duration responseTimeout;
+
+    /**
+     * Время, после которого простаивающие соединения закрываются фоновой очисткой пула.
+     */
+    private Duration idleTimeout = Duration.ofSeconds(30);
+
+    /**
+     * Максимальное время переиспользования соединения между запросами.
+     * Если сервер сообщает меньшее значение в заголовке Keep-Alive, используется оно.
+     */
+    private Duration keepAlive = Duration.ofSeconds(30);
+
+    /**
+     * Время простоя, после которого соединение проверяется перед повторным использованием.
+     */
+    private Duration validateAfterInactivity = Duration.ofSeconds(2);
+
+    /**
+     * Использовать HTTP/2 без TLS (h2c) вместо пула соединений HTTP/1.1.
+     * Запросы мультиплексируются в одном соединении, поэтому настройки пула не применяются.
+     */
+    private boolean http2;
+}
\ No newline at end of file
@@ -1,6 +1,7 @@
 package ru.practicum.shareit.exception;
 
 import jakarta.validation.ConstraintViolationException;
+import org.apache.hc.core5.http.ConnectionRequestTimeoutException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -9,6 +10,7 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.client.ResourceAccessException;
 import ru.practicum.shareit.exception.booking.BookingNotFoundException;
 import ru.practicum.shareit.exception.item.CommentNotAllowedException;
 import ru.practicum.shareit.exception.item.ItemNotAvailableException;
@@ -164,6 +166,24 @@ public class GlobalExceptionHandler {
         return new ErrorResponse("Неверные параметры запроса: " + ex.getMessage());
     }
 
+    /**
+     * Обрабатывает исключения {@link ResourceAccessException}, возникающие когда запрос
+     * к основному серверу не удалось выполнить: сервер недоступен, не ответил вовремя
+     * или в пуле соединений не нашлось свободного соединения.
+     *
+     * @param ex перехваченное исключение
+     * @return структурированный ответ с сообщением об ошибке
+     */
+    @ExceptionHandler(ResourceAccessException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    @ResponseBody
+    public ErrorResponse handleResourceAccess(ResourceAccessException ex) {
+        if (ex.getCause() instanceof ConnectionRequestTimeoutException) {
+            return new ErrorResponse("Нет свободных соединений с сервером: " + ex.getCause().getMessage());
+        }
+        return new ErrorResponse("Сервер недоступен: " + ex.getMessage());
+    }
+
     /**
      * Обрабатывает все неперехваченные исключения.
      * Является fallback-обработчиком для любых необработанных исключений.
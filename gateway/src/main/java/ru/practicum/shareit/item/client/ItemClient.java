@@ -1,5 +1,6 @@
 package ru.practicum.shareit.item.client;
 
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
@@ -8,6 +9,7 @@ import ru.practicum.shareit.item.dto.CommentCreateRequestDto;
 import ru.practicum.shareit.item.dto.ItemCreateRequestDto;
 import ru.practicum.shareit.item.dto.ItemUpdateRequestDto;
 
+import java.io.InputStream;
 import java.util.Map;
 
 /**
@@ -40,6 +42,17 @@ public class ItemClient extends BaseClient {
         return post(API_PREFIX, ownerId, request);
     }
 
+    /**
+     * Передает серверу поток NDJSON для массового импорта вещей.
+     *
+     * @param ownerId идентификатор владельца
+     * @param ndjson  поток строк JSON, по одной вещи на строку
+     * @return ответ сервера с итогами импорта
+     */
+    public ResponseEntity<Object> importItems(Long ownerId, InputStream ndjson) {
+        return postStream(API_PREFIX + "/import", ownerId, MediaType.parseMediaType("application/x-ndjson"), ndjson);
+    }
+
     /**
      * Обновляет существующую вещь на сервере.
      *
@@ -65,12 +78,13 @@ public class ItemClient extends BaseClient {
 
     /**
      * Находит вещь по идентификатору на сервере.
+     * Ответ кэшируется в gateway.
      *
      * @param itemId идентификатор вещи
      * @return ответ сервера с найденной вещью
      */
     public ResponseEntity<Object> findById(Long itemId) {
-        return get(API_PREFIX + "/" + itemId, null);
+        return cachedGet(API_PREFIX + "/" + itemId, null, null);
     }
 
     /**
@@ -91,6 +105,7 @@ public class ItemClient extends BaseClient {
 
     /**
      * Ищет доступные вещи по тексту на сервере.
+     * Ответ кэшируется в gateway.
      *
      * @param text текст для поиска в названии и описании
      * @param from начальный индекс для пагинации
@@ -103,7 +118,7 @@ public class ItemClient extends BaseClient {
                 "from", from,
                 "size", size
         );
-        return get(API_PREFIX + "/search?text={text}&from={from}&size={size}", null, parameters);
+        return cachedGet(API_PREFIX + "/search?text={text}&from={from}&size={size}", null, parameters);
     }
 
     /**
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.item.controller;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
@@ -12,6 +13,7 @@ import ru.practicum.shareit.item.dto.CommentCreateRequestDto;
 import ru.practicum.shareit.item.dto.ItemCreateRequestDto;
 import ru.practicum.shareit.item.dto.ItemUpdateRequestDto;
 
+import java.io.IOException;
 import java.util.Collections;
 
 /**
@@ -40,6 +42,21 @@ public class ItemController {
         return itemClient.create(ownerId, itemCreateRequestDto);
     }
 
+    /**
+     * Импортирует вещи владельца из потока NDJSON: одна вещь на строку.
+     * Тело передается серверу потоком без разбора, строки проверяются на сервере.
+     *
+     * @param ownerId идентификатор владельца вещей
+     * @param request HTTP запрос с телом NDJSON
+     * @return итоги импорта
+     * @throws IOException если не удалось прочитать тело запроса
+     */
+    @PostMapping(path = "/import", consumes = "application/x-ndjson")
+    public ResponseEntity<Object> importItems(@RequestHeader("X-Sharer-User-Id") Long ownerId,
+                                              HttpServletRequest request) throws IOException {
+        return itemClient.importItems(ownerId, request.getInputStream());
+    }
+
     /**
      * Обновляет существующую вещь.
      *
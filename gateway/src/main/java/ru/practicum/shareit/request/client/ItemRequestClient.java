@@ -50,13 +50,14 @@ public class ItemRequestClient extends BaseClient {
 
     /**
      * Получает все запросы других пользователей на сервере с пагинацией.
+     * Ответ кэшируется в gateway.
      *
      * @param userId     идентификатор пользователя
      * @param parameters параметры пагинации
      * @return ответ сервера со списком запросов других пользователей
      */
     public ResponseEntity<Object> getAllRequests(Long userId, Map<String, Object> parameters) {
-        return get(API_PREFIX + "/all?from={from}&size={size}", userId, parameters);
+        return cachedGet(API_PREFIX + "/all?from={from}&size={size}", userId, parameters);
     }
 
     /**
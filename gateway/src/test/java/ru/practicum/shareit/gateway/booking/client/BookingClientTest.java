@@ -10,9 +10,11 @@ import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.client.RestTemplate;
 import ru.practicum.shareit.booking.client.BookingClient;
+import ru.practicum.shareit.booking.dto.BookingBatchStatusRequestDto;
 import ru.practicum.shareit.booking.dto.BookingCreateRequestDto;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -48,8 +50,8 @@ class BookingClientTest {
                 anyString(),
                 eq(HttpMethod.POST),
                 any(),
-                eq(Object.class)
-        )).thenReturn(ResponseEntity.ok(new Object()));
+                eq(byte[].class)
+        )).thenReturn(ResponseEntity.ok(new byte[0]));
 
         Object response = bookingClient.create(userId, bookingCreateRequestDto);
 
@@ -60,22 +62,47 @@ class BookingClientTest {
                 urlCaptor.capture(),
                 eq(HttpMethod.POST),
                 any(),
-                eq(Object.class)
+                eq(byte[].class)
         );
 
         String actualUrl = urlCaptor.getValue();
         assertTrue(actualUrl.contains("/bookings"));
     }
 
+    @Test
+    void updateStatuses_ShouldCallPatchMethodOnBatchEndpoint() {
+        when(restTemplate.exchange(
+                anyString(),
+                eq(HttpMethod.PATCH),
+                any(),
+                eq(byte[].class)
+        )).thenReturn(ResponseEntity.ok(new byte[0]));
+
+        Object response = bookingClient.updateStatuses(userId,
+                new BookingBatchStatusRequestDto(List.of(1L, 2L), true));
+
+        assertNotNull(response);
+
+        ArgumentCaptor<String> urlCaptor = ArgumentCaptor.forClass(String.class);
+        verify(restTemplate).exchange(
+                urlCaptor.capture(),
+                eq(HttpMethod.PATCH),
+                any(),
+                eq(byte[].class)
+        );
+
+        assertTrue(urlCaptor.getValue().endsWith("/bookings/batch"));
+    }
+
     @Test
     void updateStatus_ShouldCallPatchMethod() {
         when(restTemplate.exchange(
                 anyString(),
                 eq(HttpMethod.PATCH),
                 any(),
-                eq(Object.class),
+                eq(byte[].class),
                 anyMap()
-        )).thenReturn(ResponseEntity.ok(new Object()));
+        )).thenReturn(ResponseEntity.ok(new byte[0]));
 
         Object response = bookingClient.updateStatus(userId, bookingId, true);
 
@@ -86,7 +113,7 @@ class BookingClientTest {
                 urlCaptor.capture(),
                 eq(HttpMethod.PATCH),
                 any(),
-                eq(Object.class),
+                eq(byte[].class),
                 eq(Map.of("approved", true))
         );
 
@@ -101,8 +128,8 @@ class BookingClientTest {
                 anyString(),
                 eq(HttpMethod.GET),
                 any(),
-                eq(Object.class)
-        )).thenReturn(ResponseEntity.ok(new Object()));
+                eq(byte[].class)
+        )).thenReturn(ResponseEntity.ok(new byte[0]));
 
         Object response = bookingClient.findById(userId, bookingId);
 
@@ -113,7 +140,7 @@ class BookingClientTest {
                 urlCaptor.capture(),
                 eq(HttpMethod.GET),
                 any(),
-                eq(Object.class)
+                eq(byte[].class)
         );
 
         String actualUrl = urlCaptor.getValue();
@@ -126,11 +153,11 @@ class BookingClientTest {
                 anyString(),
                 eq(HttpMethod.GET),
                 any(),
-                eq(Object.class),
+                eq(byte[].class),
                 anyMap()
-        )).thenReturn(ResponseEntity.ok(new Object()));
+        )).thenReturn(ResponseEntity.ok(new byte[0]));
 
-        Object response = bookingClient.findByBookerId(userId, "ALL", 0, 10);
+        Object response = bookingClient.findByBookerId(userId, "ALL", 0, 10, null);
 
         assertNotNull(response);
 
@@ -139,7 +166,7 @@ class BookingClientTest {
                 urlCaptor.capture(),
                 eq(HttpMethod.GET),
                 any(),
-                eq(Object.class),
+                eq(byte[].class),
                 eq(Map.of("state", "ALL", "from", 0, "size", 10))
         );
 
@@ -156,11 +183,11 @@ class BookingClientTest {
                 anyString(),
                 eq(HttpMethod.GET),
                 any(),
-                eq(Object.class),
+                eq(byte[].class),
                 anyMap()
-        )).thenReturn(ResponseEntity.ok(new Object()));
+        )).thenReturn(ResponseEntity.ok(new byte[0]));
 
-        Object response = bookingClient.findByOwnerId(userId, "ALL", 0, 10);
+        Object response = bookingClient.findByOwnerId(userId, "ALL", 0, 10, null);
 
         assertNotNull(response);
 
@@ -169,7 +196,7 @@ class BookingClientTest {
                 urlCaptor.capture(),
                 eq(HttpMethod.GET),
                 any(),
-                eq(Object.class),
+                eq(byte[].class),
                 eq(Map.of("state", "ALL", "from", 0, "size", 10))
         );
 
@@ -179,4 +206,28 @@ class BookingClientTest {
         assertTrue(actualUrl.contains("from={from}"));
         assertTrue(actualUrl.contains("size={size}"));
     }
+
+    @Test
+    void findByBookerId_WithCursor_ShouldForwardCursor() {
+        when(restTemplate.exchange(
+                anyString(),
+                eq(HttpMethod.GET),
+                any(),
+                eq(byte[].class),
+                anyMap()
+        )).thenReturn(ResponseEntity.ok(new byte[0]));
+
+        bookingClient.findByBookerId(userId, "ALL", 0, 10, "abc");
+
+        ArgumentCaptor<String> urlCaptor = ArgumentCaptor.forClass(String.class);
+        verify(restTemplate).exchange(
+                urlCaptor.capture(),
+                eq(HttpMethod.GET),
+                any(),
+                eq(byte[].class),
+                eq(Map.of("state", "ALL", "from", 0, "size", 10, "cursor", "abc"))
+        );
+
+        assertTrue(urlCaptor.getValue().contains("cursor={cursor}"));
+    }
 }
\ No newline at end of file
@@ -10,9 +10,11 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.booking.client.BookingClient;
 import ru.practicum.shareit.booking.controller.BookingController;
+import ru.practicum.shareit.booking.dto.BookingBatchStatusRequestDto;
 import ru.practicum.shareit.booking.dto.BookingCreateRequestDto;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.when;
@@ -83,6 +85,29 @@ class BookingControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void updateStatuses_WithValidData_ShouldReturnOk() throws Exception {
+        when(bookingClient.updateStatuses(anyLong(), any(BookingBatchStatusRequestDto.class)))
+                .thenReturn(ResponseEntity.ok().build());
+
+        mockMvc.perform(patch("/bookings/batch")
+                        .header("X-Sharer-User-Id", 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new BookingBatchStatusRequestDto(List.of(1L, 2L), true))))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void updateStatuses_WithEmptyBookingIds_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(patch("/bookings/batch")
+                        .header("X-Sharer-User-Id", 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new BookingBatchStatusRequestDto(List.of(), true))))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void findById_ShouldReturnOk() throws Exception {
         when(bookingClient.findById(anyLong(), anyLong()))
@@ -95,7 +120,7 @@ class BookingControllerTest {
 
     @Test
     void findByBookerId_WithDefaultParameters_ShouldReturnOk() throws Exception {
-        when(bookingClient.findByBookerId(anyLong(), anyString(), anyInt(), anyInt()))
+        when(bookingClient.findByBookerId(anyLong(), anyString(), anyInt(), anyInt(), any()))
                 .thenReturn(ResponseEntity.ok().build());
 
         mockMvc.perform(get("/bookings")
@@ -105,7 +130,7 @@ class BookingControllerTest {
 
     @Test
     void findByBookerId_WithCustomParameters_ShouldReturnOk() throws Exception {
-        when(bookingClient.findByBookerId(anyLong(), anyString(), anyInt(), anyInt()))
+        when(bookingClient.findByBookerId(anyLong(), anyString(), anyInt(), anyInt(), any()))
                 .thenReturn(ResponseEntity.ok().build());
 
         mockMvc.perform(get("/bookings")
@@ -118,7 +143,7 @@ class BookingControllerTest {
 
     @Test
     void findByOwnerId_WithDefaultParameters_ShouldReturnOk() throws Exception {
-        when(bookingClient.findByOwnerId(anyLong(), anyString(), anyInt(), anyInt()))
+        when(bookingClient.findByOwnerId(anyLong(), anyString(), anyInt(), anyInt(), any()))
                 .thenReturn(ResponseEntity.ok().build());
 
         mockMvc.perform(get("/bookings/owner")
@@ -128,7 +153,7 @@ class BookingControllerTest {
 
     @Test
     void findByOwnerId_WithCustomParameters_ShouldReturnOk() throws Exception {
-        when(bookingClient.findByOwnerId(anyLong(), anyString(), anyInt(), anyInt()))
+        when(bookingClient.findByOwnerId(anyLong(), anyString(), anyInt(), anyInt(), any()))
                 .thenReturn(ResponseEntity.ok().build());
 
         mockMvc.perform(get("/bookings/owner")
@@ -0,0 +1,365 @@
+package ru.practicum.shareit.gateway.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.mock.web.DelegatingServletOutputStream;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import ru.practicum.shareit.booking.client.BookingClient;
+import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.GatewayResponseCache;
+import ru.practicum.shareit.config.GatewayConfig;
+import ru.practicum.shareit.config.ShareItServerProperties;
+import ru.practicum.shareit.item.client.ItemClient;
+import ru.practicum.shareit.item.controller.ItemController;
+
+import jakarta.servlet.ServletOutputStream;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Field;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Проверка передачи ответов сервера через gateway без разбора JSON.
+ * Вне обработки запроса gateway клиент возвращает тело ответа байтами, внутри нее копирует ответ
+ * в ответ gateway потоком.
+ * Замер на большом списке вещей запускается только явно:
+ * mvn test -pl gateway -am -Dshareit.benchmark=true -Dtest=BaseClientPassThroughTest.
+ * Размер списка задается свойством shareit.benchmark.item-count.
+ */
+class BaseClientPassThroughTest {
+
+    private static final String ERROR_BODY = "{\"error\":\"Вещь с id 1 не найдена\"}";
+    private static final String FIRST_BOOKING = "{\"id\":2}\n";
+    private static final String SECOND_BOOKING = "{\"id\":1}\n";
+
+    private HttpServer stubServer;
+    private byte[] itemsBody;
+    private String serverUrl;
+    private final CountDownLatch firstBookingForwarded = new CountDownLatch(1);
+    private volatile boolean forwardedBeforeServerFinished;
+
+    @BeforeEach
+    void startStubServer() throws IOException {
+        itemsBody = itemsJson(Integer.getInteger("shareit.benchmark.item-count", 100));
+
+        stubServer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        stubServer.createContext("/items", exchange -> {
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.getResponseHeaders().add("X-Next-Cursor", "next");
+            exchange.sendResponseHeaders(200, itemsBody.length);
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                outputStream.write(itemsBody);
+            }
+        });
+        stubServer.createContext("/items/1", exchange -> {
+            byte[] body = ERROR_BODY.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(404, body.length);
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                outputStream.write(body);
+            }
+        });
+        stubServer.createContext("/bookings/export", exchange -> {
+            if ("99".equals(exchange.getRequestHeaders().getFirst("X-Sharer-User-Id"))) {
+                byte[] body = ERROR_BODY.getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(404, body.length);
+                try (OutputStream outputStream = exchange.getResponseBody()) {
+                    outputStream.write(body);
+                }
+                return;
+            }
+            sendBookingsInTwoParts(exchange, "application/x-ndjson");
+        });
+        stubServer.createContext("/bookings/owner", exchange -> sendBookingsInTwoParts(exchange, "application/json"));
+        stubServer.start();
+        serverUrl = "http://localhost:" + stubServer.getAddress().getPort();
+    }
+
+    @AfterEach
+    void stopStubServer() {
+        stubServer.stop(0);
+    }
+
+    @Test
+    void findByOwnerId_ShouldPassServerBodyAndHeadersThrough() throws Exception {
+        ResponseEntity<Object> response = itemClient().findByOwnerId(1L, 0, 10);
+
+        assertEquals(200, response.getStatusCode().value());
+        assertArrayEquals(itemsBody, (byte[]) response.getBody());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertEquals("next", response.getHeaders().getFirst("X-Next-Cursor"));
+        assertFalse(response.getHeaders().containsKey(HttpHeaders.TRANSFER_ENCODING));
+    }
+
+    @Test
+    void findById_ShouldKeepErrorStatusAndContentType() throws Exception {
+        ResponseEntity<Object> response = itemClient().findById(1L);
+
+        assertEquals(404, response.getStatusCode().value());
+        assertArrayEquals(ERROR_BODY.getBytes(StandardCharsets.UTF_8), (byte[]) response.getBody());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+    }
+
+    @Test
+    void exportByBookerId_ShouldForwardRowsBeforeServerFinishes() throws Exception {
+        ByteArrayOutputStream forwarded = new ByteArrayOutputStream();
+        MockHttpServletResponse response = forwardingResponse(forwarded);
+
+        client(BookingClient::new).exportByBookerId(1L, response);
+
+        assertTrue(forwardedBeforeServerFinished, "Первая строка должна дойти до клиента до конца ответа сервера");
+        assertEquals(200, response.getStatus());
+        assertEquals("application/x-ndjson", response.getContentType());
+        assertEquals(FIRST_BOOKING + SECOND_BOOKING, forwarded.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void exportByBookerId_ShouldKeepErrorStatusAndBody() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        client(BookingClient::new).exportByBookerId(99L, response);
+
+        assertEquals(404, response.getStatus());
+        assertEquals(MediaType.APPLICATION_JSON_VALUE, response.getContentType());
+        assertEquals(ERROR_BODY, response.getContentAsString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void findByOwnerId_InsideGatewayRequest_ShouldStreamServerResponseToServletResponse() throws Exception {
+        MockHttpServletResponse servletResponse = bindGatewayRequest();
+        try {
+            ResponseEntity<Object> response = itemClient().findByOwnerId(1L, 0, 10);
+
+            assertNull(response);
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+        assertEquals(200, servletResponse.getStatus());
+        assertArrayEquals(itemsBody, servletResponse.getContentAsByteArray());
+        assertEquals(MediaType.APPLICATION_JSON_VALUE, servletResponse.getContentType());
+        assertEquals("next", servletResponse.getHeader("X-Next-Cursor"));
+        assertFalse(servletResponse.containsHeader(HttpHeaders.TRANSFER_ENCODING));
+    }
+
+    @Test
+    void getUsersItems_ThroughController_ShouldWriteOnlyServerResponse() throws Exception {
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new ItemController(itemClient())).build();
+
+        mockMvc.perform(get("/items").header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(header().string("X-Next-Cursor", "next"))
+                .andExpect(content().bytes(itemsBody));
+    }
+
+    @Test
+    void findByOwnerId_InsideGatewayRequest_ShouldForwardBodyBeforeServerFinishes() throws Exception {
+        ByteArrayOutputStream forwarded = new ByteArrayOutputStream();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest(),
+                forwardingResponse(forwarded)));
+        try {
+            assertNull(client(BookingClient::new).findByOwnerId(1L, "ALL", 0, 10, null));
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+
+        assertTrue(forwardedBeforeServerFinished, "Первая строка должна дойти до клиента до конца ответа сервера");
+        assertEquals(FIRST_BOOKING + SECOND_BOOKING, forwarded.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void findById_InsideGatewayRequest_ShouldStreamErrorStatusAndBody() throws Exception {
+        MockHttpServletResponse servletResponse = bindGatewayRequest();
+        try {
+            assertNull(itemClient().findById(1L));
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+
+        assertEquals(404, servletResponse.getStatus());
+        assertEquals(MediaType.APPLICATION_JSON_VALUE, servletResponse.getContentType());
+        assertEquals(ERROR_BODY, servletResponse.getContentAsString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void findById_InsideGatewayRequestWithCache_ShouldReturnBytesForCache() throws Exception {
+        ItemClient itemClient = itemClient();
+        itemClient.setResponseCache(new GatewayResponseCache(10, Duration.ofMinutes(1), new SimpleMeterRegistry()));
+        MockHttpServletResponse servletResponse = bindGatewayRequest();
+        ResponseEntity<Object> response;
+        try {
+            response = itemClient.findById(1L);
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+
+        assertEquals(404, response.getStatusCode().value());
+        assertArrayEquals(ERROR_BODY.getBytes(StandardCharsets.UTF_8), (byte[]) response.getBody());
+        assertEquals(0, servletResponse.getContentAsByteArray().length);
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "shareit.benchmark", matches = "true")
+    void findByOwnerId_passThroughVersusDeserialization() throws Exception {
+        int iterations = Integer.getInteger("shareit.benchmark.iterations", 50);
+        ItemClient itemClient = itemClient();
+        RestTemplate rest = pooledRestTemplate();
+        ObjectMapper objectMapper = new ObjectMapper();
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Sharer-User-Id", "1");
+
+        Measurement deserialized = measure(iterations, () -> {
+            ResponseEntity<Object> response = rest.exchange(serverUrl + "/items", HttpMethod.GET,
+                    new HttpEntity<>(headers), Object.class);
+            return objectMapper.writeValueAsBytes(response.getBody()).length;
+        });
+        Measurement passedThrough = measure(iterations, () ->
+                ((byte[]) itemClient.findByOwnerId(1L, 0, 10).getBody()).length);
+
+        System.out.printf("bytes=%d deserialize: p50=%.2fms alloc=%dKB; pass-through: p50=%.2fms alloc=%dKB%n",
+                itemsBody.length, deserialized.p50Millis(), deserialized.allocatedBytes() / 1024,
+                passedThrough.p50Millis(), passedThrough.allocatedBytes() / 1024);
+        assertTrue(passedThrough.allocatedBytes() < deserialized.allocatedBytes(),
+                "Передача байтов без разбора JSON должна выделять меньше памяти");
+    }
+
+    private void sendBookingsInTwoParts(HttpExchange exchange, String contentType) throws IOException {
+        exchange.getResponseHeaders().add("Content-Type", contentType);
+        exchange.sendResponseHeaders(200, 0);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(FIRST_BOOKING.getBytes(StandardCharsets.UTF_8));
+            outputStream.flush();
+            try {
+                forwardedBeforeServerFinished = firstBookingForwarded.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            outputStream.write(SECOND_BOOKING.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Создает ответ gateway, который отмечает получение первого байта тела.
+     */
+    private MockHttpServletResponse forwardingResponse(ByteArrayOutputStream forwarded) {
+        return new MockHttpServletResponse() {
+            @Override
+            public ServletOutputStream getOutputStream() {
+                return new DelegatingServletOutputStream(new FilterOutputStream(forwarded) {
+                    @Override
+                    public void write(int b) {
+                        forwarded.write(b);
+                        firstBookingForwarded.countDown();
+                    }
+                });
+            }
+        };
+    }
+
+    /**
+     * Привязывает к текущему потоку запрос gateway, как это делает Spring MVC при обработке запроса.
+     */
+    private static MockHttpServletResponse bindGatewayRequest() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest(), response));
+        return response;
+    }
+
+    private ItemClient itemClient() throws ReflectiveOperationException {
+        return client(ItemClient::new);
+    }
+
+    private <T extends BaseClient> T client(Function<RestTemplate, T> factory) throws ReflectiveOperationException {
+        T client = factory.apply(pooledRestTemplate());
+        Field serverUrlField = BaseClient.class.getDeclaredField("serverUrl");
+        serverUrlField.setAccessible(true);
+        serverUrlField.set(client, serverUrl);
+        return client;
+    }
+
+    private static Measurement measure(int iterations, ProxyCall call) throws Exception {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+        for (int i = 0; i < iterations; i++) {
+            call.run();
+        }
+
+        long[] timings = new long[iterations];
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < iterations; i++) {
+            long started = System.nanoTime();
+            call.run();
+            timings[i] = System.nanoTime() - started;
+        }
+        long allocated = (threads.getThreadAllocatedBytes(threadId) - allocatedBefore) / iterations;
+        Arrays.sort(timings);
+        return new Measurement(timings[iterations / 2] / 1e6, allocated);
+    }
+
+    private static byte[] itemsJson(int count) {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 1; i <= count; i++) {
+            if (i > 1) {
+                json.append(',');
+            }
+            json.append("{\"id\":").append(i)
+                    .append(",\"name\":\"Item ").append(i)
+                    .append("\",\"description\":\"Description of item ").append(i)
+                    .append("\",\"available\":true,\"owner\":{\"id\":1,\"name\":\"Owner\",\"email\":\"owner@mail.ru\"}")
+                    .append(",\"lastBooking\":null,\"nextBooking\":null,\"comments\":[],\"requestId\":null}");
+        }
+        return json.append(']').toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @FunctionalInterface
+    private interface ProxyCall {
+        int run() throws Exception;
+    }
+
+    private record Measurement(double p50Millis, long allocatedBytes) {
+    }
+
+    private static RestTemplate pooledRestTemplate() {
+        GatewayConfig config = new GatewayConfig();
+        ShareItServerProperties properties = new ShareItServerProperties();
+        return config.restTemplate(config.pooledRequestFactory(config.serverConnectionManager(properties), properties));
+    }
+}
\ No newline at end of file
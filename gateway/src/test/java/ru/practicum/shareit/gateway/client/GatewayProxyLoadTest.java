@@ -0,0 +1,95 @@
+package ru.practicum.shareit.gateway.client;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestTemplate;
+import ru.practicum.shareit.config.GatewayConfig;
+import ru.practicum.shareit.config.ShareItServerProperties;
+import ru.practicum.shareit.item.client.ItemClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Нагрузочная проверка проксирования запросов к медленному серверу.
+ * Запросы выполняются на виртуальных потоках, как в gateway со spring.threads.virtual.enabled,
+ * поэтому пропускная способность должна ограничиваться только пулом соединений RestTemplate.
+ * Проверка зависит от времени выполнения, поэтому запускается только с -Dshareit.benchmark=true.
+ */
+@EnabledIfSystemProperty(named = "shareit.benchmark", matches = "true")
+class GatewayProxyLoadTest {
+
+    private static final int CONCURRENT_REQUESTS = 200;
+    private static final Duration SERVER_DELAY = Duration.ofMillis(200);
+
+    private HttpServer stubServer;
+
+    @BeforeEach
+    void startStubServer() throws IOException {
+        stubServer = HttpServer.create(new InetSocketAddress("localhost", 0), CONCURRENT_REQUESTS);
+        stubServer.createContext("/", exchange -> {
+            try {
+                Thread.sleep(SERVER_DELAY);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = "[]".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                outputStream.write(body);
+            }
+        });
+        stubServer.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        stubServer.start();
+    }
+
+    @AfterEach
+    void stopStubServer() {
+        stubServer.stop(0);
+    }
+
+    @Test
+    void proxiedCalls_ShouldRunConcurrentlyAgainstSlowServer() throws Exception {
+        ShareItServerProperties properties = new ShareItServerProperties();
+        properties.setUrl("http://localhost:" + stubServer.getAddress().getPort());
+        ItemClient itemClient = new ItemClient(pooledRestTemplate(properties));
+        itemClient.setServerProperties(properties);
+
+        long started = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<ResponseEntity<Object>>> responses = IntStream.range(0, CONCURRENT_REQUESTS)
+                    .mapToObj(i -> executor.submit(() -> itemClient.findByOwnerId(1L, 0, 10)))
+                    .toList();
+            for (Future<ResponseEntity<Object>> response : responses) {
+                assertEquals(200, response.get().getStatusCode().value());
+            }
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+
+        assertTrue(elapsed.compareTo(SERVER_DELAY.multipliedBy(CONCURRENT_REQUESTS / 10)) < 0,
+                () -> "Запросы к серверу должны выполняться параллельно, а не ограничиваться пулом потоков "
+                        + "или соединений: " + CONCURRENT_REQUESTS + " запросов выполнены за " + elapsed.toMillis()
+                        + " мс");
+    }
+
+    private static RestTemplate pooledRestTemplate(ShareItServerProperties properties) {
+        GatewayConfig config = new GatewayConfig();
+        return config.restTemplate(config.pooledRequestFactory(config.serverConnectionManager(properties), properties));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,177 @@
+package ru.practicum.shareit.gateway.client;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestTemplate;
+import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.GatewayResponseCache;
+import ru.practicum.shareit.config.GatewayConfig;
+import ru.practicum.shareit.config.ShareItServerProperties;
+import ru.practicum.shareit.item.client.ItemClient;
+import ru.practicum.shareit.item.dto.ItemUpdateRequestDto;
+import ru.practicum.shareit.request.client.ItemRequestClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class GatewayResponseCacheTest {
+
+    private final List<String> serverRequests = new CopyOnWriteArrayList<>();
+    private final AtomicInteger itemVersion = new AtomicInteger(1);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private HttpServer stubServer;
+    private ItemClient itemClient;
+    private ItemRequestClient itemRequestClient;
+
+    @BeforeEach
+    void startStubServer() throws IOException {
+        stubServer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        stubServer.createContext("/items", exchange -> {
+            String eTag = "\"" + itemVersion.get() + "\"";
+            serverRequests.add(exchange.getRequestMethod() + " " + exchange.getRequestURI()
+                    + " " + exchange.getRequestHeaders().getFirst("If-None-Match"));
+            if ("PATCH".equals(exchange.getRequestMethod())) {
+                itemVersion.incrementAndGet();
+                respond(exchange, 200, null, "{}");
+            } else if (eTag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                exchange.getResponseHeaders().add("ETag", eTag);
+                exchange.sendResponseHeaders(304, -1);
+                exchange.close();
+            } else {
+                respond(exchange, 200, eTag, "{\"id\":1,\"version\":" + itemVersion.get() + "}");
+            }
+        });
+        stubServer.createContext("/requests", exchange -> {
+            serverRequests.add(exchange.getRequestMethod() + " " + exchange.getRequestURI());
+            respond(exchange, 200, null, "[{\"requestor\":" + exchange.getRequestHeaders().getFirst("X-Sharer-User-Id") + "}]");
+        });
+        stubServer.start();
+    }
+
+    @AfterEach
+    void stopStubServer() {
+        stubServer.stop(0);
+    }
+
+    @Test
+    void findById_ShouldServeRepeatedReadsFromCache() throws Exception {
+        createClients(new GatewayResponseCache(100, Duration.ofMinutes(1), meterRegistry));
+
+        ResponseEntity<Object> first = itemClient.findById(1L);
+        ResponseEntity<Object> second = itemClient.findById(1L);
+
+        assertEquals(1, serverRequests.size());
+        assertArrayEquals((byte[]) first.getBody(), (byte[]) second.getBody());
+        assertEquals("\"1\"", second.getHeaders().getETag());
+        assertEquals(1, requests("hit"));
+        assertEquals(1, requests("miss"));
+    }
+
+    @Test
+    void update_ShouldInvalidateCachedItemsAndRequests() throws Exception {
+        createClients(new GatewayResponseCache(100, Duration.ofMinutes(1), meterRegistry));
+        itemClient.findById(1L);
+        itemRequestClient.getAllRequests(1L, Map.of("from", 0, "size", 10));
+
+        itemClient.update(1L, 1L, new ItemUpdateRequestDto("Name", null, null));
+        ResponseEntity<Object> item = itemClient.findById(1L);
+        itemRequestClient.getAllRequests(1L, Map.of("from", 0, "size", 10));
+
+        assertEquals("{\"id\":1,\"version\":2}", new String((byte[]) item.getBody(), StandardCharsets.UTF_8));
+        assertEquals(5, serverRequests.size());
+        assertEquals(0, requests("hit"));
+    }
+
+    @Test
+    void findById_ShouldRevalidateExpiredResponseWithEtag() throws Exception {
+        createClients(new GatewayResponseCache(100, Duration.ofMillis(50), meterRegistry));
+        ResponseEntity<Object> first = itemClient.findById(1L);
+
+        Thread.sleep(100);
+        ResponseEntity<Object> second = itemClient.findById(1L);
+
+        assertEquals("GET /items/1 \"1\"", serverRequests.get(1));
+        assertEquals(200, second.getStatusCode().value());
+        assertArrayEquals((byte[]) first.getBody(), (byte[]) second.getBody());
+        assertEquals(1, requests("revalidated"));
+    }
+
+    @Test
+    void getAllRequests_ShouldKeyResponsesOnUserAndQuery() throws Exception {
+        createClients(new GatewayResponseCache(100, Duration.ofMinutes(1), meterRegistry));
+
+        itemRequestClient.getAllRequests(1L, Map.of("from", 0, "size", 10));
+        itemRequestClient.getAllRequests(2L, Map.of("from", 0, "size", 10));
+        itemRequestClient.getAllRequests(1L, Map.of("from", 10, "size", 10));
+        ResponseEntity<Object> cached = itemRequestClient.getAllRequests(2L, Map.of("from", 0, "size", 10));
+
+        assertEquals(3, serverRequests.size());
+        assertEquals("[{\"requestor\":2}]", new String((byte[]) cached.getBody(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void getOrLoad_ShouldEvictLeastRecentlyUsedResponses() throws Exception {
+        GatewayResponseCache cache = new GatewayResponseCache(2, Duration.ofMinutes(1), meterRegistry);
+        createClients(cache);
+
+        itemClient.findById(1L);
+        itemClient.findById(2L);
+        itemClient.findById(1L);
+        itemClient.findById(3L);
+        itemClient.findById(1L);
+
+        assertEquals(2, cache.size());
+        assertEquals(3, serverRequests.size());
+        assertEquals(2.0, meterRegistry.get("shareit.gateway.cache.size").gauge().value());
+    }
+
+    private void createClients(GatewayResponseCache cache) {
+        RestTemplate rest = pooledRestTemplate();
+        itemClient = new ItemClient(rest);
+        itemRequestClient = new ItemRequestClient(rest);
+        ShareItServerProperties serverProperties = new ShareItServerProperties();
+        serverProperties.setUrl("http://localhost:" + stubServer.getAddress().getPort());
+        for (BaseClient client : List.of(itemClient, itemRequestClient)) {
+            client.setServerProperties(serverProperties);
+            client.setResponseCache(cache);
+        }
+    }
+
+    private double requests(String result) {
+        return meterRegistry.get("shareit.gateway.cache.requests").tag("result", result).counter().count();
+    }
+
+    private static void respond(HttpExchange exchange, int status, String eTag, String json) throws IOException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        if (eTag != null) {
+            exchange.getResponseHeaders().add("ETag", eTag);
+        }
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(body);
+        }
+    }
+
+    private static RestTemplate pooledRestTemplate() {
+        GatewayConfig config = new GatewayConfig();
+        ShareItServerProperties properties = new ShareItServerProperties();
+        return config.restTemplate(config.pooledRequestFactory(config.serverConnectionManager(properties), properties));
+    }
+}
\ No newline at end of file
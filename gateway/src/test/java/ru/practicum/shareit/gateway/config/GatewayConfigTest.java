@@ -0,0 +1,120 @@
+package ru.practicum.shareit.gateway.config;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.core5.http.ConnectionRequestTimeoutException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+import ru.practicum.shareit.config.GatewayConfig;
+import ru.practicum.shareit.config.ShareItServerProperties;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class GatewayConfigTest {
+
+    private final GatewayConfig config = new GatewayConfig();
+    private final ShareItServerProperties properties = new ShareItServerProperties();
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private HttpServer stubServer;
+    private String serverUrl;
+
+    @BeforeEach
+    void startStubServer() throws IOException {
+        stubServer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        stubServer.createContext("/slow", exchange -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            respond(exchange, "[]");
+        });
+        stubServer.createContext("/users", exchange -> respond(exchange, "{\"method\":\"" + exchange.getRequestMethod() + "\"}"));
+        stubServer.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        stubServer.start();
+        serverUrl = "http://localhost:" + stubServer.getAddress().getPort();
+    }
+
+    @AfterEach
+    void stopStubServer() {
+        release.countDown();
+        stubServer.stop(0);
+    }
+
+    @Test
+    void pooledRequestFactory_ShouldFailFastWhenPoolIsExhausted() throws Exception {
+        properties.setMaxConnections(1);
+        properties.setMaxConnectionsPerRoute(1);
+        properties.setConnectionRequestTimeout(Duration.ofMillis(100));
+        PoolingHttpClientConnectionManager connectionManager = config.serverConnectionManager(properties);
+        RestTemplate rest = config.restTemplate(config.pooledRequestFactory(connectionManager, properties));
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<String> slowCall = executor.submit(() -> rest.getForObject(serverUrl + "/slow", String.class));
+            while (connectionManager.getTotalStats().getLeased() == 0) {
+                Thread.sleep(10);
+            }
+
+            ResourceAccessException exception = assertThrows(ResourceAccessException.class,
+                    () -> rest.getForObject(serverUrl + "/slow", String.class));
+            assertInstanceOf(ConnectionRequestTimeoutException.class, exception.getCause());
+
+            release.countDown();
+            assertEquals("[]", slowCall.get());
+        }
+    }
+
+    @Test
+    void serverConnectionPoolMetrics_ShouldPublishPoolLimits() {
+        properties.setMaxConnections(42);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        config.serverConnectionPoolMetrics(config.serverConnectionManager(properties)).bindTo(registry);
+
+        assertEquals(42, registry.get("httpcomponents.httpclient.pool.total.max")
+                .tag("httpclient", "shareit-server")
+                .gauge().value());
+    }
+
+    @Test
+    void http2RequestFactory_ShouldSupportPatchAndFallBackToHttp11() {
+        properties.setHttp2(true);
+        RestTemplate rest = config.restTemplate(config.http2RequestFactory(properties));
+
+        ResponseEntity<String> response = rest.exchange(serverUrl + "/users", HttpMethod.PATCH,
+                new HttpEntity<>("{}"), String.class);
+
+        assertEquals("{\"method\":\"PATCH\"}", response.getBody());
+    }
+
+    private static void respond(HttpExchange exchange, String json) throws IOException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(body);
+        }
+    }
+}
\ No newline at end of file
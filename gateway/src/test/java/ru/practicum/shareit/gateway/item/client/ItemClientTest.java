@@ -5,9 +5,11 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.InputStreamResource;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.client.RestTemplate;
 import ru.practicum.shareit.client.BaseClient;
@@ -16,6 +18,8 @@ import ru.practicum.shareit.item.dto.CommentCreateRequestDto;
 import ru.practicum.shareit.item.dto.ItemCreateRequestDto;
 import ru.practicum.shareit.item.dto.ItemUpdateRequestDto;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.lang.reflect.Field;
 import java.util.Map;
 
@@ -45,13 +49,13 @@ class ItemClientTest {
     void create_ShouldCallPostWithCorrectParameters() {
         Long ownerId = 1L;
         ItemCreateRequestDto request = new ItemCreateRequestDto("Item", "Description", true, null);
-        ResponseEntity<Object> expectedResponse = ResponseEntity.ok(new Object());
+        ResponseEntity<byte[]> expectedResponse = ResponseEntity.ok(new byte[0]);
 
         when(restTemplate.exchange(
                 eq("http://localhost:9090/items"),
                 eq(HttpMethod.POST),
                 any(HttpEntity.class),
-                eq(Object.class)
+                eq(byte[].class)
         )).thenReturn(expectedResponse);
 
         Object response = itemClient.create(ownerId, request);
@@ -66,7 +70,36 @@ class ItemClientTest {
                             headers.getFirst("X-Sharer-User-Id").equals("1") &&
                             entity.getBody().equals(request);
                 }),
-                eq(Object.class)
+                eq(byte[].class)
+        );
+    }
+
+    @Test
+    void importItems_ShouldStreamNdjsonBodyToServer() {
+        Long ownerId = 1L;
+        InputStream ndjson = new ByteArrayInputStream("{\"name\":\"Item\"}\n".getBytes());
+        ResponseEntity<byte[]> expectedResponse = ResponseEntity.ok(new byte[0]);
+
+        when(restTemplate.exchange(
+                eq("http://localhost:9090/items/import"),
+                eq(HttpMethod.POST),
+                any(HttpEntity.class),
+                eq(byte[].class)
+        )).thenReturn(expectedResponse);
+
+        Object response = itemClient.importItems(ownerId, ndjson);
+
+        assertNotNull(response);
+        verify(restTemplate).exchange(
+                eq("http://localhost:9090/items/import"),
+                eq(HttpMethod.POST),
+                argThat(entity -> {
+                    HttpHeaders headers = entity.getHeaders();
+                    return "1".equals(headers.getFirst("X-Sharer-User-Id")) &&
+                            MediaType.parseMediaType("application/x-ndjson").equals(headers.getContentType()) &&
+                            entity.getBody() instanceof InputStreamResource;
+                }),
+                eq(byte[].class)
         );
     }
 
@@ -75,13 +108,13 @@ class ItemClientTest {
         Long itemId = 1L;
         Long ownerId = 1L;
         ItemUpdateRequestDto request = new ItemUpdateRequestDto("Updated", "New description", true);
-        ResponseEntity<Object> expectedResponse = ResponseEntity.ok(new Object());
+        ResponseEntity<byte[]> expectedResponse = ResponseEntity.ok(new byte[0]);
 
         when(restTemplate.exchange(
                 eq("http://localhost:9090/items/1"),
                 eq(HttpMethod.PATCH),
                 any(HttpEntity.class),
-                eq(Object.class)
+                eq(byte[].class)
         )).thenReturn(expectedResponse);
 
         Object response = itemClient.update(itemId, ownerId, request);
@@ -96,7 +129,7 @@ class ItemClientTest {
                             headers.getFirst("X-Sharer-User-Id").equals("1") &&
                             entity.getBody().equals(request);
                 }),
-                eq(Object.class)
+                eq(byte[].class)
         );
     }
 
@@ -104,13 +137,13 @@ class ItemClientTest {
     void delete_ShouldCallDeleteWithCorrectParameters() {
         Long itemId = 1L;
         Long ownerId = 1L;
-        ResponseEntity<Object> expectedResponse = ResponseEntity.ok(new Object());
+        ResponseEntity<byte[]> expectedResponse = ResponseEntity.ok(new byte[0]);
 
         when(restTemplate.exchange(
                 eq("http://localhost:9090/items/1"),
                 eq(HttpMethod.DELETE),
                 any(HttpEntity.class),
-                eq(Object.class)
+                eq(byte[].class)
         )).thenReturn(expectedResponse);
 
         Object response = itemClient.delete(itemId, ownerId);
@@ -124,20 +157,20 @@ class ItemClientTest {
                     return headers.containsKey("X-Sharer-User-Id") &&
                             headers.getFirst("X-Sharer-User-Id").equals("1");
                 }),
-                eq(Object.class)
+                eq(byte[].class)
         );
     }
 
     @Test
     void findById_ShouldCallGetWithCorrectParameters() {
         Long itemId = 1L;
-        ResponseEntity<Object> expectedResponse = ResponseEntity.ok(new Object());
+        ResponseEntity<byte[]> expectedResponse = ResponseEntity.ok(new byte[0]);
 
         when(restTemplate.exchange(
                 eq("http://localhost:9090/items/1"),
                 eq(HttpMethod.GET),
                 any(HttpEntity.class),
-                eq(Object.class)
+                eq(byte[].class)
         )).thenReturn(expectedResponse);
 
         Object response = itemClient.findById(itemId);
@@ -147,7 +180,7 @@ class ItemClientTest {
                 eq("http://localhost:9090/items/1"),
                 eq(HttpMethod.GET),
                 any(HttpEntity.class),
-                eq(Object.class)
+                eq(byte[].class)
         );
     }
 
@@ -156,13 +189,13 @@ class ItemClientTest {
         Long ownerId = 1L;
         Integer from = 0;
         Integer size = 10;
-        ResponseEntity<Object> expectedResponse = ResponseEntity.ok(new Object());
+        ResponseEntity<byte[]> expectedResponse = ResponseEntity.ok(new byte[0]);
 
         when(restTemplate.exchange(
                 eq("http://localhost:9090/items?from={from}&size={size}"),
                 eq(HttpMethod.GET),
                 any(HttpEntity.class),
-                eq(Object.class),
+                eq(byte[].class),
                 eq(Map.of("from", 0, "size", 10))
         )).thenReturn(expectedResponse);
 
@@ -177,7 +210,7 @@ class ItemClientTest {
                     return headers.containsKey("X-Sharer-User-Id") &&
                             headers.getFirst("X-Sharer-User-Id").equals("1");
                 }),
-                eq(Object.class),
+                eq(byte[].class),
                 eq(Map.of("from", 0, "size", 10))
         );
     }
@@ -187,13 +220,13 @@ class ItemClientTest {
         String text = "test";
         Integer from = 0;
         Integer size = 10;
-        ResponseEntity<Object> expectedResponse = ResponseEntity.ok(new Object());
+        ResponseEntity<byte[]> expectedResponse = ResponseEntity.ok(new byte[0]);
 
         when(restTemplate.exchange(
                 eq("http://localhost:9090/items/search?text={text}&from={from}&size={size}"),
                 eq(HttpMethod.GET),
                 any(HttpEntity.class),
-                eq(Object.class),
+                eq(byte[].class),
                 eq(Map.of("text", "test", "from", 0, "size", 10))
         )).thenReturn(expectedResponse);
 
@@ -204,7 +237,7 @@ class ItemClientTest {
                 eq("http://localhost:9090/items/search?text={text}&from={from}&size={size}"),
                 eq(HttpMethod.GET),
                 any(HttpEntity.class),
-                eq(Object.class),
+                eq(byte[].class),
                 eq(Map.of("text", "test", "from", 0, "size", 10))
         );
     }
@@ -214,13 +247,13 @@ class ItemClientTest {
         Long itemId = 1L;
         Long userId = 1L;
         CommentCreateRequestDto request = new CommentCreateRequestDto("Great item!");
-        ResponseEntity<Object> expectedResponse = ResponseEntity.ok(new Object());
+        ResponseEntity<byte[]> expectedResponse = ResponseEntity.ok(new byte[0]);
 
         when(restTemplate.exchange(
                 eq("http://localhost:9090/items/1/comment"),
                 eq(HttpMethod.POST),
                 any(HttpEntity.class),
-                eq(Object.class)
+                eq(byte[].class)
         )).thenReturn(expectedResponse);
 
         Object response = itemClient.addComment(itemId, userId, request);
@@ -235,7 +268,7 @@ class ItemClientTest {
                             headers.getFirst("X-Sharer-User-Id").equals("1") &&
                             entity.getBody().equals(request);
                 }),
-                eq(Object.class)
+                eq(byte[].class)
         );
     }
 }
\ No newline at end of file
@@ -1,12 +1,21 @@
 package ru.practicum.shareit.booking.controller;
 
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.booking.dto.BookingBatchStatusRequestDto;
+import ru.practicum.shareit.booking.dto.BookingBatchStatusResultDto;
 import ru.practicum.shareit.booking.dto.BookingCreateRequestDto;
+import ru.practicum.shareit.booking.dto.BookingCursor;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.service.BookingExportService;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.user.service.UserService;
 
+import java.io.IOException;
 import java.util.List;
 
 /**
@@ -19,7 +28,19 @@ import java.util.List;
 @RequestMapping(path = "/bookings")
 public class BookingController {
 
+    /**
+     * Заголовок ответа с курсором следующей страницы бронирований.
+     */
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    /**
+     * Тип содержимого выгрузки: JSON-документы, разделенные переводом строки.
+     */
+    static final String NDJSON = "application/x-ndjson";
+
     private final BookingService bookingService;
+    private final BookingExportService bookingExportService;
+    private final UserService userService;
 
     /**
      * Создает новое бронирование.
@@ -51,6 +72,20 @@ public class BookingController {
         return bookingService.updateStatus(userId, bookingId, approved);
     }
 
+    /**
+     * Подтверждает или отклоняет несколько бронирований одним запросом.
+     *
+     * @param userId  идентификатор владельца вещей
+     * @param request идентификаторы бронирований и флаг подтверждения
+     * @return результаты смены статуса по каждому бронированию
+     */
+    @PatchMapping("/batch")
+    public List<BookingBatchStatusResultDto> updateStatuses(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @RequestBody BookingBatchStatusRequestDto request) {
+        return bookingService.updateStatuses(userId, request);
+    }
+
     /**
      * Находит бронирование по идентификатору.
      *
@@ -67,37 +102,114 @@ public class BookingController {
 
     /**
      * Находит все бронирования пользователя с фильтрацией по статусу.
+     * Если передан курсор, страница начинается после указанного им бронирования, а from игнорируется.
+     * Для полной страницы курсор следующей страницы возвращается в заголовке X-Next-Cursor;
+     * для состояний, определяемых временем, курсор не поддерживается и не возвращается.
      *
      * @param bookerId идентификатор пользователя-арендатора
      * @param status   статус бронирования для фильтрации
      * @param from     начальный индекс для пагинации
      * @param size     количество элементов на странице
+     * @param state    состояние бронирования, имеет приоритет над статусом
+     * @param cursor   курсор из заголовка X-Next-Cursor предыдущей страницы
      * @return список бронирований пользователя
      */
     @GetMapping
-    public List<BookingResponseDto> findByBookerId(
+    public ResponseEntity<List<BookingResponseDto>> findByBookerId(
             @RequestHeader("X-Sharer-User-Id") Long bookerId,
             @RequestParam(defaultValue = "ALL") BookingStatus status,
             @RequestParam(defaultValue = "0") Integer from,
-            @RequestParam(defaultValue = "10") Integer size) {
-        return bookingService.findByBookerId(bookerId, status, from, size);
+            @RequestParam(defaultValue = "10") Integer size,
+            @RequestParam(required = false) BookingState state,
+            @RequestParam(required = false) String cursor) {
+        if (state != null && state.isTimeWindow()) {
+            requireNoCursor(cursor, state);
+            return ResponseEntity.ok(bookingService.findByBookerIdAndState(bookerId, state, from, size));
+        }
+        BookingStatus filter = state != null ? state.getStatus() : status;
+        List<BookingResponseDto> bookings = cursor == null
+                ? bookingService.findByBookerId(bookerId, filter, from, size)
+                : bookingService.findByBookerIdAfter(bookerId, filter, BookingCursor.decode(cursor), size);
+        return withNextCursor(bookings, size);
+    }
+
+    /**
+     * Выгружает всю историю бронирований пользователя в формате NDJSON.
+     * Строки записываются в ответ по мере чтения из базы, без загрузки истории в память.
+     * Пользователь проверяется до выбора типа ответа, чтобы ошибка вернулась в формате JSON.
+     *
+     * @param bookerId идентификатор пользователя-арендатора
+     * @param response HTTP ответ для записи выгрузки
+     * @throws IOException если запись ответа не удалась
+     */
+    @GetMapping("/export")
+    public void exportByBookerId(@RequestHeader("X-Sharer-User-Id") Long bookerId,
+                                 HttpServletResponse response) throws IOException {
+        userService.checkUserExists(bookerId);
+        response.setContentType(NDJSON);
+        bookingExportService.exportByBookerId(bookerId, response.getOutputStream());
     }
 
     /**
      * Находит все бронирования для вещей владельца с фильтрацией по статусу.
+     * Если передан курсор, страница начинается после указанного им бронирования, а from игнорируется.
+     * Для полной страницы курсор следующей страницы возвращается в заголовке X-Next-Cursor;
+     * для состояний, определяемых временем, курсор не поддерживается и не возвращается.
      *
      * @param ownerId идентификатор владельца вещей
      * @param status  статус бронирования для фильтрации
      * @param from    начальный индекс для пагинации
      * @param size    количество элементов на странице
+     * @param state   состояние бронирования, имеет приоритет над статусом
+     * @param cursor  курсор из заголовка X-Next-Cursor предыдущей страницы
      * @return список бронирований для вещей владельца
      */
     @GetMapping("/owner")
-    public List<BookingResponseDto> findByOwnerId(
+    public ResponseEntity<List<BookingResponseDto>> findByOwnerId(
             @RequestHeader("X-Sharer-User-Id") Long ownerId,
             @RequestParam(defaultValue = "ALL") BookingStatus status,
             @RequestParam(defaultValue = "0") Integer from,
-            @RequestParam(defaultValue = "10") Integer size) {
-        return bookingService.findByOwnerId(ownerId, status, from, size);
+            @RequestParam(defaultValue = "10") Integer size,
+            @RequestParam(required = false) BookingState state,
+            @RequestParam(required = false) String cursor) {
+        if (state != null && state.isTimeWindow()) {
+            requireNoCursor(cursor, state);
+            return ResponseEntity.ok(bookingService.findByOwnerIdAndState(ownerId, state, from, size));
+        }
+        BookingStatus filter = state != null ? state.getStatus() : status;
+        List<BookingResponseDto> bookings = cursor == null
+                ? bookingService.findByOwnerId(ownerId, filter, from, size)
+                : bookingService.findByOwnerIdAfter(ownerId, filter, BookingCursor.decode(cursor), size);
+        return withNextCursor(bookings, size);
+    }
+
+    /**
+     * Проверяет, что курсор не передан вместе с состоянием, определяемым временем.
+     * Такие состояния поддерживают только пагинацию по from и size.
+     *
+     * @param cursor курсор из запроса
+     * @param state  состояние бронирования
+     */
+    private void requireNoCursor(String cursor, BookingState state) {
+        if (cursor != null) {
+            throw new IllegalArgumentException("Курсор не поддерживается для состояния " + state);
+        }
+    }
+
+    /**
+     * Формирует ответ со страницей бронирований и курсором следующей страницы.
+     *
+     * @param bookings бронирования страницы
+     * @param size     запрошенный размер страницы
+     * @return ответ с заголовком X-Next-Cursor, если страница заполнена полностью
+     */
+    private ResponseEntity<List<BookingResponseDto>> withNextCursor(List<BookingResponseDto> bookings, Integer size) {
+        if (bookings.isEmpty() || bookings.size() < size) {
+            return ResponseEntity.ok(bookings);
+        }
+        String nextCursor = BookingCursor.of(bookings.get(bookings.size() - 1)).encode();
+        return ResponseEntity.ok()
+                .header(NEXT_CURSOR_HEADER, nextCursor)
+                .body(bookings);
     }
 }
\ No newline at end of file
@@ -0,0 +1,16 @@
+package ru.practicum.shareit.booking.dto;
+
+import java.util.List;
+
+/**
+ * DTO для пакетного подтверждения или отклонения бронирований на сервере.
+ * Содержит данные без валидационных аннотаций.
+ *
+ * @param bookingIds идентификаторы бронирований
+ * @param approved   флаг подтверждения (true - подтверждено, false - отклонено)
+ */
+public record BookingBatchStatusRequestDto(
+        List<Long> bookingIds,
+        Boolean approved
+) {
+}
\ No newline at end of file
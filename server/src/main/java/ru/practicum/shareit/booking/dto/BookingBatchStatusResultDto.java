@@ -0,0 +1,19 @@
+package ru.practicum.shareit.booking.dto;
+
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+/**
+ * DTO с результатом смены статуса одного бронирования в пакетном запросе.
+ *
+ * @param bookingId идентификатор бронирования
+ * @param updated   true если статус бронирования изменен этим запросом
+ * @param status    текущий статус бронирования или null если бронирование не найдено
+ * @param error     причина, по которой статус не изменен, или null
+ */
+public record BookingBatchStatusResultDto(
+        Long bookingId,
+        boolean updated,
+        BookingStatus status,
+        String error
+) {
+}
\ No newline at end of file
@@ -0,0 +1,60 @@
+package ru.practicum.shareit.booking.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Курсор постраничного просмотра бронирований.
+ * Указывает на последнее бронирование страницы в порядке (start, id) по убыванию
+ * и передается клиенту в виде непрозрачной строки.
+ *
+ * @param start дата и время начала последнего бронирования страницы
+ * @param id    идентификатор последнего бронирования страницы
+ */
+public record BookingCursor(
+        LocalDateTime start,
+        Long id
+) {
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * Создает курсор, указывающий на бронирование.
+     *
+     * @param booking последнее бронирование страницы
+     * @return курсор
+     */
+    public static BookingCursor of(BookingResponseDto booking) {
+        return new BookingCursor(booking.start(), booking.id());
+    }
+
+    /**
+     * Разбирает курсор из строкового представления.
+     *
+     * @param token строковое представление курсора
+     * @return курсор
+     * @throws IllegalArgumentException если строка не является корректным курсором
+     */
+    public static BookingCursor decode(String token) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = value.indexOf(SEPARATOR);
+            return new BookingCursor(LocalDateTime.parse(value.substring(0, separator)),
+                    Long.valueOf(value.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Некорректный курсор пагинации: " + token);
+        }
+    }
+
+    /**
+     * Кодирует курсор в непрозрачную строку.
+     *
+     * @return строковое представление курсора
+     */
+    public String encode() {
+        String value = start + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
\ No newline at end of file
@@ -24,6 +24,7 @@ public interface BookingMapper {
     @Mapping(target = "item", ignore = true)
     @Mapping(target = "booker", ignore = true)
     @Mapping(target = "status", ignore = true)
+    @Mapping(target = "version", ignore = true)
     Booking toEntity(BookingCreateRequestDto dto);
 
     /**
@@ -19,13 +19,22 @@ import java.time.LocalDateTime;
 @Data
 @Entity
 @Table(name = "bookings")
+@NamedEntityGraph(name = Booking.RESPONSE_GRAPH,
+        attributeNodes = {@NamedAttributeNode(value = "item", subgraph = "item"), @NamedAttributeNode("booker")},
+        subgraphs = @NamedSubgraph(name = "item", attributeNodes = @NamedAttributeNode("owner")))
 public class Booking {
 
+    /**
+     * Граф загрузки для преобразования в BookingResponseDto: вещь с владельцем и арендатор.
+     */
+    public static final String RESPONSE_GRAPH = "Booking.response";
+
     /**
      * Уникальный идентификатор бронирования
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bookings_seq")
+    @SequenceGenerator(name = "bookings_seq", sequenceName = "bookings_seq", allocationSize = 50)
     private Long id;
 
     /**
@@ -60,4 +69,12 @@ public class Booking {
     @Enumerated(EnumType.STRING)
     @Column(name = "status", nullable = false, length = 20)
     private BookingStatus status;
+
+    /**
+     * Версия бронирования для оптимистической блокировки.
+     * Увеличивается при каждом изменении и защищает от одновременной смены статуса.
+     */
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
 }
\ No newline at end of file
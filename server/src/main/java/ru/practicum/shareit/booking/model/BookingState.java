@@ -0,0 +1,43 @@
+package ru.practicum.shareit.booking.model;
+
+/**
+ * Перечисление состояний бронирования для фильтрации списков.
+ * ALL — все бронирования
+ * CURRENT — текущие бронирования (начались, но еще не закончились)
+ * PAST — завершенные бронирования
+ * FUTURE — будущие бронирования
+ * WAITING — бронирования, ожидающие подтверждения
+ * REJECTED — отклоненные бронирования
+ */
+public enum BookingState {
+    ALL(BookingStatus.ALL),
+    CURRENT(null),
+    PAST(null),
+    FUTURE(null),
+    WAITING(BookingStatus.WAITING),
+    REJECTED(BookingStatus.REJECTED);
+
+    private final BookingStatus status;
+
+    BookingState(BookingStatus status) {
+        this.status = status;
+    }
+
+    /**
+     * Возвращает статус, которому соответствует состояние.
+     *
+     * @return статус бронирования или null для состояний, определяемых временем
+     */
+    public BookingStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * Проверяет, определяется ли состояние периодом бронирования относительно текущего времени.
+     *
+     * @return true для CURRENT, PAST и FUTURE
+     */
+    public boolean isTimeWindow() {
+        return status == null;
+    }
+}
\ No newline at end of file
@@ -1,20 +1,31 @@
 package ru.practicum.shareit.booking.repository;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Репозиторий для работы с бронированиями.
  * Определяет методы для CRUD операций и поиска бронирований.
+ * Запросы страниц бронирований загружают граф {@link Booking#RESPONSE_GRAPH},
+ * поэтому преобразование страницы в DTO не выполняет дополнительных запросов.
  */
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
@@ -26,8 +37,32 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
      * @param pageable параметры пагинации
      * @return список бронирований пользователя
      */
+    @EntityGraph(Booking.RESPONSE_GRAPH)
     List<Booking> findByBookerId(Long bookerId, Pageable pageable);
 
+    /**
+     * Читает все бронирования пользователя курсором, от новых к старым.
+     * Вещь, ее владелец и арендатор загружаются тем же запросом. Строки читаются из базы
+     * порциями по 500, а сущности не попадают в кэш второго уровня и не отслеживаются на изменения,
+     * поэтому поток пригоден для выгрузки истории любого размера.
+     * Поток должен читаться внутри транзакции и закрываться после использования.
+     *
+     * @param bookerId идентификатор пользователя
+     * @return поток бронирований пользователя
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")
+    })
+    @Query("SELECT b FROM Booking b " +
+            "JOIN FETCH b.item i " +
+            "JOIN FETCH i.owner " +
+            "JOIN FETCH b.booker " +
+            "WHERE b.booker.id = :bookerId " +
+            "ORDER BY b.start DESC, b.id DESC")
+    Stream<Booking> streamByBookerId(@Param("bookerId") Long bookerId);
+
     /**
      * Находит все бронирования пользователя с указанным статусом с пагинацией.
      *
@@ -36,6 +71,7 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
      * @param pageable параметры пагинации
      * @return список бронирований пользователя с указанным статусом
      */
+    @EntityGraph(Booking.RESPONSE_GRAPH)
     List<Booking> findByBookerIdAndStatus(Long bookerId, BookingStatus status, Pageable pageable);
 
     /**
@@ -45,6 +81,7 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
      * @param pageable параметры пагинации
      * @return список бронирований для вещей владельца
      */
+    @EntityGraph(Booking.RESPONSE_GRAPH)
     List<Booking> findByItemOwnerId(Long ownerId, Pageable pageable);
 
     /**
@@ -55,87 +92,182 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
      * @param pageable параметры пагинации
      * @return список бронирований для вещей владельца с указанным статусом
      */
+    @EntityGraph(Booking.RESPONSE_GRAPH)
     List<Booking> findByItemOwnerIdAndStatus(Long ownerId, BookingStatus status, Pageable pageable);
 
+    /**
+     * Находит бронирования пользователя, следующие за курсором в порядке (start, id) по убыванию.
+     *
+     * @param bookerId идентификатор пользователя
+     * @param start    дата начала последнего бронирования предыдущей страницы
+     * @param id       идентификатор последнего бронирования предыдущей страницы
+     * @param pageable ограничение размера страницы
+     * @return страница бронирований пользователя
+     */
+    @EntityGraph(Booking.RESPONSE_GRAPH)
+    @Query("SELECT b FROM Booking b " +
+            "WHERE b.booker.id = :bookerId " +
+            "AND (b.start < :start OR (b.start = :start AND b.id < :id)) " +
+            "ORDER BY b.start DESC, b.id DESC")
+    List<Booking> findByBookerIdBefore(@Param("bookerId") Long bookerId, @Param("start") LocalDateTime start,
+                                       @Param("id") Long id, Pageable pageable);
+
+    /**
+     * Находит бронирования пользователя с указанным статусом, следующие за курсором
+     * в порядке (start, id) по убыванию.
+     *
+     * @param bookerId идентификатор пользователя
+     * @param status   статус бронирования
+     * @param start    дата начала последнего бронирования предыдущей страницы
+     * @param id       идентификатор последнего бронирования предыдущей страницы
+     * @param pageable ограничение размера страницы
+     * @return страница бронирований пользователя с указанным статусом
+     */
+    @EntityGraph(Booking.RESPONSE_GRAPH)
+    @Query("SELECT b FROM Booking b " +
+            "WHERE b.booker.id = :bookerId AND b.status = :status " +
+            "AND (b.start < :start OR (b.start = :start AND b.id < :id)) " +
+            "ORDER BY b.start DESC, b.id DESC")
+    List<Booking> findByBookerIdAndStatusBefore(@Param("bookerId") Long bookerId,
+                                                @Param("status") BookingStatus status,
+                                                @Param("start") LocalDateTime start,
+                                                @Param("id") Long id, Pageable pageable);
+
+    /**
+     * Находит бронирования вещей владельца, следующие за курсором в порядке (start, id) по убыванию.
+     *
+     * @param ownerId  идентификатор владельца вещей
+     * @param start    дата начала последнего бронирования предыдущей страницы
+     * @param id       идентификатор последнего бронирования предыдущей страницы
+     * @param pageable ограничение размера страницы
+     * @return страница бронирований для вещей владельца
+     */
+    @EntityGraph(Booking.RESPONSE_GRAPH)
+    @Query("SELECT b FROM Booking b " +
+            "WHERE b.item.owner.id = :ownerId " +
+            "AND (b.start < :start OR (b.start = :start AND b.id < :id)) " +
+            "ORDER BY b.start DESC, b.id DESC")
+    List<Booking> findByItemOwnerIdBefore(@Param("ownerId") Long ownerId, @Param("start") LocalDateTime start,
+                                          @Param("id") Long id, Pageable pageable);
+
+    /**
+     * Находит бронирования вещей владельца с указанным статусом, следующие за курсором
+     * в порядке (start, id) по убыванию.
+     *
+     * @param ownerId  идентификатор владельца вещей
+     * @param status   статус бронирования
+     * @param start    дата начала последнего бронирования предыдущей страницы
+     * @param id       идентификатор последнего бронирования предыдущей страницы
+     * @param pageable ограничение размера страницы
+     * @return страница бронирований для вещей владельца с указанным статусом
+     */
+    @EntityGraph(Booking.RESPONSE_GRAPH)
+    @Query("SELECT b FROM Booking b " +
+            "WHERE b.item.owner.id = :ownerId AND b.status = :status " +
+            "AND (b.start < :start OR (b.start = :start AND b.id < :id)) " +
+            "ORDER BY b.start DESC, b.id DESC")
+    List<Booking> findByItemOwnerIdAndStatusBefore(@Param("ownerId") Long ownerId,
+                                                   @Param("status") BookingStatus status,
+                                                   @Param("start") LocalDateTime start,
+                                                   @Param("id") Long id, Pageable pageable);
+
     /**
      * Находит текущие бронирования пользователя (начались, но еще не закончились).
      *
      * @param bookerId идентификатор пользователя
      * @param now      текущее время для фильтрации
-     * @return список текущих бронирований пользователя
+     * @param pageable параметры пагинации
+     * @return страница текущих бронирований пользователя
      */
+    @EntityGraph(Booking.RESPONSE_GRAPH)
     @Query("SELECT b FROM Booking b " +
             "WHERE b.booker.id = :bookerId " +
             "AND b.start <= :now " +
             "AND b.end >= :now " +
-            "ORDER BY b.start DESC")
-    List<Booking> findCurrentBookingsByBookerId(@Param("bookerId") Long bookerId, @Param("now") LocalDateTime now);
+            "ORDER BY b.start DESC, b.id DESC")
+    List<Booking> findCurrentBookingsByBookerId(@Param("bookerId") Long bookerId, @Param("now") LocalDateTime now,
+                                                Pageable pageable);
 
     /**
      * Находит завершенные бронирования пользователя.
      *
      * @param bookerId идентификатор пользователя
      * @param now      текущее время для фильтрации
-     * @return список завершенных бронирований пользователя
+     * @param pageable параметры пагинации
+     * @return страница завершенных бронирований пользователя
      */
+    @EntityGraph(Booking.RESPONSE_GRAPH)
     @Query("SELECT b FROM Booking b " +
             "WHERE b.booker.id = :bookerId " +
             "AND b.end < :now " +
-            "ORDER BY b.start DESC")
-    List<Booking> findPastBookingsByBookerId(@Param("bookerId") Long bookerId, @Param("now") LocalDateTime now);
+            "ORDER BY b.start DESC, b.id DESC")
+    List<Booking> findPastBookingsByBookerId(@Param("bookerId") Long bookerId, @Param("now") LocalDateTime now,
+                                             Pageable pageable);
 
     /**
      * Находит будущие бронирования пользователя.
      *
      * @param bookerId идентификатор пользователя
      * @param now      текущее время для фильтрации
-     * @return список будущих бронирований пользователя
+     * @param pageable параметры пагинации
+     * @return страница будущих бронирований пользователя
      */
+    @EntityGraph(Booking.RESPONSE_GRAPH)
     @Query("SELECT b FROM Booking b " +
             "WHERE b.booker.id = :bookerId " +
             "AND b.start > :now " +
-            "ORDER BY b.start DESC")
-    List<Booking> findFutureBookingsByBookerId(@Param("bookerId") Long bookerId, @Param("now") LocalDateTime now);
+            "ORDER BY b.start DESC, b.id DESC")
+    List<Booking> findFutureBookingsByBookerId(@Param("bookerId") Long bookerId, @Param("now") LocalDateTime now,
+                                               Pageable pageable);
 
     /**
      * Находит текущие бронирования для вещей владельца (начались, но еще не закончились).
      *
      * @param ownerId идентификатор владельца вещей
      * @param now     текущее время для фильтрации
-     * @return список текущих бронирований для вещей владельца
+     * @param pageable параметры пагинации
+     * @return страница текущих бронирований для вещей владельца
      */
+    @EntityGraph(Booking.RESPONSE_GRAPH)
     @Query("SELECT b FROM Booking b " +
             "WHERE b.item.owner.id = :ownerId " +
             "AND b.start <= :now " +
             "AND b.end >= :now " +
-            "ORDER BY b.start DESC")
-    List<Booking> findCurrentBookingsByOwnerId(@Param("ownerId") Long ownerId, @Param("now") LocalDateTime now);
+            "ORDER BY b.start DESC, b.id DESC")
+    List<Booking> findCurrentBookingsByOwnerId(@Param("ownerId") Long ownerId, @Param("now") LocalDateTime now,
+                                               Pageable pageable);
 
     /**
      * Находит завершенные бронирования для вещей владельца.
      *
      * @param ownerId идентификатор владельца вещей
      * @param now     текущее время для фильтрации
-     * @return список завершенных бронирований для вещей владельца
+     * @param pageable параметры пагинации
+     * @return страница завершенных бронирований для вещей владельца
      */
+    @EntityGraph(Booking.RESPONSE_GRAPH)
     @Query("SELECT b FROM Booking b " +
             "WHERE b.item.owner.id = :ownerId " +
             "AND b.end < :now " +
-            "ORDER BY b.start DESC")
-    List<Booking> findPastBookingsByOwnerId(@Param("ownerId") Long ownerId, @Param("now") LocalDateTime now);
+            "ORDER BY b.start DESC, b.id DESC")
+    List<Booking> findPastBookingsByOwnerId(@Param("ownerId") Long ownerId, @Param("now") LocalDateTime now,
+                                            Pageable pageable);
 
     /**
      * Находит будущие бронирования для вещей владельца.
      *
      * @param ownerId идентификатор владельца вещей
      * @param now     текущее время для фильтрации
-     * @return список будущих бронирований для вещей владельца
+     * @param pageable параметры пагинации
+     * @return страница будущих бронирований для вещей владельца
      */
+    @EntityGraph(Booking.RESPONSE_GRAPH)
     @Query("SELECT b FROM Booking b " +
             "WHERE b.item.owner.id = :ownerId " +
             "AND b.start > :now " +
-            "ORDER BY b.start DESC")
-    List<Booking> findFutureBookingsByOwnerId(@Param("ownerId") Long ownerId, @Param("now") LocalDateTime now);
+            "ORDER BY b.start DESC, b.id DESC")
+    List<Booking> findFutureBookingsByOwnerId(@Param("ownerId") Long ownerId, @Param("now") LocalDateTime now,
+                                              Pageable pageable);
 
     /**
      * Находит все бронирования вещи с указанными статусами отсортированные по дате начала (по возрастанию).
@@ -147,6 +279,69 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     List<Booking> findByItemIdAndStatusInOrderByStartAsc(
             Long itemId, List<BookingStatus> statuses);
 
+    /**
+     * Находит бронирования вещи с указанными статусами, которые заканчиваются позже указанного момента,
+     * отсортированные по дате начала (по возрастанию).
+     *
+     * @param itemId   идентификатор вещи
+     * @param statuses список статусов бронирования
+     * @param moment   момент, после которого должно заканчиваться бронирование
+     * @return список незавершенных бронирований вещи с указанными статусами
+     */
+    List<Booking> findByItemIdAndStatusInAndEndAfterOrderByStartAsc(
+            Long itemId, List<BookingStatus> statuses, LocalDateTime moment);
+
+    /**
+     * Проверяет, пересекается ли период с другим бронированием вещи в указанных статусах.
+     * Периоды считаются полуоткрытыми: [start, end).
+     *
+     * @param itemId    идентификатор вещи
+     * @param bookingId идентификатор проверяемого бронирования, которое не учитывается
+     * @param statuses  список статусов бронирования
+     * @param start     дата и время начала периода
+     * @param end       дата и время окончания периода
+     * @return true если найдено пересекающееся бронирование
+     */
+    @Query("SELECT COUNT(b) > 0 FROM Booking b " +
+            "WHERE b.item.id = :itemId " +
+            "AND b.id <> :bookingId " +
+            "AND b.status IN :statuses " +
+            "AND b.start < :end " +
+            "AND b.end > :start")
+    boolean existsOverlapping(@Param("itemId") Long itemId, @Param("bookingId") Long bookingId,
+                              @Param("statuses") List<BookingStatus> statuses,
+                              @Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    /**
+     * Находит бронирования по идентификаторам вместе с владельцами вещей одним запросом,
+     * не загружая сами бронирования, вещи и пользователей.
+     * Найденные бронирования блокируются до конца транзакции, поэтому их статусы
+     * не может изменить параллельная транзакция.
+     *
+     * @param ids идентификаторы бронирований
+     * @return проекции найденных бронирований
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b.id AS id, b.item.id AS itemId, b.item.owner.id AS ownerId, b.status AS status " +
+            "FROM Booking b " +
+            "WHERE b.id IN :ids")
+    List<BookingStatusView> findStatusViewsByIdInForUpdate(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Одним запросом меняет статус бронирований, которые все еще находятся в ожидаемом статусе,
+     * и увеличивает их версию.
+     *
+     * @param ids      идентификаторы бронирований
+     * @param expected ожидаемый текущий статус
+     * @param status   новый статус
+     * @return количество измененных бронирований
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Booking b SET b.status = :status, b.version = b.version + 1 " +
+            "WHERE b.id IN :ids AND b.status = :expected")
+    int updateStatuses(@Param("ids") Collection<Long> ids, @Param("expected") BookingStatus expected,
+                       @Param("status") BookingStatus status);
+
     /**
      * Проверяет существование завершенного бронирования пользователя для вещи.
      *
@@ -188,7 +383,7 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     List<Booking> findNextBookingsForItem(@Param("itemId") Long itemId, @Param("now") LocalDateTime now);
 
     /**
-     * Находит последние завершенные бронирования для списка вещей.
+     * Находит последнее завершенное подтвержденное бронирование для каждой вещи из списка.
      *
      * @param itemIds список идентификаторов вещей
      * @param now     текущее время для фильтрации
@@ -198,11 +393,12 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
             "WHERE b.item.id IN :itemIds " +
             "AND b.status = 'APPROVED' " +
             "AND b.end < :now " +
-            "AND b.id IN (SELECT MAX(b2.id) FROM Booking b2 WHERE b2.item.id = b.item.id AND b2.end < :now GROUP BY b2.item.id)")
+            "AND b.end = (SELECT MAX(b2.end) FROM Booking b2 " +
+            "WHERE b2.item.id = b.item.id AND b2.status = 'APPROVED' AND b2.end < :now)")
     List<Booking> findLastBookingsForItems(@Param("itemIds") List<Long> itemIds, @Param("now") LocalDateTime now);
 
     /**
-     * Находит следующие бронирования для списка вещей.
+     * Находит ближайшее будущее подтвержденное бронирование для каждой вещи из списка.
      *
      * @param itemIds список идентификаторов вещей
      * @param now     текущее время для фильтрации
@@ -212,7 +408,8 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
             "WHERE b.item.id IN :itemIds " +
             "AND b.status = 'APPROVED' " +
             "AND b.start > :now " +
-            "AND b.id IN (SELECT MIN(b2.id) FROM Booking b2 WHERE b2.item.id = b.item.id AND b2.start > :now GROUP BY b2.item.id)")
+            "AND b.start = (SELECT MIN(b2.start) FROM Booking b2 " +
+            "WHERE b2.item.id = b.item.id AND b2.status = 'APPROVED' AND b2.start > :now)")
     List<Booking> findNextBookingsForItems(@Param("itemIds") List<Long> itemIds, @Param("now") LocalDateTime now);
 
     /**
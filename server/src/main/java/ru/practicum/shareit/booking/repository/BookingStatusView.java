@@ -0,0 +1,30 @@
+package ru.practicum.shareit.booking.repository;
+
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+/**
+ * Проекция бронирования с данными, достаточными для проверки владения и смены статуса
+ * без загрузки бронирования, вещи и пользователей.
+ */
+public interface BookingStatusView {
+
+    /**
+     * Идентификатор бронирования.
+     */
+    Long getId();
+
+    /**
+     * Идентификатор вещи.
+     */
+    Long getItemId();
+
+    /**
+     * Идентификатор владельца вещи.
+     */
+    Long getOwnerId();
+
+    /**
+     * Статус бронирования.
+     */
+    BookingStatus getStatus();
+}
\ No newline at end of file
@@ -0,0 +1,299 @@
+package ru.practicum.shareit.booking.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Индекс занятости вещей, хранящийся в памяти.
+ * Для каждой вещи содержит дерево интервалов бронирований в статусах WAITING и APPROVED,
+ * что позволяет проверять пересечение периодов за O(log n) без обращения к базе данных.
+ * Дерево вещи загружается из базы при первом обращении и далее поддерживается
+ * при создании и отклонении бронирований. Изменения, сделанные в транзакции,
+ * откатываются в индексе вместе с ней.
+ * Индекс хранит ограниченное число вещей и забывает вещь, к которой долго не обращались.
+ * Закончившиеся бронирования в дерево не загружаются и периодически удаляются из него,
+ * поэтому период, начинающийся раньше момента последней очистки, дополнительно проверяется по базе данных.
+ * Проверка и занятие периода выполняются под блокировкой дерева конкретной вещи,
+ * поэтому бронирования разных вещей не ждут друг друга.
+ * <p>
+ * Если дерево вещи загружено, а период начинается позже последней очистки и ни с чем в дереве
+ * не пересекается, бронирование допускается без единого запроса к базе данных. К базе данных индекс
+ * обращается только при первом обращении к вещи или после ее вытеснения, при пересечении в дереве
+ * и для периода, начинающегося раньше последней очистки.
+ * <p>
+ * Источником истины остается база данных. Индекс отражает изменения только своего экземпляра сервера,
+ * поэтому отказ по нему окончательный лишь при пересечении с бронированием из еще не завершенной
+ * транзакции, которое база данных не видит. Пересечение с сохраненными бронированиями перепроверяется
+ * по базе данных, и если его там нет, например бронирование отклонили на другом экземпляре,
+ * дерево вещи загружается заново. Бронирование, допущенное индексом, но пересекающееся с бронированием
+ * другого экземпляра, отсекает ограничение-исключение bookings_item_period_excl в PostgreSQL.
+ */
+@Slf4j
+@Component
+public class BookingAvailabilityIndex {
+
+    /**
+     * Статусы бронирований, занимающих вещь на период бронирования.
+     */
+    static final List<BookingStatus> BLOCKING_STATUSES = List.of(BookingStatus.WAITING, BookingStatus.APPROVED);
+
+    private final BookingRepository bookingRepository;
+    private final Cache<Long, ItemIntervals> itemIntervals;
+    private final Duration pruneInterval;
+
+    public BookingAvailabilityIndex(BookingRepository bookingRepository,
+                                    @Value("${shareit.availability-index.max-items:10000}") long maxItems,
+                                    @Value("${shareit.availability-index.expire-after-access:1h}")
+                                    Duration expireAfterAccess,
+                                    @Value("${shareit.availability-index.prune-interval:10m}") Duration pruneInterval) {
+        this.bookingRepository = bookingRepository;
+        this.itemIntervals = Caffeine.newBuilder()
+                .maximumSize(maxItems)
+                .expireAfterAccess(expireAfterAccess)
+                .build();
+        this.pruneInterval = pruneInterval;
+    }
+
+    /**
+     * Атомарно проверяет период бронирования и занимает его в индексе вещи.
+     *
+     * @param booking сохраненное бронирование
+     * @return true если период был свободен и занят этим бронированием
+     */
+    public boolean tryReserve(Booking booking) {
+        Long itemId = booking.getItem().getId();
+        ItemIntervals intervals = getIntervals(itemId);
+        synchronized (intervals) {
+            // Бронирование уже могло попасть в дерево при его загрузке из базы в этой же транзакции
+            intervals.tree.remove(booking.getId());
+            pruneEnded(itemId, intervals);
+            boolean checkedInDatabase = false;
+            if (intervals.tree.overlaps(booking.getStart(), booking.getEnd())) {
+                if (intervals.pending.overlaps(booking.getStart(), booking.getEnd())
+                        || overlapsInDatabase(booking)) {
+                    return false;
+                }
+                reload(itemId, intervals);
+                intervals.tree.remove(booking.getId());
+                checkedInDatabase = true;
+            }
+            if (!checkedInDatabase && booking.getStart().isBefore(intervals.horizon)
+                    && overlapsInDatabase(booking)) {
+                return false;
+            }
+            intervals.tree.insert(booking.getId(), booking.getStart(), booking.getEnd());
+            markPending(intervals, booking);
+        }
+        onRollback(() -> remove(intervals, booking.getId()));
+        return true;
+    }
+
+    /**
+     * Освобождает период бронирования в индексе вещи.
+     *
+     * @param booking бронирование, переставшее занимать вещь
+     */
+    public void release(Booking booking) {
+        release(booking.getItem().getId(), booking.getId());
+    }
+
+    /**
+     * Освобождает период бронирования в индексе вещи по идентификатору бронирования,
+     * не требуя загрузки бронирования и его дат. При откате транзакции период занимается снова.
+     * Если вещи нет в индексе, освобождать нечего: дерево будет загружено из базы данных
+     * при следующем обращении.
+     *
+     * @param itemId    идентификатор вещи
+     * @param bookingId идентификатор бронирования, переставшего занимать вещь
+     */
+    public void release(Long itemId, Long bookingId) {
+        ItemIntervals intervals = itemIntervals.getIfPresent(itemId);
+        if (intervals == null) {
+            return;
+        }
+        synchronized (intervals) {
+            intervals.tree.remove(bookingId,
+                    (start, end) -> onRollback(() -> insert(intervals, bookingId, start, end)));
+        }
+    }
+
+    /**
+     * Удаляет из индекса все данные о вещи.
+     *
+     * @param itemId идентификатор вещи
+     */
+    public void evict(Long itemId) {
+        itemIntervals.invalidate(itemId);
+    }
+
+    /**
+     * Получает дерево интервалов вещи, загружая его из базы данных при первом обращении.
+     * В дерево загружаются только бронирования, которые еще не закончились.
+     *
+     * @param itemId идентификатор вещи
+     * @return интервалы вещи
+     */
+    private ItemIntervals getIntervals(Long itemId) {
+        ItemIntervals intervals = itemIntervals.getIfPresent(itemId);
+        if (intervals != null) {
+            return intervals;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        ItemIntervals loaded = new ItemIntervals(load(itemId, now), now);
+        intervals = itemIntervals.asMap().putIfAbsent(itemId, loaded);
+        return intervals != null ? intervals : loaded;
+    }
+
+    /**
+     * Загружает из базы данных дерево незакончившихся бронирований вещи.
+     *
+     * @param itemId идентификатор вещи
+     * @param now    текущий момент
+     * @return дерево интервалов вещи
+     */
+    private BookingIntervalTree load(Long itemId, LocalDateTime now) {
+        BookingIntervalTree tree = new BookingIntervalTree();
+        List<Booking> bookings = bookingRepository.findByItemIdAndStatusInAndEndAfterOrderByStartAsc(
+                itemId, BLOCKING_STATUSES, now);
+        bookings.forEach(booking -> tree.insert(booking.getId(), booking.getStart(), booking.getEnd()));
+        log.debug("Загружено {} действующих бронирований вещи {} в индекс занятости", tree.size(), itemId);
+        return tree;
+    }
+
+    /**
+     * Заменяет дерево вещи загруженным из базы данных, сохраняя бронирования незавершенных транзакций.
+     * Вызывается под блокировкой интервалов вещи.
+     *
+     * @param itemId    идентификатор вещи
+     * @param intervals интервалы вещи
+     */
+    private void reload(Long itemId, ItemIntervals intervals) {
+        LocalDateTime now = LocalDateTime.now();
+        BookingIntervalTree tree = load(itemId, now);
+        tree.addAll(intervals.pending);
+        intervals.tree = tree;
+        intervals.horizon = now;
+    }
+
+    /**
+     * Проверяет по базе данных, пересекается ли период бронирования с другими действующими бронированиями вещи.
+     *
+     * @param booking сохраненное бронирование
+     * @return true если найдено пересечение
+     */
+    private boolean overlapsInDatabase(Booking booking) {
+        return bookingRepository.existsOverlapping(booking.getItem().getId(), booking.getId(), BLOCKING_STATUSES,
+                booking.getStart(), booking.getEnd());
+    }
+
+    /**
+     * Отмечает бронирование как занявшее период в еще не завершенной транзакции.
+     * Отметка снимается по завершении транзакции. Вызывается под блокировкой интервалов вещи.
+     *
+     * @param intervals интервалы вещи
+     * @param booking   бронирование
+     */
+    private static void markPending(ItemIntervals intervals, Booking booking) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        intervals.pending.insert(booking.getId(), booking.getStart(), booking.getEnd());
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                synchronized (intervals) {
+                    intervals.pending.remove(booking.getId());
+                }
+            }
+        });
+    }
+
+    /**
+     * Удаляет из дерева закончившиеся бронирования, если с последней очистки прошло больше интервала очистки.
+     * Вызывается под блокировкой интервалов вещи.
+     *
+     * @param itemId    идентификатор вещи
+     * @param intervals интервалы вещи
+     */
+    private void pruneEnded(Long itemId, ItemIntervals intervals) {
+        LocalDateTime now = LocalDateTime.now();
+        if (now.isBefore(intervals.horizon.plus(pruneInterval))) {
+            return;
+        }
+        int removed = intervals.tree.removeEndedBefore(now);
+        intervals.horizon = now;
+        log.debug("Удалено {} закончившихся бронирований вещи {} из индекса занятости", removed, itemId);
+    }
+
+    private static boolean remove(ItemIntervals intervals, Long bookingId) {
+        synchronized (intervals) {
+            return intervals.tree.remove(bookingId);
+        }
+    }
+
+    private static void insert(ItemIntervals intervals, Long bookingId, LocalDateTime start, LocalDateTime end) {
+        synchronized (intervals) {
+            intervals.tree.insert(bookingId, start, end);
+        }
+    }
+
+    /**
+     * Добавляет действие в журнал отмены текущей транзакции.
+     * При откате транзакции действия выполняются в обратном порядке.
+     *
+     * @param action действие для восстановления состояния индекса
+     */
+    private void onRollback(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        Deque<Runnable> undoLog = (Deque<Runnable>) TransactionSynchronizationManager.getResource(this);
+        if (undoLog == null) {
+            Deque<Runnable> newUndoLog = new ArrayDeque<>();
+            TransactionSynchronizationManager.bindResource(this, newUndoLog);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(BookingAvailabilityIndex.this);
+                    if (status != STATUS_COMMITTED) {
+                        newUndoLog.forEach(Runnable::run);
+                    }
+                }
+            });
+            undoLog = newUndoLog;
+        }
+        undoLog.push(action);
+    }
+
+    /**
+     * Интервалы бронирований вещи.
+     * Бронирования, закончившиеся не позже {@code horizon}, могут отсутствовать в дереве.
+     * В {@code pending} дублируются бронирования из еще не завершенных транзакций.
+     */
+    private static final class ItemIntervals {
+        private final BookingIntervalTree pending = new BookingIntervalTree();
+        private BookingIntervalTree tree;
+        private LocalDateTime horizon;
+
+        private ItemIntervals(BookingIntervalTree tree, LocalDateTime horizon) {
+            this.tree = tree;
+            this.horizon = horizon;
+        }
+    }
+}
\ No newline at end of file
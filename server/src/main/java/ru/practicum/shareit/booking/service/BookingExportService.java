@@ -0,0 +1,24 @@
+package ru.practicum.shareit.booking.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Сервис выгрузки истории бронирований.
+ */
+public interface BookingExportService {
+
+    /**
+     * Записывает все бронирования пользователя в поток в формате NDJSON:
+     * по одному {@code BookingResponseDto} на строку, от новых к старым.
+     * Существование пользователя не проверяется: вызывающая сторона проверяет его заранее,
+     * например, чтобы вернуть ошибку до выбора типа ответа. Для неизвестного пользователя
+     * выгрузка пуста.
+     *
+     * @param bookerId идентификатор пользователя
+     * @param output   поток для записи, не закрывается
+     * @return количество выгруженных бронирований
+     * @throws IOException если запись в поток не удалась
+     */
+    long exportByBookerId(Long bookerId, OutputStream output) throws IOException;
+}
\ No newline at end of file
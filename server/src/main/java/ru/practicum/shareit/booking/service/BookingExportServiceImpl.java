@@ -0,0 +1,73 @@
+package ru.practicum.shareit.booking.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Реализация выгрузки истории бронирований.
+ * Бронирования читаются курсором базы данных и сразу записываются в поток, поэтому
+ * расход памяти не зависит от размера истории: контекст персистентности очищается
+ * каждые {@link #FLUSH_INTERVAL} строк, и тогда же записанные строки отправляются клиенту.
+ */
+@Slf4j
+@Service
+@Timed("shareit.service")
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class BookingExportServiceImpl implements BookingExportService {
+
+    private static final int FLUSH_INTERVAL = 500;
+
+    private final BookingRepository bookingRepository;
+    private final BookingMapper bookingMapper;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+
+    /**
+     * Записывает все бронирования пользователя в поток в формате NDJSON.
+     * Существование пользователя не проверяется: это делает вызывающая сторона до записи ответа.
+     *
+     * @param bookerId идентификатор пользователя
+     * @param output   поток для записи, не закрывается
+     * @return количество выгруженных бронирований
+     * @throws IOException если запись в поток не удалась
+     */
+    @Override
+    public long exportByBookerId(Long bookerId, OutputStream output) throws IOException {
+        log.info("Выгрузка истории бронирований пользователя {}", bookerId);
+
+        long count = 0;
+        try (JsonGenerator generator = objectMapper.createGenerator(output);
+             Stream<Booking> bookings = bookingRepository.streamByBookerId(bookerId)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+
+            Iterator<Booking> iterator = bookings.iterator();
+            while (iterator.hasNext()) {
+                generator.writeObject(bookingMapper.toResponseDto(iterator.next()));
+                generator.writeRaw('\n');
+                if (++count % FLUSH_INTERVAL == 0) {
+                    entityManager.clear();
+                    generator.flush();
+                }
+            }
+        }
+
+        log.debug("Выгружено {} бронирований пользователя {}", count, bookerId);
+        return count;
+    }
+}
\ No newline at end of file
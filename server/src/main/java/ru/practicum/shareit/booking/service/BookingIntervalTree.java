@@ -0,0 +1,259 @@
+package ru.practicum.shareit.booking.service;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BiConsumer;
+
+/**
+ * Дерево интервалов бронирований одной вещи.
+ * Реализовано как декартово дерево (treap) с ключом (start, bookingId).
+ * Каждый узел хранит максимальную дату окончания в своем поддереве,
+ * поэтому проверка пересечения, вставка и удаление выполняются за O(log n).
+ * Интервалы считаются полуоткрытыми: [start, end).
+ * Узел каждого бронирования дополнительно хранится по его идентификатору, поэтому
+ * интервал можно удалить по идентификатору, не зная дат бронирования или получив их
+ * из базы данных с меньшей точностью.
+ * Класс не потокобезопасен, синхронизацию обеспечивает вызывающая сторона.
+ */
+public class BookingIntervalTree {
+
+    private final Map<Long, Node> nodes = new HashMap<>();
+    private Node root;
+    private int size;
+
+    /**
+     * Проверяет, пересекается ли период с каким-либо интервалом дерева.
+     *
+     * @param start дата и время начала периода
+     * @param end   дата и время окончания периода
+     * @return true если найдено пересечение
+     */
+    public boolean overlaps(LocalDateTime start, LocalDateTime end) {
+        Node node = root;
+        while (node != null) {
+            if (node.start.isBefore(end) && start.isBefore(node.end)) {
+                return true;
+            }
+            if (node.left != null && node.left.maxEnd.isAfter(start)) {
+                node = node.left;
+            } else {
+                node = node.right;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Добавляет интервал бронирования в дерево.
+     *
+     * @param bookingId идентификатор бронирования
+     * @param start     дата и время начала бронирования
+     * @param end       дата и время окончания бронирования
+     */
+    public void insert(Long bookingId, LocalDateTime start, LocalDateTime end) {
+        Node node = new Node(bookingId, start, end);
+        Node[] parts = split(root, start, bookingId);
+        root = merge(merge(parts[0], node), parts[1]);
+        nodes.put(bookingId, node);
+        size++;
+    }
+
+    /**
+     * Добавляет в дерево все интервалы другого дерева.
+     * Интервал бронирования, уже присутствующий в дереве, заменяется.
+     *
+     * @param other дерево с добавляемыми интервалами
+     */
+    public void addAll(BookingIntervalTree other) {
+        addAll(other.root);
+    }
+
+    /**
+     * Удаляет интервал бронирования из дерева.
+     *
+     * @param bookingId идентификатор бронирования
+     * @param start     дата и время начала бронирования
+     * @return true если интервал был найден и удален
+     */
+    public boolean remove(Long bookingId, LocalDateTime start) {
+        int sizeBefore = size;
+        root = remove(root, start, bookingId);
+        if (size < sizeBefore) {
+            nodes.remove(bookingId);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Удаляет интервал бронирования из дерева по идентификатору бронирования.
+     *
+     * @param bookingId идентификатор бронирования
+     * @return true если интервал был найден и удален
+     */
+    public boolean remove(Long bookingId) {
+        return remove(bookingId, (start, end) -> {
+        });
+    }
+
+    /**
+     * Удаляет интервал бронирования из дерева по идентификатору бронирования
+     * и передает даты удаленного интервала.
+     *
+     * @param bookingId идентификатор бронирования
+     * @param removed   получатель дат начала и окончания удаленного интервала
+     * @return true если интервал был найден и удален
+     */
+    public boolean remove(Long bookingId, BiConsumer<LocalDateTime, LocalDateTime> removed) {
+        Node node = nodes.get(bookingId);
+        if (node == null || !remove(bookingId, node.start)) {
+            return false;
+        }
+        removed.accept(node.start, node.end);
+        return true;
+    }
+
+    /**
+     * Удаляет из дерева интервалы, которые закончились не позже указанного момента.
+     *
+     * @param moment момент времени
+     * @return количество удаленных интервалов
+     */
+    public int removeEndedBefore(LocalDateTime moment) {
+        Map<Long, LocalDateTime> ended = new HashMap<>();
+        collectEndedBefore(root, moment, ended);
+        ended.forEach(this::remove);
+        return ended.size();
+    }
+
+    /**
+     * Возвращает количество интервалов в дереве.
+     *
+     * @return количество интервалов
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Собирает интервалы поддерева, закончившиеся не позже момента. Интервал, начавшийся
+     * не раньше момента, закончиться до него не мог, как и все интервалы правее него.
+     */
+    private void collectEndedBefore(Node node, LocalDateTime moment, Map<Long, LocalDateTime> ended) {
+        while (node != null) {
+            collectEndedBefore(node.left, moment, ended);
+            if (!node.start.isBefore(moment)) {
+                return;
+            }
+            if (!node.end.isAfter(moment)) {
+                ended.put(node.bookingId, node.start);
+            }
+            node = node.right;
+        }
+    }
+
+    private void addAll(Node node) {
+        if (node != null) {
+            addAll(node.left);
+            remove(node.bookingId);
+            insert(node.bookingId, node.start, node.end);
+            addAll(node.right);
+        }
+    }
+
+    private Node remove(Node node, LocalDateTime start, Long bookingId) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = compare(start, bookingId, node);
+        if (cmp == 0) {
+            size--;
+            return merge(node.left, node.right);
+        }
+        if (cmp < 0) {
+            node.left = remove(node.left, start, bookingId);
+        } else {
+            node.right = remove(node.right, start, bookingId);
+        }
+        node.update();
+        return node;
+    }
+
+    /**
+     * Разделяет поддерево на узлы с ключом меньше заданного и остальные.
+     */
+    private Node[] split(Node node, LocalDateTime start, Long bookingId) {
+        if (node == null) {
+            return new Node[]{null, null};
+        }
+        if (compare(start, bookingId, node) > 0) {
+            Node[] parts = split(node.right, start, bookingId);
+            node.right = parts[0];
+            node.update();
+            return new Node[]{node, parts[1]};
+        }
+        Node[] parts = split(node.left, start, bookingId);
+        node.left = parts[1];
+        node.update();
+        return new Node[]{parts[0], node};
+    }
+
+    /**
+     * Объединяет два поддерева, все ключи левого из которых меньше ключей правого.
+     */
+    private Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            left.update();
+            return left;
+        }
+        right.left = merge(left, right.left);
+        right.update();
+        return right;
+    }
+
+    private static int compare(LocalDateTime start, Long bookingId, Node node) {
+        int cmp = start.compareTo(node.start);
+        return cmp != 0 ? cmp : bookingId.compareTo(node.bookingId);
+    }
+
+    /**
+     * Узел дерева интервалов.
+     */
+    private static final class Node {
+        private final Long bookingId;
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+        private final int priority;
+        private LocalDateTime maxEnd;
+        private Node left;
+        private Node right;
+
+        private Node(Long bookingId, LocalDateTime start, LocalDateTime end) {
+            this.bookingId = bookingId;
+            this.start = start;
+            this.end = end;
+            this.priority = ThreadLocalRandom.current().nextInt();
+            this.maxEnd = end;
+        }
+
+        private void update() {
+            LocalDateTime max = end;
+            if (left != null && left.maxEnd.isAfter(max)) {
+                max = left.maxEnd;
+            }
+            if (right != null && right.maxEnd.isAfter(max)) {
+                max = right.maxEnd;
+            }
+            maxEnd = max;
+        }
+    }
+}
\ No newline at end of file
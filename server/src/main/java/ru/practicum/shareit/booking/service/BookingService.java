@@ -1,8 +1,12 @@
 package ru.practicum.shareit.booking.service;
 
+import ru.practicum.shareit.booking.dto.BookingBatchStatusRequestDto;
+import ru.practicum.shareit.booking.dto.BookingBatchStatusResultDto;
 import ru.practicum.shareit.booking.dto.BookingCreateRequestDto;
+import ru.practicum.shareit.booking.dto.BookingCursor;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
 
 import java.util.List;
@@ -32,6 +36,16 @@ public interface BookingService {
      */
     BookingResponseDto updateStatus(Long userId, Long bookingId, Boolean approved);
 
+    /**
+     * Подтверждает или отклоняет несколько бронирований одним запросом.
+     * Результат возвращается для каждого идентификатора в порядке запроса, повторы игнорируются.
+     *
+     * @param userId  идентификатор владельца вещей
+     * @param request идентификаторы бронирований и флаг подтверждения
+     * @return результаты смены статуса по каждому бронированию
+     */
+    List<BookingBatchStatusResultDto> updateStatuses(Long userId, BookingBatchStatusRequestDto request);
+
     /**
      * Находит бронирование по идентификатору.
      *
@@ -63,6 +77,52 @@ public interface BookingService {
      */
     List<BookingResponseDto> findByOwnerId(Long ownerId, BookingStatus status, Integer from, Integer size);
 
+    /**
+     * Находит бронирования пользователя в указанном состоянии.
+     *
+     * @param bookerId идентификатор пользователя-арендатора
+     * @param state    состояние бронирования для фильтрации
+     * @param from     начальный индекс для пагинации
+     * @param size     количество элементов на странице
+     * @return список бронирований пользователя
+     */
+    List<BookingResponseDto> findByBookerIdAndState(Long bookerId, BookingState state, Integer from, Integer size);
+
+    /**
+     * Находит бронирования для вещей владельца в указанном состоянии.
+     *
+     * @param ownerId идентификатор владельца вещей
+     * @param state   состояние бронирования для фильтрации
+     * @param from    начальный индекс для пагинации
+     * @param size    количество элементов на странице
+     * @return список бронирований для вещей владельца
+     */
+    List<BookingResponseDto> findByOwnerIdAndState(Long ownerId, BookingState state, Integer from, Integer size);
+
+    /**
+     * Находит бронирования пользователя, следующие за курсором.
+     * Стоимость запроса не зависит от того, насколько далеко находится страница.
+     *
+     * @param bookerId идентификатор пользователя-арендатора
+     * @param status   состояние бронирования для фильтрации
+     * @param cursor   курсор последнего бронирования предыдущей страницы
+     * @param size     количество элементов на странице
+     * @return список бронирований пользователя
+     */
+    List<BookingResponseDto> findByBookerIdAfter(Long bookerId, BookingStatus status, BookingCursor cursor, Integer size);
+
+    /**
+     * Находит бронирования для вещей владельца, следующие за курсором.
+     * Стоимость запроса не зависит от того, насколько далеко находится страница.
+     *
+     * @param ownerId идентификатор владельца вещей
+     * @param status  состояние бронирования для фильтрации
+     * @param cursor  курсор последнего бронирования предыдущей страницы
+     * @param size    количество элементов на странице
+     * @return список бронирований для вещей владельца
+     */
+    List<BookingResponseDto> findByOwnerIdAfter(Long ownerId, BookingStatus status, BookingCursor cursor, Integer size);
+
     /**
      * Получает бронирование по идентификатору или выбрасывает исключение если не найдено.
      *
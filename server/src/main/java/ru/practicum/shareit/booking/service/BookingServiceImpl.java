@@ -1,45 +1,71 @@
 package ru.practicum.shareit.booking.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingBatchStatusRequestDto;
+import ru.practicum.shareit.booking.dto.BookingBatchStatusResultDto;
 import ru.practicum.shareit.booking.dto.BookingCreateRequestDto;
+import ru.practicum.shareit.booking.dto.BookingCursor;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.repository.BookingStatusView;
 import ru.practicum.shareit.exception.booking.BookingNotFoundException;
 import ru.practicum.shareit.exception.booking.BookingNotOwnedException;
+import ru.practicum.shareit.exception.booking.BookingPeriodConflictException;
 import ru.practicum.shareit.exception.booking.BookingStatusAlreadySetException;
 import ru.practicum.shareit.exception.booking.UnavailableItemException;
 import ru.practicum.shareit.exception.item.ItemNotFoundException;
 import ru.practicum.shareit.exception.user.UserNotFoundException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.repository.OffsetPageRequest;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Реализация сервиса для работы с бронированиями.
  * Обрабатывает бизнес-логику создания, обновления и поиска бронирований.
  */
 @Service
+@Timed("shareit.service")
 @RequiredArgsConstructor
 @Slf4j
 @Transactional(readOnly = true)
 public class BookingServiceImpl implements BookingService {
 
+    /**
+     * SQLSTATE нарушения ограничения-исключения PostgreSQL, запрещающего пересечение
+     * действующих бронирований одной вещи.
+     */
+    private static final String EXCLUSION_VIOLATION_SQL_STATE = "23P01";
+
     private final BookingRepository bookingRepository;
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
     private final BookingMapper bookingMapper;
+    private final BookingAvailabilityIndex availabilityIndex;
+    private final OptimisticLockRetry optimisticLockRetry;
 
     /**
      * Создает новое бронирование.
@@ -53,8 +79,9 @@ public class BookingServiceImpl implements BookingService {
     public BookingResponseDto create(Long userId, BookingCreateRequestDto bookingCreateRequestDto) {
         log.info("Создание бронирования для пользователя {}: {}", userId, bookingCreateRequestDto);
 
-        User booker = getUserOrThrow(userId);
-        Item item = getItemOrThrow(bookingCreateRequestDto.itemId());
+        checkUserExists(userId);
+        User booker = userRepository.getReferenceById(userId);
+        Item item = getCurrentItemOrThrow(bookingCreateRequestDto.itemId());
 
         validateBookingCreation(item, userId);
 
@@ -63,12 +90,26 @@ public class BookingServiceImpl implements BookingService {
         booking.setBooker(booker);
         booking.setStatus(BookingStatus.WAITING);
 
-        Booking savedBooking = bookingRepository.save(booking);
+        Booking savedBooking;
+        try {
+            savedBooking = bookingRepository.saveAndFlush(booking);
+        } catch (DataIntegrityViolationException e) {
+            if (isPeriodConflict(e)) {
+                throw periodConflict(item.getId());
+            }
+            throw e;
+        }
+        if (!availabilityIndex.tryReserve(savedBooking)) {
+            throw periodConflict(item.getId());
+        }
         return bookingMapper.toResponseDto(savedBooking);
     }
 
     /**
      * Обновляет статус бронирования (подтверждение/отклонение).
+     * Одновременные изменения бронирования обнаруживаются по версии и повторяются
+     * в новой транзакции; повтор видит уже установленный статус и завершается
+     * {@link BookingStatusAlreadySetException}.
      *
      * @param userId    идентификатор пользователя
      * @param bookingId идентификатор бронирования
@@ -76,21 +117,77 @@ public class BookingServiceImpl implements BookingService {
      * @return обновленное бронирование в format DTO
      */
     @Override
-    @Transactional
+    @Transactional(propagation = Propagation.SUPPORTS)
     public BookingResponseDto updateStatus(Long userId, Long bookingId, Boolean approved) {
         log.info("Обновление статуса бронирования {} пользователем {} на {}", bookingId, userId, approved);
 
+        return optimisticLockRetry.execute(() -> applyStatus(userId, bookingId, approved));
+    }
+
+    /**
+     * Проверяет права и текущий статус бронирования и устанавливает новый статус.
+     *
+     * @param userId    идентификатор пользователя
+     * @param bookingId идентификатор бронирования
+     * @param approved  флаг подтверждения
+     * @return обновленное бронирование в формате DTO
+     */
+    private BookingResponseDto applyStatus(Long userId, Long bookingId, Boolean approved) {
         Booking booking = getBookingOrThrow(bookingId);
         validateBookingOwnership(booking, userId);
         validateBookingStatus(booking);
 
         BookingStatus newStatus = approved ? BookingStatus.APPROVED : BookingStatus.REJECTED;
         booking.setStatus(newStatus);
+        if (newStatus == BookingStatus.REJECTED) {
+            availabilityIndex.release(booking);
+        }
 
-        Booking updatedBooking = bookingRepository.save(booking);
+        Booking updatedBooking = bookingRepository.saveAndFlush(booking);
         return bookingMapper.toResponseDto(updatedBooking);
     }
 
+    /**
+     * Подтверждает или отклоняет несколько бронирований одним запросом.
+     * Владение и текущий статус проверяются одним запросом проекций без загрузки сущностей,
+     * который блокирует бронирования до конца транзакции, а статус меняется одним пакетным обновлением
+     * у бронирований, ожидающих решения. Обновленными отмечаются только бронирования, статус которых
+     * изменил этот вызов; бронирование, статус которого успела изменить параллельная транзакция,
+     * получает результат «статус уже установлен».
+     *
+     * @param userId  идентификатор владельца вещей
+     * @param request идентификаторы бронирований и флаг подтверждения
+     * @return результаты смены статуса по каждому бронированию
+     */
+    @Override
+    @Transactional
+    public List<BookingBatchStatusResultDto> updateStatuses(Long userId, BookingBatchStatusRequestDto request) {
+        log.info("Пакетное обновление статуса {} бронирований пользователем {} на {}",
+                request.bookingIds().size(), userId, request.approved());
+
+        Set<Long> bookingIds = new LinkedHashSet<>(request.bookingIds());
+        Map<Long, BookingStatusView> bookings = bookingRepository.findStatusViewsByIdInForUpdate(bookingIds).stream()
+                .collect(Collectors.toMap(BookingStatusView::getId, Function.identity()));
+
+        Set<Long> waitingIds = bookings.values().stream()
+                .filter(booking -> booking.getOwnerId().equals(userId))
+                .filter(booking -> booking.getStatus() == BookingStatus.WAITING)
+                .map(BookingStatusView::getId)
+                .collect(Collectors.toSet());
+        BookingStatus newStatus = request.approved() ? BookingStatus.APPROVED : BookingStatus.REJECTED;
+        applyStatuses(waitingIds, newStatus);
+
+        if (newStatus == BookingStatus.REJECTED) {
+            waitingIds.forEach(bookingId ->
+                    availabilityIndex.release(bookings.get(bookingId).getItemId(), bookingId));
+        }
+
+        return bookingIds.stream()
+                .map(bookingId -> toBatchResult(bookingId, bookings.get(bookingId), waitingIds.contains(bookingId),
+                        newStatus, userId))
+                .toList();
+    }
+
     /**
      * Находит бронирование по идентификатору.
      *
@@ -121,7 +218,7 @@ public class BookingServiceImpl implements BookingService {
     public List<BookingResponseDto> findByBookerId(Long bookerId, BookingStatus status, Integer from, Integer size) {
         log.info("Поиск бронирований пользователя {} со статусом {}", bookerId, status);
 
-        getUserOrThrow(bookerId);
+        checkUserExists(bookerId);
         Pageable pageable = createPageRequest(from, size);
 
         List<Booking> bookings = getBookingsByBooker(bookerId, status, pageable);
@@ -141,13 +238,119 @@ public class BookingServiceImpl implements BookingService {
     public List<BookingResponseDto> findByOwnerId(Long ownerId, BookingStatus status, Integer from, Integer size) {
         log.info("Поиск бронирований владельца {} со статусом {}", ownerId, status);
 
-        getUserOrThrow(ownerId);
+        checkUserExists(ownerId);
         Pageable pageable = createPageRequest(from, size);
 
         List<Booking> bookings = getBookingsByOwner(ownerId, status, pageable);
         return mapBookingsToDto(bookings);
     }
 
+    /**
+     * Находит бронирования пользователя в указанном состоянии.
+     * Состояния CURRENT, PAST и FUTURE выбираются постраничным запросом по периоду бронирования.
+     *
+     * @param bookerId идентификатор пользователя-арендатора
+     * @param state    состояние бронирования для фильтрации
+     * @param from     начальный индекс для пагинации
+     * @param size     количество элементов на странице
+     * @return список бронирований пользователя
+     */
+    @Override
+    public List<BookingResponseDto> findByBookerIdAndState(Long bookerId, BookingState state,
+                                                           Integer from, Integer size) {
+        if (!state.isTimeWindow()) {
+            return findByBookerId(bookerId, state.getStatus(), from, size);
+        }
+        log.info("Поиск бронирований пользователя {} в состоянии {}", bookerId, state);
+
+        checkUserExists(bookerId);
+        Pageable pageable = OffsetPageRequest.of(from, size);
+        LocalDateTime now = LocalDateTime.now();
+
+        List<Booking> bookings = switch (state) {
+            case CURRENT -> bookingRepository.findCurrentBookingsByBookerId(bookerId, now, pageable);
+            case PAST -> bookingRepository.findPastBookingsByBookerId(bookerId, now, pageable);
+            default -> bookingRepository.findFutureBookingsByBookerId(bookerId, now, pageable);
+        };
+        return mapBookingsToDto(bookings);
+    }
+
+    /**
+     * Находит бронирования для вещей владельца в указанном состоянии.
+     * Состояния CURRENT, PAST и FUTURE выбираются постраничным запросом по периоду бронирования.
+     *
+     * @param ownerId идентификатор владельца вещей
+     * @param state   состояние бронирования для фильтрации
+     * @param from    начальный индекс для пагинации
+     * @param size    количество элементов на странице
+     * @return список бронирований для вещей владельца
+     */
+    @Override
+    public List<BookingResponseDto> findByOwnerIdAndState(Long ownerId, BookingState state,
+                                                          Integer from, Integer size) {
+        if (!state.isTimeWindow()) {
+            return findByOwnerId(ownerId, state.getStatus(), from, size);
+        }
+        log.info("Поиск бронирований владельца {} в состоянии {}", ownerId, state);
+
+        checkUserExists(ownerId);
+        Pageable pageable = OffsetPageRequest.of(from, size);
+        LocalDateTime now = LocalDateTime.now();
+
+        List<Booking> bookings = switch (state) {
+            case CURRENT -> bookingRepository.findCurrentBookingsByOwnerId(ownerId, now, pageable);
+            case PAST -> bookingRepository.findPastBookingsByOwnerId(ownerId, now, pageable);
+            default -> bookingRepository.findFutureBookingsByOwnerId(ownerId, now, pageable);
+        };
+        return mapBookingsToDto(bookings);
+    }
+
+    /**
+     * Находит бронирования пользователя, следующие за курсором.
+     *
+     * @param bookerId идентификатор пользователя-арендатора
+     * @param status   статус бронирования для фильтрации
+     * @param cursor   курсор последнего бронирования предыдущей страницы
+     * @param size     количество элементов на странице
+     * @return список бронирований пользователя
+     */
+    @Override
+    public List<BookingResponseDto> findByBookerIdAfter(Long bookerId, BookingStatus status,
+                                                        BookingCursor cursor, Integer size) {
+        log.info("Поиск бронирований пользователя {} со статусом {} после {}", bookerId, status, cursor);
+
+        checkUserExists(bookerId);
+        Pageable limit = PageRequest.ofSize(size);
+
+        List<Booking> bookings = isStatusFilter(status)
+                ? bookingRepository.findByBookerIdAndStatusBefore(bookerId, status, cursor.start(), cursor.id(), limit)
+                : bookingRepository.findByBookerIdBefore(bookerId, cursor.start(), cursor.id(), limit);
+        return mapBookingsToDto(bookings);
+    }
+
+    /**
+     * Находит бронирования для вещей владельца, следующие за курсором.
+     *
+     * @param ownerId идентификатор владельца вещей
+     * @param status  статус бронирования для фильтрации
+     * @param cursor  курсор последнего бронирования предыдущей страницы
+     * @param size    количество элементов на странице
+     * @return список бронирований для вещей владельца
+     */
+    @Override
+    public List<BookingResponseDto> findByOwnerIdAfter(Long ownerId, BookingStatus status,
+                                                       BookingCursor cursor, Integer size) {
+        log.info("Поиск бронирований владельца {} со статусом {} после {}", ownerId, status, cursor);
+
+        checkUserExists(ownerId);
+        Pageable limit = PageRequest.ofSize(size);
+
+        List<Booking> bookings = isStatusFilter(status)
+                ? bookingRepository.findByItemOwnerIdAndStatusBefore(ownerId, status, cursor.start(), cursor.id(), limit)
+                : bookingRepository.findByItemOwnerIdBefore(ownerId, cursor.start(), cursor.id(), limit);
+        return mapBookingsToDto(bookings);
+    }
+
     /**
      * Получает бронирование по идентификатору или выбрасывает исключение если не найдено.
      *
@@ -161,14 +364,25 @@ public class BookingServiceImpl implements BookingService {
     }
 
     /**
-     * Создает объект пагинации.
+     * Создает объект пагинации по смещению from, даже если оно не кратно size.
+     * Порядок (start, id) по убыванию совпадает с порядком постраничного просмотра по курсору.
      *
      * @param from начальный индекс
      * @param size количество элементов
      * @return объект пагинации
      */
     private Pageable createPageRequest(Integer from, Integer size) {
-        return PageRequest.of(from / size, size, Sort.by(Sort.Direction.DESC, "start"));
+        return OffsetPageRequest.of(from, size, Sort.by(Sort.Direction.DESC, "start", "id"));
+    }
+
+    /**
+     * Проверяет, требуется ли фильтрация бронирований по статусу.
+     *
+     * @param status статус бронирования
+     * @return true если статус задает фильтр
+     */
+    private boolean isStatusFilter(BookingStatus status) {
+        return status != null && status != BookingStatus.ALL;
     }
 
     /**
@@ -275,24 +489,102 @@ public class BookingServiceImpl implements BookingService {
     }
 
     /**
-     * Получает пользователя по идентификатору или выбрасывает исключение если не найден.
+     * Проверяет существование пользователя запросом по идентификатору, не загружая сущность.
+     * Кэш второго уровня для проверки не используется: он локален для экземпляра сервера
+     * и может не знать об удалении пользователя на другом экземпляре.
      *
      * @param userId идентификатор пользователя
-     * @return найденный пользователь
      */
-    private User getUserOrThrow(Long userId) {
-        return userRepository.findById(userId)
-                .orElseThrow(() -> new UserNotFoundException("Пользователь с id=" + userId + " не найден"));
+    private void checkUserExists(Long userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new UserNotFoundException("Пользователь с id=" + userId + " не найден");
+        }
     }
 
     /**
-     * Получает вещь по идентификатору или выбрасывает исключение если не найдена.
+     * Получает вещь из базы данных в обход кэша второго уровня или выбрасывает исключение если не найдена.
+     * Доступность вещи для бронирования проверяется по ее текущему состоянию.
      *
      * @param itemId идентификатор вещи
      * @return найденная вещь
      */
-    private Item getItemOrThrow(Long itemId) {
-        return itemRepository.findById(itemId)
+    private Item getCurrentItemOrThrow(Long itemId) {
+        return itemRepository.findCurrentById(itemId)
                 .orElseThrow(() -> new ItemNotFoundException("Вещь с id=" + itemId + " не найдена"));
     }
+
+    /**
+     * Создает исключение о пересечении периода бронирования с действующим бронированием вещи.
+     *
+     * @param itemId идентификатор вещи
+     * @return исключение о конфликте периодов
+     */
+    private static BookingPeriodConflictException periodConflict(Long itemId) {
+        return new BookingPeriodConflictException("Вещь с id=" + itemId + " уже забронирована на указанный период");
+    }
+
+    /**
+     * Проверяет, вызвано ли нарушение целостности ограничением на пересечение бронирований.
+     * Ограничение действует в PostgreSQL и защищает от конфликтов между несколькими
+     * экземплярами сервера, индексы занятости которых не видят бронирований друг друга.
+     *
+     * @param e исключение нарушения целостности данных
+     * @return true если нарушено ограничение на пересечение периодов бронирования
+     */
+    private static boolean isPeriodConflict(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException
+                    && EXCLUSION_VIOLATION_SQL_STATE.equals(sqlException.getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Меняет статус ожидающих решения бронирований одним пакетным обновлением.
+     * Бронирования заблокированы запросом их статусов, поэтому обновление затрагивает их все.
+     *
+     * @param bookingIds идентификаторы заблокированных бронирований в статусе WAITING
+     * @param newStatus  новый статус
+     * @throws IllegalStateException если статус части бронирований изменился несмотря на блокировку
+     */
+    private void applyStatuses(Set<Long> bookingIds, BookingStatus newStatus) {
+        if (bookingIds.isEmpty()) {
+            return;
+        }
+        int updated = bookingRepository.updateStatuses(bookingIds, BookingStatus.WAITING, newStatus);
+        if (updated != bookingIds.size()) {
+            throw new IllegalStateException("Обновлено " + updated + " из " + bookingIds.size()
+                    + " заблокированных бронирований");
+        }
+    }
+
+    /**
+     * Формирует результат пакетной смены статуса для одного бронирования.
+     *
+     * @param bookingId идентификатор бронирования
+     * @param booking   проекция бронирования или null если оно не найдено
+     * @param updated   true если статус бронирования изменил этот вызов
+     * @param newStatus запрошенный статус
+     * @param userId    идентификатор пользователя
+     * @return результат смены статуса
+     */
+    private static BookingBatchStatusResultDto toBatchResult(Long bookingId, BookingStatusView booking,
+                                                             boolean updated, BookingStatus newStatus,
+                                                             Long userId) {
+        if (booking == null) {
+            return new BookingBatchStatusResultDto(bookingId, false, null,
+                    "Бронирование с id=" + bookingId + " не найдено");
+        }
+        if (!booking.getOwnerId().equals(userId)) {
+            return new BookingBatchStatusResultDto(bookingId, false, null,
+                    "Только владелец вещи может подтверждать бронирование");
+        }
+        if (updated) {
+            return new BookingBatchStatusResultDto(bookingId, true, newStatus, null);
+        }
+        return new BookingBatchStatusResultDto(bookingId, false, booking.getStatus(),
+                "Статус бронирования уже установлен");
+    }
 }
\ No newline at end of file
@@ -0,0 +1,76 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Повторное выполнение транзакционных операций при конфликте оптимистической блокировки.
+ * Каждая попытка выполняется в собственной транзакции и заново читает сущности,
+ * поэтому повтор видит результат конкурирующего изменения. Между попытками выдерживается
+ * пауза, растущая экспоненциально, со случайным разбросом. Если все попытки исчерпаны,
+ * выбрасывается исходное {@link OptimisticLockingFailureException}.
+ */
+@Slf4j
+@Component
+public class OptimisticLockRetry {
+
+    private final TransactionTemplate transactionTemplate;
+    private final int maxAttempts;
+    private final Duration backoff;
+
+    public OptimisticLockRetry(PlatformTransactionManager transactionManager,
+                               @Value("${shareit.optimistic-lock.max-attempts:3}") int maxAttempts,
+                               @Value("${shareit.optimistic-lock.backoff:20ms}") Duration backoff) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxAttempts = maxAttempts;
+        this.backoff = backoff;
+    }
+
+    /**
+     * Выполняет операцию, повторяя ее при конфликте оптимистической блокировки.
+     * Если операция вызвана внутри уже открытой транзакции, она выполняется в ней один раз:
+     * после конфликта такая транзакция может быть только откачена.
+     *
+     * @param action операция
+     * @param <T>    тип результата
+     * @return результат операции
+     * @throws OptimisticLockingFailureException если конфликт сохранился после всех попыток
+     */
+    public <T> T execute(Supplier<T> action) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return action.get();
+        }
+
+        long delay = backoff.toMillis();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> action.get());
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= maxAttempts) {
+                    throw e;
+                }
+                log.debug("Конфликт оптимистической блокировки, попытка {} из {}", attempt, maxAttempts);
+                sleep(delay + ThreadLocalRandom.current().nextLong(delay + 1));
+                delay *= 2;
+            }
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Ожидание повторной попытки прервано", e);
+        }
+    }
+}
\ No newline at end of file
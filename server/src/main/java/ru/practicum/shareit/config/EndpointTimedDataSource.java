@@ -0,0 +1,60 @@
+package ru.practicum.shareit.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Источник данных, который измеряет время получения соединения из пула с тегом эндпоинта.
+ * Общее время ожидания пула без разбивки по эндпоинтам Spring Boot публикует как
+ * {@code hikaricp.connections.acquire}.
+ */
+final class EndpointTimedDataSource extends DelegatingDataSource {
+
+    private final Supplier<MeterRegistry> registry;
+
+    /**
+     * Создает источник данных.
+     *
+     * @param dataSource исходный источник данных
+     * @param registry   реестр метрик, запрашивается при первом получении соединения
+     */
+    EndpointTimedDataSource(DataSource dataSource, Supplier<MeterRegistry> registry) {
+        super(dataSource);
+        this.registry = registry;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        long started = System.nanoTime();
+        try {
+            return super.getConnection();
+        } finally {
+            record(started);
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        long started = System.nanoTime();
+        try {
+            return super.getConnection(username, password);
+        } finally {
+            record(started);
+        }
+    }
+
+    private void record(long started) {
+        Timer.builder(MetricsConfig.CONNECTION_ACQUIRE)
+                .description("Время получения соединения из пула")
+                .tag(RequestEndpoint.TAG, RequestEndpoint.current())
+                .register(registry.get())
+                .record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+    }
+}
\ No newline at end of file
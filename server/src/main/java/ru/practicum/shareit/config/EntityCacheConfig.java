@@ -0,0 +1,94 @@
+package ru.practicum.shareit.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Конфигурация кэша второго уровня Hibernate для пользователей и вещей.
+ * Кэш обслуживает загрузку сущностей по идентификатору, например вещи при ее изменении или автора отзыва.
+ * Каждый регион хранится в ограниченном по размеру кэше Caffeine с вытеснением по TTL,
+ * а Hibernate удаляет из него сущности при их изменении и удалении.
+ * <p>
+ * Кэш локален для JVM: изменения, сделанные другим экземпляром сервера, он не видит до истечения TTL.
+ * Поэтому проверки существования, владения и доступности вещи кэш не используют,
+ * а при включенном кэше с базой данных PostgreSQL может работать только один экземпляр сервера,
+ * что обеспечивает {@link EntityCacheNodeLock}. Для запуска нескольких экземпляров кэш отключается
+ * свойством shareit.entity-cache.enabled=false.
+ */
+@Configuration
+@ConditionalOnProperty(name = "shareit.entity-cache.enabled", havingValue = "true", matchIfMissing = true)
+public class EntityCacheConfig {
+
+    /**
+     * Регионы кэша второго уровня. Кэширование сущностей других регионов не допускается
+     * настройкой hibernate.javax.cache.missing_cache_strategy=fail.
+     */
+    private static final List<String> REGIONS = List.of(User.CACHE_REGION, Item.CACHE_REGION);
+
+    /**
+     * Создает менеджер кэшей для регионов сущностей.
+     * У каждого контекста приложения собственный менеджер, поэтому регионы не пересекаются между контекстами.
+     *
+     * @param maxSize максимальное количество сущностей в регионе
+     * @param ttl     время хранения сущности после загрузки или изменения
+     * @return менеджер кэшей JCache
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager entityCacheManager(@Value("${shareit.entity-cache.max-size:10000}") long maxSize,
+                                           @Value("${shareit.entity-cache.ttl:10m}") Duration ttl) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("shareit-entity-cache-" + UUID.randomUUID()), getClass().getClassLoader());
+
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maxSize));
+        configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        configuration.setStatisticsEnabled(true);
+        REGIONS.forEach(region -> cacheManager.createCache(region, configuration));
+        return cacheManager;
+    }
+
+    /**
+     * Передает Hibernate менеджер кэшей для регионов сущностей.
+     *
+     * @param entityCacheManager менеджер кэшей JCache
+     * @return настройка свойств Hibernate
+     */
+    @Bean
+    public HibernatePropertiesCustomizer entityCacheCustomizer(CacheManager entityCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, entityCacheManager);
+    }
+
+    /**
+     * Закрепляет кэш за этим экземпляром сервера: запуск второго экземпляра с включенным кэшем
+     * на той же базе PostgreSQL завершается ошибкой. Блокировка держится на отдельном соединении вне пула.
+     *
+     * @param dataSourceProperties настройки подключения к базе данных
+     * @return взятая блокировка
+     * @throws SQLException если обращение к базе данных не удалось
+     */
+    @Bean(destroyMethod = "close")
+    EntityCacheNodeLock entityCacheNodeLock(DataSourceProperties dataSourceProperties) throws SQLException {
+        return EntityCacheNodeLock.acquire(dataSourceProperties.initializeDataSourceBuilder()
+                .type(SimpleDriverDataSource.class)
+                .build());
+    }
+}
\ No newline at end of file
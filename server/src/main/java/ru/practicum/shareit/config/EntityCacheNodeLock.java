@@ -0,0 +1,81 @@
+package ru.practicum.shareit.config;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Рекомендательная блокировка PostgreSQL, которая не дает нескольким экземплярам сервера
+ * работать с одной базой данных при включенном кэше второго уровня.
+ * Блокировка уровня сеанса держится на отдельном соединении вне пула до остановки приложения
+ * и снимается базой данных, если соединение оборвется. Для других СУБД блокировка не берется.
+ */
+@Slf4j
+final class EntityCacheNodeLock implements AutoCloseable {
+
+    /**
+     * Ключ блокировки, общий для всех экземпляров сервера.
+     */
+    static final long LOCK_KEY = 0x5348415245495443L;
+
+    private final Connection connection;
+
+    private EntityCacheNodeLock(Connection connection) {
+        this.connection = connection;
+    }
+
+    /**
+     * Берет блокировку на новом соединении источника данных.
+     *
+     * @param dataSource источник данных, выдающий соединения вне пула
+     * @return взятая блокировка
+     * @throws SQLException          если обращение к базе данных не удалось
+     * @throws IllegalStateException если блокировку держит другой экземпляр сервера
+     */
+    static EntityCacheNodeLock acquire(DataSource dataSource) throws SQLException {
+        Connection connection = dataSource.getConnection();
+        try {
+            if (!"PostgreSQL".equals(connection.getMetaData().getDatabaseProductName())) {
+                connection.close();
+                return new EntityCacheNodeLock(null);
+            }
+            if (!execute(connection, "SELECT pg_try_advisory_lock(?)")) {
+                throw new IllegalStateException("Кэш второго уровня уже использует другой экземпляр сервера. "
+                        + "Для запуска нескольких экземпляров задайте shareit.entity-cache.enabled=false");
+            }
+            log.info("Кэш второго уровня закреплен за этим экземпляром сервера");
+            return new EntityCacheNodeLock(connection);
+        } catch (SQLException | RuntimeException e) {
+            connection.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Снимает блокировку и закрывает соединение.
+     *
+     * @throws SQLException если обращение к базе данных не удалось
+     */
+    @Override
+    public void close() throws SQLException {
+        if (connection == null) {
+            return;
+        }
+        try (connection) {
+            execute(connection, "SELECT pg_advisory_unlock(?)");
+        }
+    }
+
+    private static boolean execute(Connection connection, String sql) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setLong(1, LOCK_KEY);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() && resultSet.getBoolean(1);
+            }
+        }
+    }
+}
\ No newline at end of file
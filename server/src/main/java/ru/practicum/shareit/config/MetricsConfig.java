@@ -0,0 +1,128 @@
+package ru.practicum.shareit.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.function.SingletonSupplier;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.util.function.Supplier;
+
+/**
+ * Метрики сервера, которые публикуются в формате Prometheus на /actuator/prometheus:
+ * <ul>
+ *     <li>{@code shareit.service} — время вызова каждого метода сервисов, помеченных {@code @Timed},
+ *     с тегами класса, метода, эндпоинта и исключения;</li>
+ *     <li>{@code shareit.http.statements} — количество SQL-запросов за HTTP-запрос с тегом эндпоинта;</li>
+ *     <li>{@code shareit.jdbc.connections.acquire} — время получения соединения из пула с тегом эндпоинта.</li>
+ * </ul>
+ * Время ожидания соединения из пула без разбивки по эндпоинтам публикует Spring Boot
+ * как {@code hikaricp.connections.acquire}.
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Имя метрики количества SQL-запросов за HTTP-запрос.
+     */
+    public static final String STATEMENTS_PER_REQUEST = "shareit.http.statements";
+
+    /**
+     * Имя метрики времени получения соединения из пула.
+     */
+    public static final String CONNECTION_ACQUIRE = "shareit.jdbc.connections.acquire";
+
+    /**
+     * Создает аспект, измеряющий методы сервисов с аннотацией {@code @Timed}.
+     * Тег эндпоинта позволяет отличить вызов сервиса из разных эндпоинтов.
+     *
+     * @param registry реестр метрик
+     * @return аспект
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry, (ProceedingJoinPoint joinPoint) -> {
+            Signature signature = joinPoint.getStaticPart().getSignature();
+            return Tags.of(
+                    "class", signature.getDeclaringType().getSimpleName(),
+                    "method", signature.getName(),
+                    RequestEndpoint.TAG, RequestEndpoint.current());
+        });
+    }
+
+    /**
+     * Подключает к Hibernate счетчик SQL-запросов текущего HTTP-запроса.
+     *
+     * @return настройка свойств Hibernate
+     */
+    @Bean
+    public HibernatePropertiesCustomizer statementCounterCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new RequestStatementCounter());
+    }
+
+    /**
+     * Оборачивает источники данных, чтобы время получения соединения из пула публиковалось
+     * с тегом эндпоинта. Реестр метрик запрашивается лениво: постпроцессор создается раньше него.
+     *
+     * @param registry поставщик реестра метрик
+     * @return постпроцессор бинов
+     */
+    @Bean
+    public static BeanPostProcessor connectionAcquireMetricsPostProcessor(ObjectProvider<MeterRegistry> registry) {
+        Supplier<MeterRegistry> registrySupplier = SingletonSupplier.of(registry::getObject);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof EndpointTimedDataSource)) {
+                    return new EndpointTimedDataSource(dataSource, registrySupplier);
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Регистрирует перехватчик, который после обработки запроса записывает количество SQL-запросов.
+     *
+     * @param registry реестр метрик
+     * @return настройка Spring MVC
+     */
+    @Bean
+    public WebMvcConfigurer statementMetricsConfigurer(MeterRegistry registry) {
+        HandlerInterceptor interceptor = new HandlerInterceptor() {
+            @Override
+            public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                        Exception ex) {
+                if (handler instanceof HandlerMethod) {
+                    DistributionSummary.builder(STATEMENTS_PER_REQUEST)
+                            .description("Количество SQL-запросов за HTTP-запрос")
+                            .baseUnit("statements")
+                            .tag(RequestEndpoint.TAG, RequestEndpoint.of(request))
+                            .register(registry)
+                            .record(RequestStatementCounter.count(request));
+                }
+            }
+        };
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry interceptors) {
+                interceptors.addInterceptor(interceptor);
+            }
+        };
+    }
+}
\ No newline at end of file
@@ -0,0 +1,49 @@
+package ru.practicum.shareit.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Эндпоинт HTTP-запроса для тега метрик: метод и шаблон пути обработчика, например {@code GET /items/{id}}.
+ * Шаблон вместо фактического пути не дает числу значений тега расти с числом идентификаторов.
+ */
+final class RequestEndpoint {
+
+    /**
+     * Имя тега.
+     */
+    static final String TAG = "endpoint";
+
+    /**
+     * Значение тега для вызовов вне обработки HTTP-запроса.
+     */
+    static final String NONE = "none";
+
+    private RequestEndpoint() {
+    }
+
+    /**
+     * Возвращает эндпоинт запроса, который обрабатывает текущий поток.
+     *
+     * @return эндпоинт или {@link #NONE}
+     */
+    static String current() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            return of(attributes.getRequest());
+        }
+        return NONE;
+    }
+
+    /**
+     * Возвращает эндпоинт запроса.
+     *
+     * @param request HTTP-запрос
+     * @return эндпоинт или {@link #NONE}, если обработчик запроса не найден
+     */
+    static String of(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern == null ? NONE : request.getMethod() + " " + pattern;
+    }
+}
\ No newline at end of file
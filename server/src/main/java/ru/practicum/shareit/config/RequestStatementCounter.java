@@ -0,0 +1,41 @@
+package ru.practicum.shareit.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Считает SQL-запросы, которые Hibernate подготавливает при обработке HTTP-запроса.
+ * Счетчик хранится в атрибуте запроса текущего потока, поэтому учитываются все запросы,
+ * выполненные в потоке обработки HTTP-запроса, включая потоковую выгрузку бронирований,
+ * а запросы вне обработки HTTP-запроса, например при запуске приложения, не учитываются.
+ */
+final class RequestStatementCounter implements StatementInspector {
+
+    private static final String ATTRIBUTE = RequestStatementCounter.class.getName();
+
+    @Override
+    public String inspect(String sql) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            int[] count = (int[]) attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+            if (count == null) {
+                count = new int[1];
+                attributes.setAttribute(ATTRIBUTE, count, RequestAttributes.SCOPE_REQUEST);
+            }
+            count[0]++;
+        }
+        return sql;
+    }
+
+    /**
+     * Возвращает количество SQL-запросов, подготовленных при обработке HTTP-запроса.
+     *
+     * @param request HTTP-запрос
+     * @return количество SQL-запросов
+     */
+    static int count(HttpServletRequest request) {
+        return request.getAttribute(ATTRIBUTE) instanceof int[] count ? count[0] : 0;
+    }
+}
\ No newline at end of file
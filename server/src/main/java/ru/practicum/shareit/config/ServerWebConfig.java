@@ -0,0 +1,28 @@
+package ru.practicum.shareit.config;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+/**
+ * Конфигурация веб-слоя сервера.
+ */
+@Configuration
+public class ServerWebConfig {
+
+    /**
+     * Регистрирует фильтр, добавляющий ETag к ответам на GET запросы вещей и запросов вещей.
+     * Gateway кэширует эти ответы и перепроверяет устаревшие запросом с If-None-Match:
+     * при совпадении ETag сервер отвечает 304 без тела.
+     *
+     * @return регистрация фильтра
+     */
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> serverEtagFilter() {
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registration =
+                new FilterRegistrationBean<>(new ShallowEtagHeaderFilter());
+        registration.addUrlPatterns("/items/*", "/requests/*");
+        return registration;
+    }
+}
\ No newline at end of file
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.exception;
 
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.MissingRequestHeaderException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -7,6 +8,7 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import ru.practicum.shareit.exception.booking.BookingNotFoundException;
 import ru.practicum.shareit.exception.booking.BookingNotOwnedException;
+import ru.practicum.shareit.exception.booking.BookingPeriodConflictException;
 import ru.practicum.shareit.exception.booking.BookingStatusAlreadySetException;
 import ru.practicum.shareit.exception.booking.UnavailableItemException;
 import ru.practicum.shareit.exception.item.CommentNotAllowedException;
@@ -112,6 +114,32 @@ public class GlobalExceptionHandler {
         return new ErrorResponse(ex.getMessage());
     }
 
+    /**
+     * Обрабатывает исключения {@link BookingPeriodConflictException}, возникающие когда
+     * период бронирования пересекается с действующим бронированием вещи.
+     *
+     * @param ex перехваченное исключение
+     * @return структурированный ответ с сообщением об ошибке
+     */
+    @ExceptionHandler(BookingPeriodConflictException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorResponse handleBookingPeriodConflict(BookingPeriodConflictException ex) {
+        return new ErrorResponse(ex.getMessage());
+    }
+
+    /**
+     * Обрабатывает исключения {@link OptimisticLockingFailureException}, возникающие когда
+     * бронирование или вещь были изменены параллельным запросом и повторные попытки исчерпаны.
+     *
+     * @param ex перехваченное исключение
+     * @return структурированный ответ с сообщением об ошибке
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorResponse handleOptimisticLockingFailure(OptimisticLockingFailureException ex) {
+        return new ErrorResponse("Данные были изменены параллельным запросом, повторите попытку");
+    }
+
     /**
      * Обрабатывает исключения {@link CommentNotAllowedException}, возникающие когда
      * пользователь пытается оставить комментарий к вещи, которую не бронировал
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.exception.booking;
+
+/**
+ * Исключение, возникающее когда период бронирования пересекается
+ * с действующим бронированием той же вещи.
+ */
+public class BookingPeriodConflictException extends RuntimeException {
+
+    /**
+     * Создает новое исключение с указанным сообщением.
+     *
+     * @param message детальное сообщение об ошибке
+     */
+    public BookingPeriodConflictException(String message) {
+        super(message);
+    }
+}
\ No newline at end of file
@@ -3,8 +3,10 @@ package ru.practicum.shareit.item.controller;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.item.dto.*;
+import ru.practicum.shareit.item.service.ItemImportService;
 import ru.practicum.shareit.item.service.ItemService;
 
+import java.io.InputStream;
 import java.util.List;
 
 /**
@@ -18,6 +20,7 @@ import java.util.List;
 public class ItemController {
 
     private final ItemService itemService;
+    private final ItemImportService itemImportService;
 
     /**
      * Создает новую вещь.
@@ -32,6 +35,19 @@ public class ItemController {
         return itemService.create(ownerId, itemCreateRequestDto);
     }
 
+    /**
+     * Импортирует вещи владельца из потока NDJSON: одна вещь на строку.
+     *
+     * @param ownerId идентификатор владельца вещей
+     * @param ndjson  тело запроса
+     * @return итоги импорта
+     */
+    @PostMapping(path = "/import", consumes = "application/x-ndjson")
+    public ItemImportResultDto importItems(@RequestHeader("X-Sharer-User-Id") Long ownerId,
+                                           InputStream ndjson) {
+        return itemImportService.importItems(ownerId, ndjson);
+    }
+
     /**
      * Обновляет существующую вещь.
      *
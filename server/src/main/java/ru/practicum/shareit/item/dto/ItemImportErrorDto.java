@@ -0,0 +1,13 @@
+package ru.practicum.shareit.item.dto;
+
+/**
+ * DTO ошибки в строке файла импорта вещей.
+ *
+ * @param line  номер строки, начиная с 1
+ * @param error описание ошибки
+ */
+public record ItemImportErrorDto(
+        long line,
+        String error
+) {
+}
\ No newline at end of file
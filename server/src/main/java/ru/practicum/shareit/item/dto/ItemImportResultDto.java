@@ -0,0 +1,17 @@
+package ru.practicum.shareit.item.dto;
+
+import java.util.List;
+
+/**
+ * DTO с итогами массового импорта вещей.
+ *
+ * @param imported количество добавленных вещей
+ * @param rejected количество отклоненных строк
+ * @param errors   ошибки в отклоненных строках (не более первых 100)
+ */
+public record ItemImportResultDto(
+        int imported,
+        int rejected,
+        List<ItemImportErrorDto> errors
+) {
+}
\ No newline at end of file
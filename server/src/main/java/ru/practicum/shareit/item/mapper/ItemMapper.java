@@ -4,6 +4,10 @@ import org.mapstruct.*;
 import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentView;
+import ru.practicum.shareit.item.repository.ItemView;
+
+import java.util.List;
 
 /**
  * Маппер для преобразования между DTO и сущностью Item.
@@ -22,6 +26,7 @@ public interface ItemMapper {
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "owner", ignore = true)
     @Mapping(target = "requestId", source = "requestId")
+    @Mapping(target = "version", ignore = true)
     Item toEntity(ItemCreateRequestDto dto);
 
     /**
@@ -36,6 +41,40 @@ public interface ItemMapper {
     @Mapping(target = "nextBooking", ignore = true)
     ItemResponseDto toResponseDto(Item item);
 
+    /**
+     * Преобразует проекцию вещи в DTO ответа без отзывов и бронирований.
+     *
+     * @param view проекция вещи
+     * @return DTO ответа
+     */
+    @Mapping(source = "ownerId", target = "owner.id")
+    @Mapping(source = "ownerName", target = "owner.name")
+    @Mapping(source = "ownerEmail", target = "owner.email")
+    @Mapping(target = "comments", ignore = true)
+    @Mapping(target = "lastBooking", ignore = true)
+    @Mapping(target = "nextBooking", ignore = true)
+    ItemResponseDto toResponseDto(ItemView view);
+
+    /**
+     * Преобразует проекцию вещи в DTO ответа с отзывами и бронированиями.
+     *
+     * @param view        проекция вещи
+     * @param comments    отзывы о вещи
+     * @param lastBooking последнее бронирование вещи
+     * @param nextBooking следующее бронирование вещи
+     * @return DTO ответа
+     */
+    @Mapping(source = "view.id", target = "id")
+    @Mapping(source = "view.name", target = "name")
+    @Mapping(source = "view.description", target = "description")
+    @Mapping(source = "view.available", target = "available")
+    @Mapping(source = "view.requestId", target = "requestId")
+    @Mapping(source = "view.ownerId", target = "owner.id")
+    @Mapping(source = "view.ownerName", target = "owner.name")
+    @Mapping(source = "view.ownerEmail", target = "owner.email")
+    ItemResponseDto toResponseDto(ItemView view, List<CommentResponseDto> comments,
+                                  BookingForItemDto lastBooking, BookingForItemDto nextBooking);
+
     /**
      * Обновляет сущность Item данными из DTO обновления.
      *
@@ -45,6 +84,7 @@ public interface ItemMapper {
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "owner", ignore = true)
     @Mapping(target = "requestId", ignore = true)
+    @Mapping(target = "version", ignore = true)
     void updateEntity(ItemUpdateRequestDto dto, @MappingTarget Item entity);
 
     /**
@@ -56,6 +96,14 @@ public interface ItemMapper {
     @Mapping(source = "author.name", target = "authorName")
     CommentResponseDto toCommentResponseDto(Comment comment);
 
+    /**
+     * Преобразует проекцию отзыва в DTO ответа.
+     *
+     * @param view проекция отзыва
+     * @return DTO ответа с комментарием
+     */
+    CommentResponseDto toCommentResponseDto(CommentView view);
+
     /**
      * Преобразует DTO создания в сущность Comment.
      *
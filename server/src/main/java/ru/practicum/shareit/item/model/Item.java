@@ -5,6 +5,8 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import ru.practicum.shareit.user.model.User;
 
 /**
@@ -17,14 +19,22 @@ import ru.practicum.shareit.user.model.User;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Item.CACHE_REGION)
 @Table(name = "items")
 public class Item {
 
+    /**
+     * Регион кэша второго уровня Hibernate для вещей.
+     */
+    public static final String CACHE_REGION = "items";
+
     /**
      * Уникальный идентификатор вещи.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "items_seq")
+    @SequenceGenerator(name = "items_seq", sequenceName = "items_seq", allocationSize = 50)
     private Long id;
 
     /**
@@ -57,4 +67,12 @@ public class Item {
      */
     @Column(name = "request_id")
     private Long requestId;
+
+    /**
+     * Версия вещи для оптимистической блокировки.
+     * Увеличивается при каждом изменении и защищает от потери параллельных обновлений.
+     */
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
 }
\ No newline at end of file
@@ -4,8 +4,10 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.item.dto.CommentResponseDto;
 import ru.practicum.shareit.item.model.Comment;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -16,20 +18,24 @@ import java.util.List;
 public interface CommentRepository extends JpaRepository<Comment, Long> {
 
     /**
-     * Находит все отзывы для вещи.
+     * Находит все отзывы для вещи сразу в виде DTO ответа.
      *
      * @param itemId идентификатор вещи
      * @return список отзывов
      */
-    List<Comment> findByItemId(Long itemId);
+    @Query("SELECT new ru.practicum.shareit.item.dto.CommentResponseDto(c.id, c.text, a.name, c.created) " +
+            "FROM Comment c JOIN c.author a WHERE c.item.id = :itemId ORDER BY c.id")
+    List<CommentResponseDto> findResponseDtosByItemId(@Param("itemId") Long itemId);
 
     /**
-     * Находит все отзывы для списка вещей.
+     * Находит все отзывы для списка вещей вместе с именами авторов в виде проекций.
      *
      * @param itemIds список идентификаторов вещей
      * @return список отзывов
      */
-    List<Comment> findByItemIdIn(List<Long> itemIds);
+    @Query("SELECT new ru.practicum.shareit.item.repository.CommentView(c.id, c.item.id, c.text, a.name, c.created) " +
+            "FROM Comment c JOIN c.author a WHERE c.item.id IN :itemIds ORDER BY c.id")
+    List<CommentView> findViewsByItemIdIn(@Param("itemIds") Collection<Long> itemIds);
 
     /**
      * Проверяет, брал ли пользователь вещь в аренду.
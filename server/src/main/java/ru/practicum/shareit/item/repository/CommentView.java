@@ -0,0 +1,21 @@
+package ru.practicum.shareit.item.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Проекция отзыва с именем автора для пакетной загрузки отзывов нескольких вещей.
+ *
+ * @param id         идентификатор отзыва
+ * @param itemId     идентификатор вещи
+ * @param text       текст отзыва
+ * @param authorName имя автора
+ * @param created    дата и время создания отзыва
+ */
+public record CommentView(
+        Long id,
+        Long itemId,
+        String text,
+        String authorName,
+        LocalDateTime created
+) {
+}
\ No newline at end of file
@@ -0,0 +1,20 @@
+package ru.practicum.shareit.item.repository;
+
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+/**
+ * Пакетная вставка вещей в обход контекста персистентности.
+ * Используется при массовом импорте, где вставка по одной сущности слишком медленна.
+ */
+public interface ItemBatchInsert {
+
+    /**
+     * Вставляет вещи одним пакетом JDBC и проставляет им сгенерированные идентификаторы.
+     * Вставленные вещи не попадают в контекст персистентности. Вызывается внутри транзакции.
+     *
+     * @param items вещи для вставки, у каждой должен быть задан владелец
+     */
+    void insertAll(List<Item> items);
+}
\ No newline at end of file
@@ -0,0 +1,68 @@
+package ru.practicum.shareit.item.repository;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.item.model.Item;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * Реализация пакетной вставки вещей через {@link JdbcTemplate}.
+ * Идентификаторы выдаются тем же генератором Hibernate, что и при сохранении через JPA,
+ * поэтому обе записи используют общие пулы последовательности items_seq,
+ * а все строки пакета отправляются одним вызовом executeBatch.
+ */
+@RequiredArgsConstructor
+public class ItemBatchInsertImpl implements ItemBatchInsert {
+
+    private static final String INSERT_SQL = "INSERT INTO items (id, name, description, available, owner_id, "
+            + "request_id, version) VALUES (?, ?, ?, ?, ?, ?, 0)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+
+    @Override
+    public void insertAll(List<Item> items) {
+        if (items.isEmpty()) {
+            return;
+        }
+
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        IdentifierGenerator generator = (IdentifierGenerator) session.getFactory().getMappingMetamodel()
+                .getEntityDescriptor(Item.class)
+                .getGenerator();
+        for (Item item : items) {
+            item.setId((Long) generator.generate(session, item));
+            item.setVersion(0L);
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Item item = items.get(i);
+                ps.setLong(1, item.getId());
+                ps.setString(2, item.getName());
+                ps.setString(3, item.getDescription());
+                ps.setBoolean(4, item.getAvailable());
+                ps.setLong(5, item.getOwner().getId());
+                if (item.getRequestId() != null) {
+                    ps.setLong(6, item.getRequestId());
+                } else {
+                    ps.setNull(6, Types.BIGINT);
+                }
+            }
+
+            @Override
+            public int getBatchSize() {
+                return items.size();
+            }
+        });
+    }
+}
\ No newline at end of file
@@ -1,27 +1,110 @@
 package ru.practicum.shareit.item.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.item.model.Item;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Репозиторий для работы с вещами.
  * Определяет методы для CRUD операций и поиска вещей.
+ * Эндпоинты чтения получают вещи в виде проекций {@link ItemView}, минуя загрузку сущностей.
  */
 @Repository
-public interface ItemRepository extends JpaRepository<Item, Long> {
+public interface ItemRepository extends JpaRepository<Item, Long>, ItemBatchInsert {
 
     /**
-     * Находит все вещи владельца.
+     * Начало запросов, выбирающих вещи вместе с владельцем сразу в {@link ItemView}.
+     */
+    String VIEW_SELECT = "SELECT new ru.practicum.shareit.item.repository.ItemView(i.id, i.name, i.description, " +
+            "i.available, o.id, o.name, o.email, i.requestId) FROM Item i JOIN i.owner o ";
+
+    /**
+     * Начало запросов, выбирающих вещи вместе с владельцем и версией сразу в {@link ItemSearchRow}.
+     */
+    String SEARCH_ROW_SELECT = "SELECT new ru.practicum.shareit.item.repository.ItemSearchRow(i.id, i.name, " +
+            "i.description, i.available, o.id, o.name, o.email, i.requestId, i.version) FROM Item i JOIN i.owner o ";
+
+    /**
+     * Находит доступные вещи с идентификатором больше заданного по возрастанию идентификатора.
+     * Используется для постраничного построения индекса поиска в памяти.
      *
-     * @param ownerId идентификатор владельца
-     * @return список вещей владельца
+     * @param afterId  идентификатор, после которого начинается страница
+     * @param pageable размер страницы
+     * @return страница доступных вещей
+     */
+    @Query(SEARCH_ROW_SELECT + "WHERE i.available = true AND i.id > :afterId ORDER BY i.id")
+    List<ItemSearchRow> findSearchRowsAfterId(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Находит вещи по идентификаторам вместе с владельцем и версией, порядок не гарантируется.
+     *
+     * @param ids идентификаторы вещей
+     * @return найденные вещи
      */
-    List<Item> findByOwnerId(Long ownerId);
+    @Query(SEARCH_ROW_SELECT + "WHERE i.id IN :ids")
+    List<ItemSearchRow> findSearchRowsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Находит версии вещей с идентификатором больше заданного по возрастанию идентификатора.
+     * Используется для сверки индекса поиска в памяти с базой данных.
+     *
+     * @param afterId  идентификатор, после которого начинается страница
+     * @param pageable размер страницы
+     * @return страница версий вещей
+     */
+    @Query("SELECT new ru.practicum.shareit.item.repository.ItemSearchVersion(i.id, i.version, i.available, " +
+            "o.name, o.email) FROM Item i JOIN i.owner o WHERE i.id > :afterId ORDER BY i.id")
+    List<ItemSearchVersion> findSearchVersionsAfterId(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Находит вещь вместе с владельцем в виде проекции.
+     *
+     * @param id идентификатор вещи
+     * @return проекция вещи
+     */
+    @Query(VIEW_SELECT + "WHERE i.id = :id")
+    Optional<ItemView> findViewById(@Param("id") Long id);
+
+    /**
+     * Находит вещи по идентификаторам в виде проекций, порядок не гарантируется.
+     *
+     * @param ids идентификаторы вещей
+     * @return проекции найденных вещей
+     */
+    @Query(VIEW_SELECT + "WHERE i.id IN :ids")
+    List<ItemView> findViewsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Находит вещь по идентификатору запросом к базе данных, не обращаясь к кэшу второго уровня.
+     * Используется проверками, которые зависят от текущего состояния вещи: кэш локален для экземпляра сервера
+     * и может хранить вещь, измененную на другом экземпляре.
+     *
+     * @param id идентификатор вещи
+     * @return вещь, если найдена
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE"))
+    @Query("SELECT i FROM Item i WHERE i.id = :id")
+    Optional<Item> findCurrentById(@Param("id") Long id);
+
+    /**
+     * Находит вещи владельца с пагинацией в виде проекций.
+     *
+     * @param ownerId  идентификатор владельца
+     * @param pageable параметры пагинации
+     * @return страница вещей владельца
+     */
+    @Query(VIEW_SELECT + "WHERE o.id = :ownerId")
+    List<ItemView> findViewsByOwnerId(@Param("ownerId") Long ownerId, Pageable pageable);
 
     /**
      * Находит вещи по идентификатору запроса.
@@ -31,18 +114,31 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
      */
     List<Item> findByRequestId(Long requestId);
 
+    /**
+     * Находит вещи по идентификаторам запросов вместе с их владельцами в виде проекций.
+     *
+     * @param requestIds идентификаторы запросов
+     * @return список вещей созданных по запросам
+     */
+    @Query(VIEW_SELECT + "WHERE i.requestId IN :requestIds ORDER BY i.id")
+    List<ItemView> findViewsByRequestIdIn(@Param("requestIds") Collection<Long> requestIds);
+
     /**
      * Ищет доступные вещи по тексту в названии или описании.
+     * Вещи, у которых совпадение найдено в названии, идут первыми.
+     * В PostgreSQL условия поиска обслуживаются триграммными GIN-индексами
+     * по lower(name) и lower(description), в H2 выполняются полным просмотром.
      *
-     * @param text текст для поиска
-     * @return список найденных вещей
+     * @param text     текст для поиска
+     * @param pageable параметры пагинации
+     * @return страница найденных вещей
      */
-    @Query("SELECT i FROM Item i " +
+    @Query(VIEW_SELECT +
             "WHERE i.available = true " +
-            "AND (:text IS NULL OR :text = '' OR " +
-            "(LOWER(i.name) LIKE LOWER(CONCAT('%', :text, '%')) " +
-            "OR LOWER(i.description) LIKE LOWER(CONCAT('%', :text, '%'))))")
-    List<Item> searchAvailableItems(@Param("text") String text);
+            "AND (LOWER(i.name) LIKE LOWER(CONCAT('%', :text, '%')) " +
+            "OR LOWER(i.description) LIKE LOWER(CONCAT('%', :text, '%'))) " +
+            "ORDER BY CASE WHEN LOWER(i.name) LIKE LOWER(CONCAT('%', :text, '%')) THEN 0 ELSE 1 END, i.id")
+    List<ItemView> searchAvailableItems(@Param("text") String text, Pageable pageable);
 
     /**
      * Проверяет существование вещи по идентификатору владельца.
@@ -0,0 +1,36 @@
+package ru.practicum.shareit.item.repository;
+
+/**
+ * Проекция вещи вместе с владельцем и версией для индекса поиска в памяти.
+ *
+ * @param id          идентификатор вещи
+ * @param name        название вещи
+ * @param description описание вещи
+ * @param available   доступность вещи для аренды
+ * @param ownerId     идентификатор владельца
+ * @param ownerName   имя владельца
+ * @param ownerEmail  email владельца
+ * @param requestId   идентификатор запроса, по которому создана вещь
+ * @param version     версия вещи
+ */
+public record ItemSearchRow(
+        Long id,
+        String name,
+        String description,
+        Boolean available,
+        Long ownerId,
+        String ownerName,
+        String ownerEmail,
+        Long requestId,
+        Long version
+) {
+
+    /**
+     * Возвращает проекцию вещи для эндпоинтов чтения.
+     *
+     * @return проекция вещи без версии
+     */
+    public ItemView toView() {
+        return new ItemView(id, name, description, available, ownerId, ownerName, ownerEmail, requestId);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,20 @@
+package ru.practicum.shareit.item.repository;
+
+/**
+ * Версия вещи и данные владельца, по которым индекс поиска в памяти сверяется с базой данных
+ * без чтения названий и описаний.
+ *
+ * @param id         идентификатор вещи
+ * @param version    версия вещи
+ * @param available  доступность вещи для аренды
+ * @param ownerName  имя владельца
+ * @param ownerEmail email владельца
+ */
+public record ItemSearchVersion(
+        Long id,
+        Long version,
+        Boolean available,
+        String ownerName,
+        String ownerEmail
+) {
+}
\ No newline at end of file
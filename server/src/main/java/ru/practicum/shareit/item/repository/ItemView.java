@@ -0,0 +1,27 @@
+package ru.practicum.shareit.item.repository;
+
+/**
+ * Проекция вещи вместе с владельцем для эндпоинтов чтения.
+ * Выбирается конструкторным выражением JPQL, поэтому не попадает в контекст персистентности
+ * и не требует снимков для проверки изменений и прокси владельца.
+ *
+ * @param id          идентификатор вещи
+ * @param name        название вещи
+ * @param description описание вещи
+ * @param available   доступность вещи для аренды
+ * @param ownerId     идентификатор владельца
+ * @param ownerName   имя владельца
+ * @param ownerEmail  email владельца
+ * @param requestId   идентификатор запроса, по которому создана вещь
+ */
+public record ItemView(
+        Long id,
+        String name,
+        String description,
+        Boolean available,
+        Long ownerId,
+        String ownerName,
+        String ownerEmail,
+        Long requestId
+) {
+}
\ No newline at end of file
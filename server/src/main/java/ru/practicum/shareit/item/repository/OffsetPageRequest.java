@@ -0,0 +1,93 @@
+package ru.practicum.shareit.item.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Параметры пагинации по смещению: выборка начинается с элемента {@code offset},
+ * даже если смещение не кратно размеру страницы, как у параметров from и size эндпоинтов.
+ * {@link org.springframework.data.domain.PageRequest} округлил бы смещение вниз до начала страницы.
+ *
+ * @param offset индекс первого элемента
+ * @param size   количество элементов
+ * @param sort   сортировка
+ */
+public record OffsetPageRequest(long offset, int size, Sort sort) implements Pageable {
+
+    public OffsetPageRequest {
+        if (offset < 0) {
+            throw new IllegalArgumentException("Смещение не может быть отрицательным");
+        }
+        if (size < 1) {
+            throw new IllegalArgumentException("Размер страницы должен быть больше нуля");
+        }
+    }
+
+    /**
+     * Создает параметры пагинации по смещению без сортировки.
+     *
+     * @param offset индекс первого элемента
+     * @param size   количество элементов
+     * @return параметры пагинации
+     */
+    public static OffsetPageRequest of(long offset, int size) {
+        return new OffsetPageRequest(offset, size, Sort.unsorted());
+    }
+
+    /**
+     * Создает параметры пагинации по смещению.
+     *
+     * @param offset индекс первого элемента
+     * @param size   количество элементов
+     * @param sort   сортировка
+     * @return параметры пагинации
+     */
+    public static OffsetPageRequest of(long offset, int size, Sort sort) {
+        return new OffsetPageRequest(offset, size, sort);
+    }
+
+    @Override
+    public int getPageNumber() {
+        return (int) (offset / size);
+    }
+
+    @Override
+    public int getPageSize() {
+        return size;
+    }
+
+    @Override
+    public long getOffset() {
+        return offset;
+    }
+
+    @Override
+    public Sort getSort() {
+        return sort;
+    }
+
+    @Override
+    public Pageable next() {
+        return new OffsetPageRequest(offset + size, size, sort);
+    }
+
+    @Override
+    public Pageable previousOrFirst() {
+        return hasPrevious() ? new OffsetPageRequest(Math.max(offset - size, 0), size, sort) : first();
+    }
+
+    @Override
+    public Pageable first() {
+        return new OffsetPageRequest(0, size, sort);
+    }
+
+    @Override
+    public Pageable withPage(int pageNumber) {
+        return new OffsetPageRequest((long) pageNumber * size, size, sort);
+    }
+
+    @Override
+    public boolean hasPrevious() {
+        return offset > 0;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,227 @@
+package ru.practicum.shareit.item.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.repository.ItemSearchRow;
+import ru.practicum.shareit.item.repository.ItemSearchVersion;
+import ru.practicum.shareit.item.repository.ItemView;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Поиск вещей по инвертированному индексу в памяти.
+ * Индекс строится из базы данных при запуске приложения: построение выполняется в обработчике
+ * {@link ApplicationReadyEvent}, поэтому приложение сообщает о готовности принимать трафик только после него.
+ * До построения индекса поиск выполняется запросом к базе данных.
+ * Изменения вещей на этом экземпляре сервера применяются к индексу после фиксации транзакции,
+ * изменения на других экземплярах — периодической сверкой версий вещей с базой данных
+ * раз в shareit.item-search.refresh-interval (0 отключает сверку).
+ * Индекс хранит проекции вещей, поэтому страница результатов возвращается без обращения к базе данных.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "shareit.item-search.engine", havingValue = "memory")
+public class InMemoryItemSearchEngine implements ItemSearchEngine {
+
+    private static final int LOAD_BATCH_SIZE = 10_000;
+
+    private final ItemRepository itemRepository;
+    private final ItemSearchEngine fallback;
+    private final Duration refreshInterval;
+    private volatile ItemTrigramIndex index;
+    private volatile ItemTrigramIndex building;
+    private ScheduledExecutorService refresher;
+
+    public InMemoryItemSearchEngine(ItemRepository itemRepository,
+                                    @Value("${shareit.item-search.refresh-interval:30s}") Duration refreshInterval) {
+        this.itemRepository = itemRepository;
+        this.fallback = new SqlItemSearchEngine(itemRepository);
+        this.refreshInterval = refreshInterval;
+    }
+
+    /**
+     * Перестраивает индекс по текущему содержимому базы данных и после первого построения
+     * запускает периодическую сверку индекса с базой данных.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        ItemTrigramIndex next = new ItemTrigramIndex();
+        building = next;
+        try {
+            long afterId = 0;
+            List<ItemSearchRow> page;
+            do {
+                page = itemRepository.findSearchRowsAfterId(afterId, PageRequest.of(0, LOAD_BATCH_SIZE));
+                for (ItemSearchRow row : page) {
+                    next.put(row.toView(), version(row.version()));
+                    afterId = row.id();
+                }
+            } while (page.size() == LOAD_BATCH_SIZE);
+            index = next;
+        } finally {
+            building = null;
+        }
+        log.info("Индекс поиска вещей построен, проиндексировано {} доступных вещей", next.size());
+        startRefresher();
+    }
+
+    /**
+     * Сверяет индекс с базой данных: загружает вещи, версия или владелец которых отличаются от индекса,
+     * и удаляет вещи, которые удалены или стали недоступны. Вещи, измененные на этом экземпляре сервера
+     * во время сверки, не удаляются и не заменяются более старыми версиями.
+     */
+    public synchronized void refresh() {
+        ItemTrigramIndex current = index;
+        if (current == null) {
+            return;
+        }
+        long startedAt = current.modifications();
+        long afterId = 0;
+        List<ItemSearchVersion> page;
+        do {
+            page = itemRepository.findSearchVersionsAfterId(afterId, PageRequest.of(0, LOAD_BATCH_SIZE));
+            long lastId = page.size() < LOAD_BATCH_SIZE ? Long.MAX_VALUE : page.get(page.size() - 1).id();
+            Set<Long> present = new HashSet<>();
+            List<Long> changed = new ArrayList<>();
+            for (ItemSearchVersion row : page) {
+                present.add(row.id());
+                ItemTrigramIndex.Entry entry = current.get(row.id());
+                if (!Boolean.TRUE.equals(row.available())) {
+                    if (entry != null) {
+                        current.removeIfNotNewer(row.id(), version(row.version()), startedAt);
+                    }
+                } else if (entry == null || entry.version() != version(row.version())
+                        || !Objects.equals(entry.item().ownerName(), row.ownerName())
+                        || !Objects.equals(entry.item().ownerEmail(), row.ownerEmail())) {
+                    changed.add(row.id());
+                }
+            }
+            for (long itemId : current.idsBetween(afterId, lastId)) {
+                if (!present.contains(itemId)) {
+                    current.removeIfNotNewer(itemId, Long.MAX_VALUE, startedAt);
+                }
+            }
+            if (!changed.isEmpty()) {
+                itemRepository.findSearchRowsByIdIn(changed)
+                        .forEach(row -> current.put(row.toView(), version(row.version())));
+            }
+            afterId = lastId;
+        } while (page.size() == LOAD_BATCH_SIZE);
+    }
+
+    /**
+     * Проверяет, построен ли индекс.
+     *
+     * @return true, если поиск выполняется по индексу в памяти
+     */
+    public boolean isReady() {
+        return index != null;
+    }
+
+    @Override
+    public List<ItemView> search(String text, int from, int size) {
+        ItemTrigramIndex current = index;
+        if (current == null) {
+            return fallback.search(text, from, size);
+        }
+        return current.search(text, from, size);
+    }
+
+    @Override
+    public void onSaved(Item item) {
+        User owner = item.getOwner();
+        ItemView view = new ItemView(item.getId(), item.getName(), item.getDescription(), item.getAvailable(),
+                owner.getId(), owner.getName(), owner.getEmail(), item.getRequestId());
+        afterCommit(() -> apply(target -> target.put(view, version(item.getVersion()))));
+    }
+
+    @Override
+    public void onDeleted(Long itemId) {
+        afterCommit(() -> apply(target -> target.remove(itemId)));
+    }
+
+    @PreDestroy
+    void stopRefresher() {
+        if (refresher != null) {
+            refresher.shutdownNow();
+        }
+    }
+
+    private void startRefresher() {
+        if (refresher != null || refreshInterval.isZero()) {
+            return;
+        }
+        refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "item-search-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = refreshInterval.toMillis();
+        refresher.scheduleWithFixedDelay(() -> {
+            try {
+                refresh();
+            } catch (RuntimeException e) {
+                log.warn("Не удалось сверить индекс поиска вещей с базой данных", e);
+            }
+        }, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Применяет изменение к текущему индексу и к индексу, который строится в данный момент.
+     *
+     * @param change изменение индекса
+     */
+    private void apply(Consumer<ItemTrigramIndex> change) {
+        // Строящийся индекс читается первым: после его сброса поле index уже указывает на новый индекс
+        ItemTrigramIndex next = building;
+        ItemTrigramIndex current = index;
+        if (current != null) {
+            change.accept(current);
+        }
+        if (next != null && next != current) {
+            change.accept(next);
+        }
+    }
+
+    private static long version(Long version) {
+        return version != null ? version : 0;
+    }
+
+    /**
+     * Выполняет действие после фиксации текущей транзакции или сразу, если транзакции нет.
+     *
+     * @param action изменение индекса
+     */
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
\ No newline at end of file
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.item.service;
+
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
+
+import java.io.InputStream;
+
+/**
+ * Сервис массового импорта вещей.
+ */
+public interface ItemImportService {
+
+    /**
+     * Импортирует вещи владельца из потока NDJSON.
+     * Каждая непустая строка потока содержит одну вещь в формате {@code ItemCreateRequestDto}.
+     * Некорректные строки пропускаются и попадают в отчет, остальные вещи добавляются.
+     *
+     * @param ownerId идентификатор владельца вещей
+     * @param ndjson  поток строк JSON в кодировке UTF-8
+     * @return итоги импорта
+     */
+    ItemImportResultDto importItems(Long ownerId, InputStream ndjson);
+}
\ No newline at end of file
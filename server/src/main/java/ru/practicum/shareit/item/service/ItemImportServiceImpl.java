@@ -0,0 +1,232 @@
+package ru.practicum.shareit.item.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.exception.user.UserNotFoundException;
+import ru.practicum.shareit.item.dto.ItemCreateRequestDto;
+import ru.practicum.shareit.item.dto.ItemImportErrorDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Реализация массового импорта вещей.
+ * Поток читается построчно и не загружается в память целиком. Владелец проверяется один раз,
+ * идентификаторы запросов проверяются одним запросом на пакет и запоминаются до конца импорта.
+ * Каждый пакет вставляется одним пакетом JDBC в собственной транзакции, поэтому при сбое
+ * уже добавленные пакеты сохраняются, а ход импорта записывается в журнал после каждого пакета.
+ */
+@Slf4j
+@Service
+@Timed("shareit.service")
+public class ItemImportServiceImpl implements ItemImportService {
+
+    private static final int MAX_REPORTED_ERRORS = 100;
+    private static final int MAX_NAME_LENGTH = 255;
+
+    private final ItemRepository itemRepository;
+    private final ItemRequestRepository itemRequestRepository;
+    private final UserService userService;
+    private final ItemSearchEngine itemSearchEngine;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public ItemImportServiceImpl(ItemRepository itemRepository,
+                                 ItemRequestRepository itemRequestRepository,
+                                 UserService userService,
+                                 ItemSearchEngine itemSearchEngine,
+                                 ObjectMapper objectMapper,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${shareit.item-import.batch-size:500}") int batchSize) {
+        this.itemRepository = itemRepository;
+        this.itemRequestRepository = itemRequestRepository;
+        this.userService = userService;
+        this.itemSearchEngine = itemSearchEngine;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Импортирует вещи владельца из потока NDJSON.
+     *
+     * @param ownerId идентификатор владельца вещей
+     * @param ndjson  поток строк JSON в кодировке UTF-8
+     * @return итоги импорта
+     * @throws UserNotFoundException если владелец не найден
+     */
+    @Override
+    public ItemImportResultDto importItems(Long ownerId, InputStream ndjson) {
+        log.info("Импорт вещей для пользователя {}", ownerId);
+
+        Import state = new Import(userService.getUserOrThrow(ownerId));
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(ndjson, StandardCharsets.UTF_8))) {
+            String line;
+            long lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                parse(state, lineNumber, line);
+                if (state.pending.size() >= batchSize) {
+                    flush(state, lineNumber);
+                }
+            }
+            flush(state, lineNumber);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось прочитать данные импорта", e);
+        }
+
+        log.info("Импорт вещей для пользователя {} завершен: добавлено {}, отклонено {}",
+                ownerId, state.imported, state.rejected);
+        return new ItemImportResultDto(state.imported, state.rejected, state.errors);
+    }
+
+    /**
+     * Разбирает строку и при отсутствии ошибок ставит вещь в очередь на вставку.
+     */
+    private void parse(Import state, long lineNumber, String line) {
+        ItemCreateRequestDto dto;
+        try {
+            dto = objectMapper.readValue(line, ItemCreateRequestDto.class);
+        } catch (JsonProcessingException e) {
+            state.reject(lineNumber, "Некорректный JSON");
+            return;
+        }
+
+        String error = validate(dto);
+        if (error != null) {
+            state.reject(lineNumber, error);
+            return;
+        }
+
+        Item item = Item.builder()
+                .name(dto.name())
+                .description(dto.description())
+                .available(dto.available())
+                .owner(state.owner)
+                .requestId(dto.requestId())
+                .build();
+        state.pending.add(new PendingItem(lineNumber, item));
+    }
+
+    private static String validate(ItemCreateRequestDto dto) {
+        if (dto == null) {
+            return "Некорректный JSON";
+        }
+        if (dto.name() == null || dto.name().isEmpty()) {
+            return "Название вещи не может быть пустым";
+        }
+        if (dto.name().length() > MAX_NAME_LENGTH) {
+            return "Название вещи не может быть длиннее " + MAX_NAME_LENGTH + " символов";
+        }
+        if (dto.description() == null || dto.description().isEmpty()) {
+            return "Описание вещи не может быть пустым";
+        }
+        if (dto.available() == null) {
+            return "Статус доступности не может быть пустым";
+        }
+        return null;
+    }
+
+    /**
+     * Проверяет запросы вещей из очереди и вставляет допустимые вещи одним пакетом.
+     */
+    private void flush(Import state, long lineNumber) {
+        if (state.pending.isEmpty()) {
+            return;
+        }
+
+        resolveRequestIds(state);
+        List<Item> items = new ArrayList<>(state.pending.size());
+        for (PendingItem pending : state.pending) {
+            Long requestId = pending.item.getRequestId();
+            if (requestId != null && state.unknownRequestIds.contains(requestId)) {
+                state.reject(pending.line, "Запрос с ID " + requestId + " не найден");
+            } else {
+                items.add(pending.item);
+            }
+        }
+        state.pending.clear();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            itemRepository.insertAll(items);
+            items.forEach(itemSearchEngine::onSaved);
+        });
+        state.imported += items.size();
+
+        log.info("Импорт вещей для пользователя {}: обработано строк {}, добавлено {}, отклонено {}",
+                state.owner.getId(), lineNumber, state.imported, state.rejected);
+    }
+
+    private void resolveRequestIds(Import state) {
+        Set<Long> unresolved = new HashSet<>();
+        for (PendingItem pending : state.pending) {
+            Long requestId = pending.item.getRequestId();
+            if (requestId != null
+                    && !state.knownRequestIds.contains(requestId)
+                    && !state.unknownRequestIds.contains(requestId)) {
+                unresolved.add(requestId);
+            }
+        }
+        if (unresolved.isEmpty()) {
+            return;
+        }
+
+        List<Long> existing = itemRequestRepository.findExistingIds(unresolved);
+        state.knownRequestIds.addAll(existing);
+        existing.forEach(unresolved::remove);
+        state.unknownRequestIds.addAll(unresolved);
+    }
+
+    private record PendingItem(long line, Item item) {
+    }
+
+    /**
+     * Состояние одного импорта.
+     */
+    private static final class Import {
+
+        private final User owner;
+        private final List<PendingItem> pending = new ArrayList<>();
+        private final Set<Long> knownRequestIds = new HashSet<>();
+        private final Set<Long> unknownRequestIds = new HashSet<>();
+        private final List<ItemImportErrorDto> errors = new ArrayList<>();
+        private int imported;
+        private int rejected;
+
+        private Import(User owner) {
+            this.owner = owner;
+        }
+
+        private void reject(long line, String error) {
+            rejected++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new ItemImportErrorDto(line, error));
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,40 @@
+package ru.practicum.shareit.item.service;
+
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemView;
+
+import java.util.List;
+
+/**
+ * Механизм поиска доступных вещей по тексту.
+ * Реализация выбирается свойством shareit.item-search.engine: sql (по умолчанию) или memory.
+ */
+public interface ItemSearchEngine {
+
+    /**
+     * Ищет доступные вещи, содержащие текст в названии или описании.
+     * Вещи, у которых совпадение найдено в названии, идут первыми, далее по возрастанию идентификатора.
+     *
+     * @param text текст для поиска
+     * @param from начальная позиция пагинации
+     * @param size количество элементов на странице
+     * @return страница найденных вещей в виде проекций
+     */
+    List<ItemView> search(String text, int from, int size);
+
+    /**
+     * Уведомляет механизм поиска о создании или изменении вещи.
+     *
+     * @param item сохраненная вещь
+     */
+    default void onSaved(Item item) {
+    }
+
+    /**
+     * Уведомляет механизм поиска об удалении вещи.
+     *
+     * @param itemId идентификатор удаленной вещи
+     */
+    default void onDeleted(Long itemId) {
+    }
+}
\ No newline at end of file
@@ -1,9 +1,15 @@
 package ru.practicum.shareit.item.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingAvailabilityIndex;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.item.CommentNotAllowedException;
 import ru.practicum.shareit.exception.item.ItemNotFoundException;
@@ -13,7 +19,10 @@ import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.CommentView;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.repository.ItemView;
+import ru.practicum.shareit.item.repository.OffsetPageRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserService;
@@ -21,12 +30,15 @@ import ru.practicum.shareit.user.service.UserService;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 /**
  * Реализация сервиса для работы с вещами.
  * Обеспечивает бизнес-логику операций CRUD и поиска вещей.
  */
 @Service
+@Timed("shareit.service")
 @RequiredArgsConstructor
 @Slf4j
 @Transactional(readOnly = true)
@@ -34,9 +46,12 @@ public class ItemServiceImpl implements ItemService {
 
     private final ItemRepository itemRepository;
     private final CommentRepository commentRepository;
+    private final BookingRepository bookingRepository;
     private final ItemMapper itemMapper;
     private final UserService userService;
     private final ItemRequestRepository itemRequestRepository;
+    private final BookingAvailabilityIndex bookingAvailabilityIndex;
+    private final ItemSearchEngine itemSearchEngine;
 
     /**
      * Создает новую вещь.
@@ -63,6 +78,7 @@ public class ItemServiceImpl implements ItemService {
         }
 
         Item savedItem = itemRepository.save(item);
+        itemSearchEngine.onSaved(savedItem);
         ItemResponseDto responseDto = itemMapper.toResponseDto(savedItem);
 
         // Добавляем комментарии к ответу
@@ -91,14 +107,12 @@ public class ItemServiceImpl implements ItemService {
     @Override
     @Transactional
     public ItemResponseDto update(Long id, Long ownerId, ItemUpdateRequestDto itemUpdateRequestDto) {
+        checkItemOwner(id, ownerId);
         Item item = getItemOrThrow(id);
 
-        if (!item.getOwner().getId().equals(ownerId)) {
-            throw new ItemNotOwnedByUserException("Вещь с id=" + id + " не найдена у пользователя");
-        }
-
         itemMapper.updateEntity(itemUpdateRequestDto, item);
         Item updatedItem = itemRepository.save(item);
+        itemSearchEngine.onSaved(updatedItem);
         ItemResponseDto responseDto = itemMapper.toResponseDto(updatedItem);
 
         // Добавляем комментарии к ответу
@@ -125,13 +139,11 @@ public class ItemServiceImpl implements ItemService {
     @Override
     @Transactional
     public void delete(Long id, Long ownerId) {
-        Item item = getItemOrThrow(id);
-
-        if (!item.getOwner().getId().equals(ownerId)) {
-            throw new ItemNotOwnedByUserException("Вещь с id=" + id + " не принадлежит пользователю с id=" + ownerId);
-        }
+        checkItemOwner(id, ownerId);
 
         itemRepository.deleteById(id);
+        bookingAvailabilityIndex.evict(id);
+        itemSearchEngine.onDeleted(id);
     }
 
     /**
@@ -190,28 +202,10 @@ public class ItemServiceImpl implements ItemService {
             return Collections.emptyList();
         }
 
-        List<Item> foundItems = itemRepository.searchAvailableItems(text.trim());
+        List<ItemView> foundItems = itemSearchEngine.search(text.trim(), from, size);
         log.info("Найдено {} вещей", foundItems.size());
 
-        return foundItems.stream()
-                .skip(from)
-                .limit(size)
-                .map(item -> {
-                    ItemResponseDto responseDto = itemMapper.toResponseDto(item);
-                    List<CommentResponseDto> comments = getCommentsForItem(item.getId());
-                    return new ItemResponseDto(
-                            responseDto.id(),
-                            responseDto.name(),
-                            responseDto.description(),
-                            responseDto.available(),
-                            responseDto.owner(),
-                            responseDto.requestId(),
-                            comments,
-                            responseDto.lastBooking(),
-                            responseDto.nextBooking()
-                    );
-                })
-                .toList();
+        return toResponseDtos(foundItems, false);
     }
 
     /**
@@ -246,26 +240,17 @@ public class ItemServiceImpl implements ItemService {
 
     /**
      * Находит вещь по идентификатору.
+     * Вещь, владелец и отзывы выбираются сразу в проекции, без загрузки сущностей и минуя кэш второго уровня,
+     * поэтому ответ отражает текущее состояние базы данных, даже если вещь изменили на другом экземпляре сервера.
      *
      * @param id идентификатор вещи
      * @return DTO вещи с комментариями
      */
     @Override
     public ItemResponseDto findById(Long id) {
-        Item item = getItemOrThrow(id);
-        ItemResponseDto responseDto = itemMapper.toResponseDto(item);
-        List<CommentResponseDto> comments = getCommentsForItem(id);
-        return new ItemResponseDto(
-                responseDto.id(),
-                responseDto.name(),
-                responseDto.description(),
-                responseDto.available(),
-                responseDto.owner(),
-                responseDto.requestId(),
-                comments,
-                responseDto.lastBooking(),
-                responseDto.nextBooking()
-        );
+        ItemView item = itemRepository.findViewById(id)
+                .orElseThrow(() -> new ItemNotFoundException("Вещь с id=" + id + " не найдена"));
+        return itemMapper.toResponseDto(item, getCommentsForItem(id), null, null);
     }
 
     /**
@@ -280,31 +265,63 @@ public class ItemServiceImpl implements ItemService {
     public List<ItemResponseDto> findByOwnerId(Long ownerId, Integer from, Integer size) {
         log.info("Поиск вещей пользователя {} с пагинацией from={}, size={}", ownerId, from, size);
 
-        userService.getUserOrThrow(ownerId);
-        List<Item> items = itemRepository.findByOwnerId(ownerId);
+        userService.checkUserExists(ownerId);
+        Pageable pageable = OffsetPageRequest.of(from, size, Sort.by(Sort.Direction.ASC, "id"));
+        List<ItemView> items = itemRepository.findViewsByOwnerId(ownerId, pageable);
         log.info("Найдено {} вещей пользователя {}", items.size(), ownerId);
 
+        return toResponseDtos(items, true);
+    }
+
+    /**
+     * Преобразует страницу проекций вещей в DTO, дополняя их комментариями и, при необходимости,
+     * последним и следующим бронированием.
+     * Данные загружаются пакетно для всей страницы, поэтому количество запросов
+     * не зависит от количества вещей.
+     *
+     * @param items        вещи для преобразования
+     * @param withBookings нужно ли заполнять последнее и следующее бронирование
+     * @return список DTO вещей в исходном порядке
+     */
+    private List<ItemResponseDto> toResponseDtos(List<ItemView> items, boolean withBookings) {
+        if (items.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<Long> itemIds = items.stream()
+                .map(ItemView::id)
+                .toList();
+        Map<Long, List<CommentResponseDto>> comments = commentRepository.findViewsByItemIdIn(itemIds).stream()
+                .collect(Collectors.groupingBy(CommentView::itemId,
+                        Collectors.mapping(itemMapper::toCommentResponseDto, Collectors.toList())));
+        Map<Long, BookingForItemDto> lastBookings = withBookings
+                ? toBookingsByItemId(bookingRepository.findLastBookingsForItems(itemIds))
+                : Collections.emptyMap();
+        Map<Long, BookingForItemDto> nextBookings = withBookings
+                ? toBookingsByItemId(bookingRepository.findNextBookingsForItems(itemIds))
+                : Collections.emptyMap();
+
         return items.stream()
-                .skip(from)
-                .limit(size)
-                .map(item -> {
-                    ItemResponseDto responseDto = itemMapper.toResponseDto(item);
-                    List<CommentResponseDto> comments = getCommentsForItem(item.getId());
-                    return new ItemResponseDto(
-                            responseDto.id(),
-                            responseDto.name(),
-                            responseDto.description(),
-                            responseDto.available(),
-                            responseDto.owner(),
-                            responseDto.requestId(),
-                            comments,
-                            responseDto.lastBooking(),
-                            responseDto.nextBooking()
-                    );
-                })
+                .map(item -> itemMapper.toResponseDto(item,
+                        comments.getOrDefault(item.id(), Collections.emptyList()),
+                        lastBookings.get(item.id()),
+                        nextBookings.get(item.id())))
                 .toList();
     }
 
+    /**
+     * Группирует бронирования по идентификатору вещи.
+     *
+     * @param bookings список бронирований
+     * @return бронирования в кратком формате по идентификатору вещи
+     */
+    private Map<Long, BookingForItemDto> toBookingsByItemId(List<Booking> bookings) {
+        return bookings.stream()
+                .collect(Collectors.toMap(booking -> booking.getItem().getId(),
+                        booking -> new BookingForItemDto(booking.getId(), booking.getBooker().getId()),
+                        (first, second) -> first));
+    }
+
     /**
      * Находит все комментарии для вещи.
      *
@@ -312,9 +329,26 @@ public class ItemServiceImpl implements ItemService {
      * @return список DTO комментариев для вещи
      */
     private List<CommentResponseDto> getCommentsForItem(Long itemId) {
-        List<Comment> comments = commentRepository.findByItemId(itemId);
-        return comments != null ? comments.stream()
-                .map(itemMapper::toCommentResponseDto)
-                .toList() : Collections.emptyList();
+        return commentRepository.findResponseDtosByItemId(itemId);
+    }
+
+    /**
+     * Проверяет, что вещь принадлежит пользователю, запросом к базе данных без загрузки вещи.
+     * Существование вещи проверяется отдельно только после неудачной проверки владельца,
+     * чтобы отличить отсутствующую вещь от чужой.
+     *
+     * @param id      идентификатор вещи
+     * @param ownerId идентификатор предполагаемого владельца
+     * @throws ItemNotFoundException       если вещь не найдена
+     * @throws ItemNotOwnedByUserException если вещь принадлежит другому пользователю
+     */
+    private void checkItemOwner(Long id, Long ownerId) {
+        if (itemRepository.existsByIdAndOwnerId(id, ownerId)) {
+            return;
+        }
+        if (!itemRepository.existsById(id)) {
+            throw new ItemNotFoundException("Вещь с id=" + id + " не найдена");
+        }
+        throw new ItemNotOwnedByUserException("Вещь с id=" + id + " не принадлежит пользователю с id=" + ownerId);
     }
 }
\ No newline at end of file
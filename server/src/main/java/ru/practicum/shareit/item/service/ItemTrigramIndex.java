@@ -0,0 +1,327 @@
+package ru.practicum.shareit.item.service;
+
+import ru.practicum.shareit.item.repository.ItemView;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Инвертированный индекс доступных вещей по триграммам названия и описания.
+ * Для каждой триграммы хранится отсортированный массив идентификаторов вещей.
+ * Кандидаты находятся пересечением списков триграмм запроса и затем проверяются
+ * на вхождение подстроки, поэтому результат совпадает с поиском через LIKE '%text%'.
+ * Вместе с триграммами хранятся проекция и версия каждой вещи, поэтому страница результатов
+ * возвращается без обращения к базе данных, а вещь не заменяется данными более старой версии.
+ * Каждое изменение индекса получает порядковый номер, по которому сверка с базой данных
+ * отличает вещи, измененные после ее начала.
+ * Индекс потокобезопасен: поиск выполняется под блокировкой чтения, изменения под блокировкой записи.
+ */
+public class ItemTrigramIndex {
+
+    private static final int GRAM_LENGTH = 3;
+
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private final PostingList allItems = new PostingList();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private long modifications;
+
+    /**
+     * Добавляет или обновляет вещь в индексе, если в нем нет более новой версии вещи.
+     * Недоступные вещи удаляются из индекса.
+     *
+     * @param item    проекция вещи
+     * @param version версия вещи
+     */
+    public void put(ItemView item, long version) {
+        lock.writeLock().lock();
+        try {
+            Document current = documents.get(item.id());
+            if (current != null && current.version() > version) {
+                return;
+            }
+            removeDocument(item.id());
+            modifications++;
+            if (!Boolean.TRUE.equals(item.available())) {
+                return;
+            }
+            Document document = new Document(item, normalize(item.name()), normalize(item.description()),
+                    version, modifications);
+            documents.put(item.id(), document);
+            allItems.add(item.id());
+            for (String gram : document.grams()) {
+                postings.computeIfAbsent(gram, key -> new PostingList()).add(item.id());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Удаляет вещь из индекса.
+     *
+     * @param itemId идентификатор вещи
+     */
+    public void remove(Long itemId) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(itemId);
+            modifications++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Удаляет вещь из индекса, если ее версия в индексе не новее указанной
+     * и вещь не изменялась после изменения индекса с указанным номером.
+     *
+     * @param itemId       идентификатор вещи
+     * @param version      версия вещи в базе данных
+     * @param modification номер изменения индекса, после которого вещь не удаляется
+     */
+    public void removeIfNotNewer(Long itemId, long version, long modification) {
+        lock.writeLock().lock();
+        try {
+            Document current = documents.get(itemId);
+            if (current != null && current.version() <= version && current.modification() <= modification) {
+                removeDocument(itemId);
+                modifications++;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Возвращает вещь из индекса вместе с ее версией.
+     *
+     * @param itemId идентификатор вещи
+     * @return вещь с версией или null, если вещи нет в индексе
+     */
+    public Entry get(Long itemId) {
+        lock.readLock().lock();
+        try {
+            Document document = documents.get(itemId);
+            return document != null ? new Entry(document.item(), document.version()) : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Возвращает идентификаторы вещей индекса из полуинтервала (afterId, toId] по возрастанию.
+     *
+     * @param afterId идентификатор, после которого начинается интервал
+     * @param toId    последний идентификатор интервала
+     * @return идентификаторы вещей
+     */
+    public long[] idsBetween(long afterId, long toId) {
+        lock.readLock().lock();
+        try {
+            return allItems.between(afterId, toId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Возвращает номер последнего изменения индекса.
+     *
+     * @return количество изменений индекса
+     */
+    public long modifications() {
+        lock.readLock().lock();
+        try {
+            return modifications;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ищет вещи, содержащие текст в названии или описании.
+     * Вещи с совпадением в названии идут первыми, далее по возрастанию идентификатора.
+     *
+     * @param text текст для поиска
+     * @param from начальная позиция пагинации
+     * @param size количество элементов на странице
+     * @return проекции вещей на странице
+     */
+    public List<ItemView> search(String text, int from, int size) {
+        String query = normalize(text);
+        int limit = from + size;
+
+        lock.readLock().lock();
+        try {
+            List<PostingList> lists = new ArrayList<>();
+            for (String gram : grams(query)) {
+                PostingList list = postings.get(gram);
+                if (list == null) {
+                    return Collections.emptyList();
+                }
+                lists.add(list);
+            }
+            if (lists.isEmpty()) {
+                lists.add(allItems);
+            }
+            lists.sort(Comparator.comparingInt(PostingList::size));
+
+            PostingList candidates = lists.get(0);
+            List<ItemView> nameMatches = new ArrayList<>();
+            List<ItemView> descriptionMatches = new ArrayList<>();
+            for (int i = 0; i < candidates.size() && nameMatches.size() < limit; i++) {
+                long itemId = candidates.get(i);
+                if (!containsInAll(lists, itemId)) {
+                    continue;
+                }
+                Document document = documents.get(itemId);
+                if (document.name().contains(query)) {
+                    nameMatches.add(document.item());
+                } else if (document.description().contains(query) && descriptionMatches.size() < limit) {
+                    descriptionMatches.add(document.item());
+                }
+            }
+
+            nameMatches.addAll(descriptionMatches);
+            if (from >= nameMatches.size()) {
+                return Collections.emptyList();
+            }
+            return List.copyOf(nameMatches.subList(from, Math.min(limit, nameMatches.size())));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Возвращает количество вещей в индексе.
+     *
+     * @return количество проиндексированных вещей
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeDocument(Long itemId) {
+        Document document = documents.remove(itemId);
+        if (document == null) {
+            return;
+        }
+        allItems.remove(itemId);
+        for (String gram : document.grams()) {
+            PostingList list = postings.get(gram);
+            list.remove(itemId);
+            if (list.size() == 0) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    private static boolean containsInAll(List<PostingList> lists, long itemId) {
+        for (int i = 1; i < lists.size(); i++) {
+            if (!lists.get(i).contains(itemId)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    /**
+     * Вещь индекса вместе с ее версией.
+     *
+     * @param item    проекция вещи
+     * @param version версия вещи
+     */
+    public record Entry(ItemView item, long version) {
+    }
+
+    /**
+     * Проиндексированная вещь: проекция, поля в нижнем регистре, версия и номер изменения индекса.
+     */
+    private record Document(ItemView item, String name, String description, long version, long modification) {
+
+        private Set<String> grams() {
+            Set<String> grams = ItemTrigramIndex.grams(name);
+            grams.addAll(ItemTrigramIndex.grams(description));
+            return grams;
+        }
+    }
+
+    /**
+     * Отсортированный по возрастанию список идентификаторов вещей на примитивном массиве.
+     */
+    private static final class PostingList {
+        private long[] ids = new long[4];
+        private int size;
+
+        private void add(long id) {
+            int position = size == 0 || ids[size - 1] < id ? size : Arrays.binarySearch(ids, 0, size, id);
+            if (position >= 0 && position < size) {
+                return;
+            }
+            int insertAt = position >= 0 ? position : -position - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            ids[insertAt] = id;
+            size++;
+        }
+
+        private void remove(long id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position < 0) {
+                return;
+            }
+            System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+            size--;
+        }
+
+        private boolean contains(long id) {
+            return Arrays.binarySearch(ids, 0, size, id) >= 0;
+        }
+
+        private long get(int index) {
+            return ids[index];
+        }
+
+        private long[] between(long afterId, long toId) {
+            int from = Arrays.binarySearch(ids, 0, size, afterId);
+            from = from >= 0 ? from + 1 : -from - 1;
+            int to = Arrays.binarySearch(ids, 0, size, toId);
+            to = to >= 0 ? to + 1 : -to - 1;
+            return Arrays.copyOfRange(ids, from, Math.max(from, to));
+        }
+
+        private int size() {
+            return size;
+        }
+    }
+}
\ No newline at end of file
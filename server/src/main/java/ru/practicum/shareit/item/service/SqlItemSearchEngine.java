@@ -0,0 +1,26 @@
+package ru.practicum.shareit.item.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.repository.ItemView;
+import ru.practicum.shareit.item.repository.OffsetPageRequest;
+
+import java.util.List;
+
+/**
+ * Поиск вещей запросом к базе данных.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.item-search.engine", havingValue = "sql", matchIfMissing = true)
+public class SqlItemSearchEngine implements ItemSearchEngine {
+
+    private final ItemRepository itemRepository;
+
+    @Override
+    public List<ItemView> search(String text, int from, int size) {
+        return itemRepository.searchAvailableItems(text, OffsetPageRequest.of(from, size));
+    }
+}
\ No newline at end of file
@@ -2,10 +2,14 @@ package ru.practicum.shareit.request.repository;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.request.model.ItemRequest;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Репозиторий для работы с запросами вещей.
@@ -15,21 +19,36 @@ import java.util.List;
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
 
     /**
-     * Находит запросы пользователя, отсортированные по дате создания (новые сначала).
+     * Находит запрос в виде проекции без загрузки сущности.
+     *
+     * @param id идентификатор запроса
+     * @return проекция запроса
+     */
+    @Query("SELECT new ru.practicum.shareit.request.repository.ItemRequestView(r.id, r.description, r.created) " +
+            "FROM ItemRequest r WHERE r.id = :id")
+    Optional<ItemRequestView> findViewById(@Param("id") Long id);
+
+    /**
+     * Находит запросы пользователя в виде проекций, отсортированные по дате создания (новые сначала).
      *
      * @param requestorId идентификатор пользователя
-     * @return список запросов
+     * @return список проекций запросов
      */
-    List<ItemRequest> findByRequestorIdOrderByCreatedDesc(Long requestorId);
+    @Query("SELECT new ru.practicum.shareit.request.repository.ItemRequestView(r.id, r.description, r.created) " +
+            "FROM ItemRequest r WHERE r.requestor.id = :requestorId ORDER BY r.created DESC")
+    List<ItemRequestView> findViewsByRequestorIdOrderByCreatedDesc(@Param("requestorId") Long requestorId);
 
     /**
-     * Находит запросы других пользователей, отсортированные по дате создания (новые сначала).
+     * Находит запросы других пользователей в виде проекций без загрузки сущностей.
+     * Сортировка задается параметрами пагинации.
      *
      * @param requestorId идентификатор пользователя для исключения
      * @param pageable    параметры пагинации
-     * @return список запросов
+     * @return список проекций запросов
      */
-    List<ItemRequest> findByRequestorIdNot(Long requestorId, Pageable pageable);
+    @Query("SELECT new ru.practicum.shareit.request.repository.ItemRequestView(r.id, r.description, r.created) " +
+            "FROM ItemRequest r WHERE r.requestor.id <> :requestorId")
+    List<ItemRequestView> findViewsByRequestorIdNot(@Param("requestorId") Long requestorId, Pageable pageable);
 
     /**
      * Проверяет существование запроса по идентификатору.
@@ -38,4 +57,13 @@ public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long>
      * @return true если запрос существует
      */
     boolean existsById(Long requestId);
+
+    /**
+     * Возвращает те из переданных идентификаторов, для которых существуют запросы.
+     *
+     * @param ids идентификаторы запросов
+     * @return идентификаторы существующих запросов
+     */
+    @Query("SELECT r.id FROM ItemRequest r WHERE r.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
 }
\ No newline at end of file
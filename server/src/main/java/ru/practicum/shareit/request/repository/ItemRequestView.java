@@ -0,0 +1,17 @@
+package ru.practicum.shareit.request.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Проекция запроса вещи без данных автора запроса.
+ *
+ * @param id          идентификатор запроса
+ * @param description текст запроса
+ * @param created     дата и время создания запроса
+ */
+public record ItemRequestView(
+        Long id,
+        String description,
+        LocalDateTime created
+) {
+}
\ No newline at end of file
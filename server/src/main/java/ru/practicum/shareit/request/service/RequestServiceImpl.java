@@ -1,5 +1,6 @@
 package ru.practicum.shareit.request.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
@@ -10,22 +11,27 @@ import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.repository.ItemView;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.mapper.ItemRequestMapper;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.request.repository.ItemRequestView;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 /**
  * Реализация сервиса для работы с запросами вещей.
  * Обрабатывает бизнес-логику создания и получения запросов вещей.
  */
 @Service
+@Timed("shareit.service")
 @RequiredArgsConstructor
 @Slf4j
 @Transactional(readOnly = true)
@@ -56,7 +62,9 @@ public class RequestServiceImpl implements RequestService {
         itemRequest.setCreated(LocalDateTime.now());
 
         ItemRequest savedRequest = itemRequestRepository.save(itemRequest);
-        return enrichWithItems(savedRequest);
+        ItemRequestView view = new ItemRequestView(savedRequest.getId(), savedRequest.getDescription(),
+                savedRequest.getCreated());
+        return enrichWithItems(List.of(view)).getFirst();
     }
 
     /**
@@ -70,12 +78,10 @@ public class RequestServiceImpl implements RequestService {
     public List<ItemRequestDto> getOwnItemRequests(Long userId) {
         log.info("Получение собственных запросов пользователя {}", userId);
 
-        getUserOrThrow(userId);
-        List<ItemRequest> requests = itemRequestRepository.findByRequestorIdOrderByCreatedDesc(userId);
+        checkUserExists(userId);
+        List<ItemRequestView> requests = itemRequestRepository.findViewsByRequestorIdOrderByCreatedDesc(userId);
 
-        return requests.stream()
-                .map(this::enrichWithItems)
-                .toList();
+        return enrichWithItems(requests);
     }
 
     /**
@@ -92,15 +98,13 @@ public class RequestServiceImpl implements RequestService {
     public List<ItemRequestDto> getAllItemRequests(Long userId, Integer from, Integer size) {
         log.info("Получение запросов других пользователей для userId={}, from={}, size={}", userId, from, size);
 
-        getUserOrThrow(userId);
+        checkUserExists(userId);
         validatePaginationParams(from, size);
 
         PageRequest pageRequest = PageRequest.of(from / size, size, Sort.by(Sort.Direction.DESC, "created"));
-        List<ItemRequest> requests = itemRequestRepository.findByRequestorIdNot(userId, pageRequest);
+        List<ItemRequestView> requests = itemRequestRepository.findViewsByRequestorIdNot(userId, pageRequest);
 
-        return requests != null ? requests.stream()
-                .map(this::enrichWithItems)
-                .toList() : Collections.emptyList();
+        return enrichWithItems(requests);
     }
 
     /**
@@ -115,30 +119,40 @@ public class RequestServiceImpl implements RequestService {
     public ItemRequestDto getItemRequestById(Long requestId, Long userId) {
         log.info("Получение запроса по ID {} для пользователя {}", requestId, userId);
 
-        getUserOrThrow(userId);
-        ItemRequest itemRequest = itemRequestRepository.findById(requestId)
+        checkUserExists(userId);
+        ItemRequestView itemRequest = itemRequestRepository.findViewById(requestId)
                 .orElseThrow(() -> new NotFoundException("Запрос с ID " + requestId + " не найден"));
 
-        return enrichWithItems(itemRequest);
+        return enrichWithItems(List.of(itemRequest)).getFirst();
     }
 
     /**
-     * Обогащает DTO запроса информацией о вещах, связанных с этим запросом.
+     * Обогащает DTO запросов информацией о вещах, связанных с этими запросами.
+     * Вещи всех запросов загружаются одним запросом к базе данных сразу в виде проекций.
      *
-     * @param itemRequest сущность запроса
-     * @return DTO запроса с дополнительной информацией о связанных вещах
+     * @param itemRequests проекции запросов
+     * @return DTO запросов с дополнительной информацией о связанных вещах в исходном порядке
      */
-    private ItemRequestDto enrichWithItems(ItemRequest itemRequest) {
-        List<ItemResponseDto> items = itemRepository.findByRequestId(itemRequest.getId()).stream()
-                .map(itemMapper::toResponseDto)
-                .toList();
+    private List<ItemRequestDto> enrichWithItems(List<ItemRequestView> itemRequests) {
+        if (itemRequests.isEmpty()) {
+            return Collections.emptyList();
+        }
 
-        return ItemRequestDto.builder()
-                .id(itemRequest.getId())
-                .description(itemRequest.getDescription())
-                .created(itemRequest.getCreated())
-                .items(items != null ? items : Collections.emptyList())
-                .build();
+        List<Long> requestIds = itemRequests.stream()
+                .map(ItemRequestView::id)
+                .toList();
+        Map<Long, List<ItemResponseDto>> itemsByRequestId = itemRepository.findViewsByRequestIdIn(requestIds).stream()
+                .collect(Collectors.groupingBy(ItemView::requestId,
+                        Collectors.mapping(itemMapper::toResponseDto, Collectors.toList())));
+
+        return itemRequests.stream()
+                .map(itemRequest -> ItemRequestDto.builder()
+                        .id(itemRequest.id())
+                        .description(itemRequest.description())
+                        .created(itemRequest.created())
+                        .items(itemsByRequestId.getOrDefault(itemRequest.id(), Collections.emptyList()))
+                        .build())
+                .toList();
     }
 
     /**
@@ -153,6 +167,20 @@ public class RequestServiceImpl implements RequestService {
                 .orElseThrow(() -> new NotFoundException("Пользователь с ID " + userId + " не найден"));
     }
 
+    /**
+     * Проверяет существование пользователя запросом по идентификатору, не загружая сущность.
+     * Кэш второго уровня для проверки не используется: он локален для экземпляра сервера
+     * и может не знать об удалении пользователя на другом экземпляре.
+     *
+     * @param userId идентификатор пользователя
+     * @throws NotFoundException если пользователь с указанным идентификатором не найден
+     */
+    private void checkUserExists(Long userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new NotFoundException("Пользователь с ID " + userId + " не найден");
+        }
+    }
+
     /**
      * Проверяет параметры пагинации на валидность.
      *
@@ -61,6 +61,14 @@ public interface UserService {
      */
     User getUserOrThrow(Long id);
 
+    /**
+     * Проверяет существование пользователя запросом к базе данных, не загружая сущность.
+     *
+     * @param id идентификатор пользователя
+     * @throws UserNotFoundException если пользователь не найден
+     */
+    void checkUserExists(Long id);
+
     /**
      * Находит всех пользователей в системе.
      *
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.user.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -22,6 +23,7 @@ import java.util.List;
  */
 @Slf4j
 @Service
+@Timed("shareit.service")
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class UserServiceImpl implements UserService {
@@ -124,6 +126,21 @@ public class UserServiceImpl implements UserService {
                 .orElseThrow(() -> new UserNotFoundException("Пользователь с id=" + id + " не найден"));
     }
 
+    /**
+     * Проверяет существование пользователя запросом по идентификатору, не загружая сущность.
+     * Кэш второго уровня для проверки не используется: он локален для экземпляра сервера
+     * и может не знать об удалении пользователя на другом экземпляре.
+     *
+     * @param id идентификатор пользователя
+     * @throws UserNotFoundException если пользователь не найден
+     */
+    @Override
+    public void checkUserExists(Long id) {
+        if (!userRepository.existsById(id)) {
+            throw new UserNotFoundException("Пользователь с id=" + id + " не найден");
+        }
+    }
+
     /**
      * Находит всех пользователей в системе.
      *
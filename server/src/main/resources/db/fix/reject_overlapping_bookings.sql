@@ -0,0 +1,22 @@
+-- Разовое исправление данных перед миграцией V4 на PostgreSQL. Flyway этот скрипт не применяет:
+-- он запускается вручную, если V4 прервалась из-за пересекающихся действующих бронирований.
+-- Из каждой пары пересекающихся бронирований вещи отклоняется ожидающее подтверждения,
+-- а при равных статусах — начинающееся позже. Отклоненные бронирования возвращаются для проверки.
+BEGIN;
+
+LOCK TABLE bookings IN SHARE ROW EXCLUSIVE MODE;
+
+UPDATE bookings b
+SET status = 'REJECTED'
+WHERE b.status IN ('WAITING', 'APPROVED')
+  AND EXISTS (SELECT 1
+              FROM bookings o
+              WHERE o.item_id = b.item_id
+                AND o.id <> b.id
+                AND o.status IN ('WAITING', 'APPROVED')
+                AND tsrange(o.start_date, o.end_date) && tsrange(b.start_date, b.end_date)
+                AND (o.status = 'APPROVED' AND b.status = 'WAITING'
+                    OR o.status = b.status AND (o.start_date, o.id) < (b.start_date, b.id)))
+RETURNING b.id, b.item_id, b.start_date, b.end_date;
+
+COMMIT;
\ No newline at end of file
@@ -0,0 +1,32 @@
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+LOCK TABLE bookings IN SHARE ROW EXCLUSIVE MODE;
+
+-- Миграция не меняет данные: если у вещи есть пересекающиеся действующие бронирования,
+-- она прерывается со списком пар, которые нужно разрешить до повторного запуска
+DO
+$$
+DECLARE
+    conflicts TEXT;
+BEGIN
+    SELECT string_agg(format('%s и %s (вещь %s)', a.id, b.id, a.item_id), ', ' ORDER BY a.id, b.id)
+    INTO conflicts
+    FROM bookings a
+             JOIN bookings b ON b.item_id = a.item_id AND b.id > a.id
+    WHERE a.status IN ('WAITING', 'APPROVED')
+      AND b.status IN ('WAITING', 'APPROVED')
+      AND tsrange(a.start_date, a.end_date) && tsrange(b.start_date, b.end_date);
+
+    IF conflicts IS NOT NULL THEN
+        RAISE EXCEPTION 'Пересекающиеся действующие бронирования не позволяют добавить bookings_item_period_excl: %',
+            conflicts
+            USING HINT = 'Отклоните одно бронирование из каждой пары, например скриптом '
+                || 'db/fix/reject_overlapping_bookings.sql, и повторите миграцию';
+    END IF;
+END
+$$;
+
+ALTER TABLE bookings
+    ADD CONSTRAINT bookings_item_period_excl
+    EXCLUDE USING gist (item_id WITH =, tsrange(start_date, end_date) WITH &&)
+    WHERE (status IN ('WAITING', 'APPROVED'));
\ No newline at end of file
@@ -0,0 +1,105 @@
+package ru.practicum.shareit.server;
+
+import org.flywaydb.core.api.FlywayException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Проверяет миграцию V4 на PostgreSQL: при пересекающихся действующих бронированиях вещи
+ * она прерывается со списком конфликтующих бронирований и не меняет данные,
+ * а после исправления данных добавляет ограничение-исключение bookings_item_period_excl.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class BookingPeriodExclusionMigrationTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2030, 1, 1, 10, 0);
+
+    private DriverManagerDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = PostgresDatabases.create();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Test
+    void migrate_withOverlappingBookings_shouldFailWithConflictingIdsAndKeepData() {
+        PostgresDatabases.flyway(dataSource).target("3").load().migrate();
+        insertBookingsWithOverlap();
+
+        assertThatThrownBy(() -> PostgresDatabases.flyway(dataSource).load().migrate())
+                .isInstanceOf(FlywayException.class)
+                .hasMessageContaining("1 и 2 (вещь 1)");
+
+        assertThat(jdbcTemplate.queryForList("SELECT status FROM bookings ORDER BY id", String.class))
+                .containsExactly("APPROVED", "WAITING", "REJECTED", "WAITING");
+        assertThat(constraintCount()).isZero();
+    }
+
+    @Test
+    void migrate_afterDataFixScript_shouldRejectLaterWaitingBookingAndAddConstraint() throws Exception {
+        PostgresDatabases.flyway(dataSource).target("3").load().migrate();
+        insertBookingsWithOverlap();
+
+        try (Connection connection = dataSource.getConnection()) {
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/fix/reject_overlapping_bookings.sql"));
+        }
+        PostgresDatabases.flyway(dataSource).load().migrate();
+
+        assertThat(jdbcTemplate.queryForList("SELECT status FROM bookings ORDER BY id", String.class))
+                .containsExactly("APPROVED", "REJECTED", "REJECTED", "WAITING");
+        assertThat(constraintCount()).isEqualTo(1);
+    }
+
+    @Test
+    void insert_overlappingActiveBooking_shouldViolateExclusionConstraint() {
+        PostgresDatabases.flyway(dataSource).load().migrate();
+        insertUsersAndItem();
+        insertBooking(START, START.plusDays(2), "APPROVED");
+
+        insertBooking(START.plusDays(1), START.plusDays(3), "REJECTED");
+        insertBooking(START.plusDays(2), START.plusDays(3), "WAITING");
+
+        assertThatThrownBy(() -> insertBooking(START.plusDays(1), START.plusDays(3), "WAITING"))
+                .isInstanceOf(DataIntegrityViolationException.class)
+                .hasMessageContaining("bookings_item_period_excl");
+    }
+
+    private void insertBookingsWithOverlap() {
+        insertUsersAndItem();
+        insertBooking(START, START.plusDays(2), "APPROVED");
+        insertBooking(START.plusDays(1), START.plusDays(3), "WAITING");
+        insertBooking(START, START.plusDays(3), "REJECTED");
+        insertBooking(START.plusDays(3), START.plusDays(4), "WAITING");
+    }
+
+    private void insertUsersAndItem() {
+        jdbcTemplate.update("INSERT INTO users (id, name, email) VALUES (1, 'Owner', 'owner@example.com'), "
+                + "(2, 'Booker', 'booker@example.com')");
+        jdbcTemplate.update("INSERT INTO items (id, name, description, available, owner_id) "
+                + "VALUES (1, 'Drill', 'Cordless drill', TRUE, 1)");
+    }
+
+    private void insertBooking(LocalDateTime start, LocalDateTime end, String status) {
+        jdbcTemplate.update("INSERT INTO bookings (start_date, end_date, item_id, booker_id, status) "
+                + "VALUES (?, ?, 1, 2, ?)", start, end, status);
+    }
+
+    private int constraintCount() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM pg_constraint "
+                + "WHERE conname = 'bookings_item_period_excl'", Integer.class);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,52 @@
+package ru.practicum.shareit.server;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.output.MigrateResult;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+import java.sql.Connection;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Проверяет, что миграции применяются к базе данных, созданной прежним schema.sql
+ * без таблицы истории Flyway, с настройками Flyway из application.properties.
+ */
+class LegacySchemaMigrationTest {
+
+    @Test
+    void migrate_databaseCreatedByLegacySchema_shouldApplyAllMigrationsAndKeepData() throws Exception {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:legacy-schema;DB_CLOSE_DELAY=-1", "shareit", "shareit");
+        try (Connection connection = dataSource.getConnection()) {
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("legacy-schema.sql"));
+        }
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("INSERT INTO users (name, email) VALUES ('Owner', 'owner@example.com')");
+        jdbcTemplate.execute("INSERT INTO items (name, description, available, owner_id) "
+                + "VALUES ('Drill', 'Cordless drill', TRUE, 1)");
+
+        Properties properties = PropertiesLoaderUtils.loadProperties(new ClassPathResource("application.properties"));
+        MigrateResult result = Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration/common")
+                .baselineOnMigrate(Boolean.parseBoolean(properties.getProperty("spring.flyway.baseline-on-migrate")))
+                .baselineVersion(properties.getProperty("spring.flyway.baseline-version"))
+                .load()
+                .migrate();
+
+        assertThat(result.success).isTrue();
+        assertThat(result.migrations).extracting(migration -> migration.version)
+                .startsWith("1", "2");
+        assertThat(jdbcTemplate.queryForObject("SELECT version FROM items WHERE name = 'Drill'", Long.class))
+                .isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM INFORMATION_SCHEMA.INDEXES "
+                + "WHERE INDEX_NAME = 'ITEMS_OWNER_IDX'", Integer.class)).isEqualTo(1);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,58 @@
+package ru.practicum.shareit.server;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.configuration.FluentConfiguration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import javax.sql.DataSource;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Базы данных PostgreSQL в контейнере Testcontainers для проверок, которые нельзя выполнить на H2:
+ * ограничений-исключений, планов запросов и рекомендательных блокировок.
+ * Контейнер запускается при первом обращении и общий для всех тестов, а каждый вызов {@link #create()}
+ * возвращает новую пустую базу. Тесты, использующие класс, помечаются
+ * {@code @Testcontainers(disabledWithoutDocker = true)} и пропускаются без Docker.
+ */
+public final class PostgresDatabases {
+
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+    private static final AtomicInteger DATABASES = new AtomicInteger();
+
+    private PostgresDatabases() {
+    }
+
+    /**
+     * Создает пустую базу данных.
+     *
+     * @return источник данных новой базы
+     */
+    public static synchronized DriverManagerDataSource create() {
+        if (!POSTGRES.isRunning()) {
+            POSTGRES.start();
+        }
+        String database = "shareit_" + DATABASES.incrementAndGet();
+        new JdbcTemplate(dataSource(POSTGRES.getDatabaseName())).execute("CREATE DATABASE " + database);
+        return dataSource(database);
+    }
+
+    /**
+     * Настраивает Flyway на миграции сервера для PostgreSQL, как это делает приложение.
+     *
+     * @param dataSource источник данных базы
+     * @return настройки Flyway
+     */
+    public static FluentConfiguration flyway(DataSource dataSource) {
+        return Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration/common", "classpath:db/migration/postgresql");
+    }
+
+    private static DriverManagerDataSource dataSource(String database) {
+        String url = "jdbc:postgresql://" + POSTGRES.getHost() + ":"
+                + POSTGRES.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT) + "/" + database;
+        return new DriverManagerDataSource(url, POSTGRES.getUsername(), POSTGRES.getPassword());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,103 @@
+package ru.practicum.shareit.server;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Проверяет на PostgreSQL, что запросы по горячим предикатам репозиториев выполняются по индексам
+ * из миграций V2 и V3. Данные генерируются после миграции V2 в объеме, при котором полный просмотр таблицы
+ * дороже доступа по индексу, затем применяются остальные миграции, и планы запрашиваются после ANALYZE.
+ * Идентификаторы задаются явно, потому что последовательности выдают их с шагом 50.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class PostgresQueryPlanTest {
+
+    private static JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void migrateAndSeed() {
+        DriverManagerDataSource dataSource = PostgresDatabases.create();
+        PostgresDatabases.flyway(dataSource).target("2").load().migrate();
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("INSERT INTO users (id, name, email) "
+                + "SELECT x, 'User ' || x, 'User' || x || '@Example.com' FROM generate_series(1, 10000) x");
+        jdbcTemplate.execute("INSERT INTO requests (id, description, requestor_id, created) "
+                + "SELECT x, 'Request ' || x, x % 10000 + 1, TIMESTAMP '2024-01-01' + x * INTERVAL '1 hour' "
+                + "FROM generate_series(1, 20000) x");
+        jdbcTemplate.execute("INSERT INTO items (id, name, description, available, owner_id, request_id) "
+                + "SELECT x, (ARRAY['drill', 'ladder', 'tent', 'bike'])[x % 4 + 1] || ' ' || x, "
+                + "'Item ' || x || CASE WHEN x % 1000 = 0 THEN ' with telescope' ELSE ' in good condition' END, "
+                + "TRUE, x % 10000 + 1, CASE WHEN x % 10 = 0 THEN x % 20000 + 1 END "
+                + "FROM generate_series(1, 300000) x");
+        jdbcTemplate.execute("INSERT INTO bookings (id, start_date, end_date, item_id, booker_id, status) "
+                + "SELECT x, TIMESTAMP '2024-01-01' + x * INTERVAL '1 hour', "
+                + "TIMESTAMP '2024-01-01' + (x + 2) * INTERVAL '1 hour', x % 300000 + 1, x % 10000 + 1, "
+                + "CASE WHEN x % 3 = 0 THEN 'WAITING' ELSE 'REJECTED' END FROM generate_series(1, 200000) x");
+        jdbcTemplate.execute("INSERT INTO comments (id, text, item_id, author_id, created) "
+                + "SELECT x, 'Comment ' || x, x % 100000 + 1, x % 10000 + 1, TIMESTAMP '2024-06-01' "
+                + "FROM generate_series(1, 100000) x");
+        PostgresDatabases.flyway(dataSource).load().migrate();
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @Test
+    void userByEmailIgnoringCase_shouldUseLowerEmailIndex() {
+        assertThat(explain("SELECT * FROM users WHERE lower(email) = lower('user42@example.com')"))
+                .contains("users_email_lower_idx");
+    }
+
+    @Test
+    void itemSearch_shouldUseTrigramIndexes() {
+        assertThat(explain("SELECT * FROM items WHERE available = TRUE "
+                + "AND (lower(name) LIKE '%telescope%' OR lower(description) LIKE '%telescope%')"))
+                .contains("items_name_trgm_idx", "items_description_trgm_idx");
+    }
+
+    @Test
+    void bookingsByBooker_shouldUseBookerStartIndex() {
+        assertThat(explain("SELECT * FROM bookings WHERE booker_id = 1 "
+                + "AND start_date > TIMESTAMP '2024-06-01' ORDER BY start_date DESC"))
+                .contains("bookings_booker_start_idx");
+    }
+
+    @Test
+    void bookingsByItemAndStatus_shouldUseItemStatusStartIndex() {
+        assertThat(explain("SELECT * FROM bookings WHERE item_id = 1 AND status = 'WAITING' "
+                + "AND start_date > TIMESTAMP '2024-06-01' ORDER BY start_date"))
+                .contains("bookings_item_status_start_idx");
+    }
+
+    @Test
+    void requestsByRequestor_shouldUseRequestorCreatedIndex() {
+        assertThat(explain("SELECT * FROM requests WHERE requestor_id = 1 ORDER BY created DESC"))
+                .contains("requests_requestor_created_idx");
+    }
+
+    @Test
+    void itemsByOwner_shouldUseOwnerIndex() {
+        assertThat(explain("SELECT * FROM items WHERE owner_id = 1 ORDER BY id"))
+                .contains("items_owner_idx");
+    }
+
+    @Test
+    void itemsByRequest_shouldUseRequestIndex() {
+        assertThat(explain("SELECT * FROM items WHERE request_id = 1"))
+                .contains("items_request_idx");
+    }
+
+    @Test
+    void commentsByItems_shouldUseItemIndex() {
+        assertThat(explain("SELECT * FROM comments WHERE item_id IN (1, 2, 3)"))
+                .contains("comments_item_idx");
+    }
+
+    private static String explain(String sql) {
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN (COSTS OFF) " + sql, String.class));
+    }
+}
\ No newline at end of file
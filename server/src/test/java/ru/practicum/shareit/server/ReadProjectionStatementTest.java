@@ -0,0 +1,94 @@
+package ru.practicum.shareit.server;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.dto.CommentResponseDto;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.service.RequestService;
+import ru.practicum.shareit.user.dto.UserResponseDto;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Проверяет, что эндпоинты чтения вещей и запросов выбирают данные сразу в проекции:
+ * ни одна сущность не загружается в контекст персистентности, а число SQL-запросов фиксировано.
+ */
+@SpringBootTest
+@Transactional
+@Sql(scripts = "/test-data.sql")
+class ReadProjectionStatementTest {
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private RequestService requestService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        statistics.setStatisticsEnabled(false);
+    }
+
+    @Test
+    void findById_shouldSelectItemAndCommentsWithoutLoadingEntities() {
+        itemService.findById(1L);
+        entityManager.clear();
+        statistics.clear();
+
+        ItemResponseDto item = itemService.findById(1L);
+
+        assertThat(item.owner()).isEqualTo(new UserResponseDto(1L, "Owner User", "owner@example.com"));
+        assertThat(item.comments()).extracting(CommentResponseDto::authorName)
+                .containsExactly("Booker User", "Other User");
+        assertNoEntitiesLoaded(2);
+        assertThat(statistics.getSecondLevelCacheHitCount()).isZero();
+    }
+
+    @Test
+    void searchAvailableItems_shouldSelectItemsAndCommentsWithoutLoadingEntities() {
+        List<ItemResponseDto> items = itemService.searchAvailableItems("o", 0, 10);
+
+        assertThat(items).extracting(ItemResponseDto::name)
+                .containsExactly("Laptop", "Phone", "Book", "Tablet", "Item with Request");
+        assertNoEntitiesLoaded(2);
+    }
+
+    @Test
+    void getAllItemRequests_shouldSelectRequestsAndItemsWithoutLoadingEntities() {
+        List<ItemRequestDto> requests = requestService.getAllItemRequests(1L, 0, 10);
+
+        assertThat(requests).singleElement()
+                .satisfies(request -> assertThat(request.items()).extracting(ItemResponseDto::name)
+                        .containsExactly("Item with Request"));
+        assertNoEntitiesLoaded(3);
+    }
+
+    private void assertNoEntitiesLoaded(long statements) {
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statements);
+    }
+}
\ No newline at end of file
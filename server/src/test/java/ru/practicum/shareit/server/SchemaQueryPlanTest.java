@@ -0,0 +1,107 @@
+package ru.practicum.shareit.server;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Проверяет, что запросы по горячим предикатам репозиториев используют индексы из миграций.
+ * H2 сам создает индексы для внешних ключей и при равной стоимости может выбрать их,
+ * поэтому для предикатов только по внешнему ключу проверяется отсутствие полного просмотра
+ * и наличие индекса из миграции, без которого в PostgreSQL такие запросы выполнялись бы полным просмотром.
+ * Выбор конкретных индексов планировщиком PostgreSQL, включая индексы из V3, проверяет {@link PostgresQueryPlanTest}.
+ */
+class SchemaQueryPlanTest {
+
+    private static JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void migrateAndSeed() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:query-plans;DB_CLOSE_DELAY=-1", "shareit", "shareit");
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration/common")
+                .load()
+                .migrate();
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("INSERT INTO users (name, email) "
+                + "SELECT 'User ' || X, 'user' || X || '@example.com' FROM SYSTEM_RANGE(1, 100)");
+        jdbcTemplate.execute("INSERT INTO requests (description, requestor_id, created) "
+                + "SELECT 'Request ' || X, MOD(X, 100) + 1, DATEADD('HOUR', X, TIMESTAMP '2024-01-01 00:00:00') "
+                + "FROM SYSTEM_RANGE(1, 2000)");
+        jdbcTemplate.execute("INSERT INTO items (name, description, available, owner_id, request_id) "
+                + "SELECT 'Item ' || X, 'Description ' || X, TRUE, MOD(X, 100) + 1, "
+                + "CASEWHEN(MOD(X, 10) = 0, MOD(X, 2000) + 1, NULL) FROM SYSTEM_RANGE(1, 5000)");
+        jdbcTemplate.execute("INSERT INTO bookings (start_date, end_date, item_id, booker_id, status) "
+                + "SELECT DATEADD('HOUR', X, TIMESTAMP '2024-01-01 00:00:00'), "
+                + "DATEADD('HOUR', X + 2, TIMESTAMP '2024-01-01 00:00:00'), MOD(X, 5000) + 1, MOD(X, 100) + 1, "
+                + "CASEWHEN(MOD(X, 3) = 0, 'WAITING', 'APPROVED') FROM SYSTEM_RANGE(1, 20000)");
+        jdbcTemplate.execute("INSERT INTO comments (text, item_id, author_id, created) "
+                + "SELECT 'Comment ' || X, MOD(X, 5000) + 1, MOD(X, 100) + 1, TIMESTAMP '2024-06-01 00:00:00' "
+                + "FROM SYSTEM_RANGE(1, 10000)");
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @Test
+    void bookingsByBooker_shouldUseBookerStartIndex() {
+        assertThat(explain("SELECT * FROM bookings WHERE booker_id = 1 "
+                + "AND start_date > TIMESTAMP '2024-06-01 00:00:00' ORDER BY start_date DESC"))
+                .contains("BOOKINGS_BOOKER_START_IDX");
+    }
+
+    @Test
+    void bookingsByItemAndStatus_shouldUseItemStatusStartIndex() {
+        assertThat(explain("SELECT * FROM bookings WHERE item_id = 1 AND status = 'APPROVED' "
+                + "AND start_date > TIMESTAMP '2024-06-01 00:00:00' ORDER BY start_date"))
+                .contains("BOOKINGS_ITEM_STATUS_START_IDX");
+    }
+
+    @Test
+    void requestsByRequestor_shouldUseIndex() {
+        assertIndexExists("REQUESTS", "REQUESTS_REQUESTOR_CREATED_IDX");
+        assertThat(jdbcTemplate.queryForList("SELECT COLUMN_NAME FROM INFORMATION_SCHEMA.INDEX_COLUMNS "
+                + "WHERE INDEX_NAME = 'REQUESTS_REQUESTOR_CREATED_IDX' ORDER BY ORDINAL_POSITION", String.class))
+                .containsExactly("REQUESTOR_ID", "CREATED");
+        assertThat(explain("SELECT * FROM requests WHERE requestor_id = 1 ORDER BY created DESC"))
+                .doesNotContain("tableScan");
+    }
+
+    @Test
+    void itemsByOwner_shouldUseIndex() {
+        assertIndexExists("ITEMS", "ITEMS_OWNER_IDX");
+        assertThat(explain("SELECT * FROM items WHERE owner_id = 1 ORDER BY id"))
+                .doesNotContain("tableScan");
+    }
+
+    @Test
+    void itemsByRequest_shouldUseIndex() {
+        assertIndexExists("ITEMS", "ITEMS_REQUEST_IDX");
+        assertThat(explain("SELECT * FROM items WHERE request_id = 1"))
+                .doesNotContain("tableScan");
+    }
+
+    @Test
+    void commentsByItems_shouldUseIndex() {
+        assertIndexExists("COMMENTS", "COMMENTS_ITEM_IDX");
+        assertThat(explain("SELECT * FROM comments WHERE item_id IN (1, 2, 3)"))
+                .doesNotContain("tableScan");
+    }
+
+    private static String explain(String sql) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+    }
+
+    private static void assertIndexExists(String table, String index) {
+        List<String> indexes = jdbcTemplate.queryForList(
+                "SELECT INDEX_NAME FROM INFORMATION_SCHEMA.INDEXES WHERE TABLE_NAME = ?", String.class, table);
+        assertThat(indexes).contains(index);
+    }
+}
\ No newline at end of file
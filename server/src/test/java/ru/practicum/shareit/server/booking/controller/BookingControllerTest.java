@@ -7,15 +7,26 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.booking.controller.BookingController;
+import ru.practicum.shareit.booking.dto.BookingBatchStatusRequestDto;
+import ru.practicum.shareit.booking.dto.BookingBatchStatusResultDto;
 import ru.practicum.shareit.booking.dto.BookingCreateRequestDto;
+import ru.practicum.shareit.booking.dto.BookingCursor;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.service.BookingExportService;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exception.user.UserNotFoundException;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.user.service.UserService;
 import ru.practicum.shareit.user.dto.UserResponseDto;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
@@ -23,6 +34,8 @@ import java.util.List;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -38,6 +51,12 @@ class BookingControllerTest {
     @MockBean
     private BookingService bookingService;
 
+    @MockBean
+    private BookingExportService bookingExportService;
+
+    @MockBean
+    private UserService userService;
+
     private UserResponseDto createTestUserResponse(Long id) {
         return new UserResponseDto(id, "Test User " + id, "user" + id + "@example.com");
     }
@@ -134,6 +153,36 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$.status").value("REJECTED"));
     }
 
+    @Test
+    void updateStatus_withConcurrentModification_shouldReturnConflict() throws Exception {
+        Mockito.when(bookingService.updateStatus(eq(1L), eq(1L), eq(true)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Booking.class, 1L));
+
+        mockMvc.perform(patch("/bookings/1")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("approved", "true"))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void updateStatuses_shouldReturnResultPerBooking() throws Exception {
+        BookingBatchStatusRequestDto request = new BookingBatchStatusRequestDto(List.of(1L, 2L), true);
+        Mockito.when(bookingService.updateStatuses(eq(1L), eq(request)))
+                .thenReturn(List.of(
+                        new BookingBatchStatusResultDto(1L, true, BookingStatus.APPROVED, null),
+                        new BookingBatchStatusResultDto(2L, false, null, "Бронирование с id=2 не найдено")));
+
+        mockMvc.perform(patch("/bookings/batch")
+                        .header("X-Sharer-User-Id", 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].updated").value(true))
+                .andExpect(jsonPath("$[0].status").value("APPROVED"))
+                .andExpect(jsonPath("$[1].updated").value(false))
+                .andExpect(jsonPath("$[1].error").value("Бронирование с id=2 не найдено"));
+    }
+
     @Test
     void findById_shouldReturnBooking() throws Exception {
         BookingResponseDto response = createTestBookingResponse();
@@ -443,4 +492,140 @@ class BookingControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].id").value(1L));
     }
+
+    @Test
+    void findByOwnerId_withFullPage_shouldReturnNextCursor() throws Exception {
+        BookingResponseDto response = createTestBookingResponse();
+
+        Mockito.when(bookingService.findByOwnerId(eq(1L), eq(BookingStatus.ALL), eq(0), eq(1)))
+                .thenReturn(List.of(response));
+
+        mockMvc.perform(get("/bookings/owner")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", BookingCursor.of(response).encode()));
+    }
+
+    @Test
+    void findByBookerId_withCursor_shouldSeekAfterCursor() throws Exception {
+        BookingResponseDto response = createTestBookingResponse();
+        BookingCursor cursor = new BookingCursor(LocalDateTime.of(2030, 1, 1, 10, 0), 7L);
+
+        Mockito.when(bookingService.findByBookerIdAfter(eq(2L), eq(BookingStatus.ALL), eq(cursor), eq(10)))
+                .thenReturn(List.of(response));
+
+        mockMvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", 2L)
+                        .param("cursor", cursor.encode()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1L))
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+    }
+
+    @Test
+    void findByBookerId_withInvalidCursor_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", 2L)
+                        .param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void findByOwnerId_withTimeState_shouldUseStateQuery() throws Exception {
+        BookingResponseDto response = createTestBookingResponse();
+
+        Mockito.when(bookingService.findByOwnerIdAndState(eq(1L), eq(BookingState.FUTURE), eq(0), eq(10)))
+                .thenReturn(List.of(response));
+
+        mockMvc.perform(get("/bookings/owner")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("state", "FUTURE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1L));
+    }
+
+    @Test
+    void findByOwnerId_withTimeStateAndFullPage_shouldNotReturnNextCursor() throws Exception {
+        BookingResponseDto response = createTestBookingResponse();
+
+        Mockito.when(bookingService.findByOwnerIdAndState(eq(1L), eq(BookingState.FUTURE), eq(0), eq(1)))
+                .thenReturn(List.of(response));
+
+        mockMvc.perform(get("/bookings/owner")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("state", "FUTURE")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1L))
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+    }
+
+    @Test
+    void findByBookerId_withTimeStateAndFullPage_shouldNotReturnNextCursor() throws Exception {
+        BookingResponseDto response = createTestBookingResponse();
+
+        Mockito.when(bookingService.findByBookerIdAndState(eq(2L), eq(BookingState.CURRENT), eq(0), eq(1)))
+                .thenReturn(List.of(response));
+
+        mockMvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", 2L)
+                        .param("state", "CURRENT")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1L))
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+    }
+
+    @Test
+    void findByBookerId_withStatusState_shouldFilterByStatus() throws Exception {
+        BookingResponseDto response = createTestBookingResponse();
+
+        Mockito.when(bookingService.findByBookerId(eq(2L), eq(BookingStatus.WAITING), eq(0), eq(10)))
+                .thenReturn(List.of(response));
+
+        mockMvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", 2L)
+                        .param("state", "WAITING"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1L));
+    }
+
+    @Test
+    void findByBookerId_withTimeStateAndCursor_shouldReturnBadRequest() throws Exception {
+        BookingCursor cursor = new BookingCursor(LocalDateTime.of(2030, 1, 1, 10, 0), 7L);
+
+        mockMvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", 2L)
+                        .param("state", "PAST")
+                        .param("cursor", cursor.encode()))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void exportByBookerId_shouldWriteNdjson() throws Exception {
+        String ndjson = "{\"id\":2}\n{\"id\":1}\n";
+        Mockito.when(bookingExportService.exportByBookerId(eq(2L), any(OutputStream.class)))
+                .thenAnswer(invocation -> {
+                    invocation.getArgument(1, OutputStream.class).write(ndjson.getBytes(StandardCharsets.UTF_8));
+                    return 2L;
+                });
+
+        mockMvc.perform(get("/bookings/export")
+                        .header("X-Sharer-User-Id", 2L))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(content().string(ndjson));
+    }
+
+    @Test
+    void exportByBookerId_withUnknownUser_shouldReturnNotFound() throws Exception {
+        Mockito.doThrow(new UserNotFoundException("Пользователь с id=99 не найден"))
+                .when(userService).checkUserExists(99L);
+
+        mockMvc.perform(get("/bookings/export")
+                        .header("X-Sharer-User-Id", 99L))
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,124 @@
+package ru.practicum.shareit.server.booking.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.service.BookingAvailabilityIndex;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "shareit.availability-index.prune-interval=0s")
+@Sql(scripts = "/test-data.sql")
+class BookingAvailabilityIndexTest {
+
+    private static final Long FREE_ITEM_ID = 2L;
+    private static final Long ITEM_WITH_PAST_BOOKING_ID = 1L;
+
+    @Autowired
+    private BookingAvailabilityIndex availabilityIndex;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final LocalDateTime base = LocalDateTime.now().plusDays(10).truncatedTo(ChronoUnit.DAYS);
+
+    @Test
+    void release_byBookingId_shouldFreePeriodReservedWithNanosecondStart() {
+        LocalDateTime start = base.plusNanos(123_456_789);
+        LocalDateTime end = base.plusDays(1);
+        assertThat(availabilityIndex.tryReserve(booking(1001L, FREE_ITEM_ID, start, end))).isTrue();
+
+        availabilityIndex.release(FREE_ITEM_ID, 1001L);
+
+        assertThat(availabilityIndex.tryReserve(booking(1002L, FREE_ITEM_ID, base, end))).isTrue();
+        availabilityIndex.evict(FREE_ITEM_ID);
+    }
+
+    @Test
+    void tryReserve_freeFuturePeriodOfLoadedItem_shouldNotQueryDatabase() {
+        assertThat(availabilityIndex.tryReserve(booking(1011L, FREE_ITEM_ID, base, base.plusDays(1)))).isTrue();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        statistics.setStatisticsEnabled(true);
+        try {
+            for (int i = 1; i <= 100; i++) {
+                LocalDateTime start = base.plusDays(i);
+                assertThat(availabilityIndex.tryReserve(booking(1011L + i, FREE_ITEM_ID, start, start.plusDays(1))))
+                        .isTrue();
+            }
+            availabilityIndex.release(FREE_ITEM_ID, 1050L);
+            assertThat(availabilityIndex.tryReserve(booking(1200L, FREE_ITEM_ID, base.plusDays(39),
+                    base.plusDays(40)))).isTrue();
+
+            assertThat(statistics.getPrepareStatementCount()).isZero();
+        } finally {
+            statistics.setStatisticsEnabled(false);
+            availabilityIndex.evict(FREE_ITEM_ID);
+        }
+    }
+
+    @Test
+    void tryReserve_periodOfEndedBooking_shouldCheckDatabase() {
+        LocalDateTime approvedStart = LocalDateTime.of(2023, 1, 10, 10, 0);
+
+        assertThat(availabilityIndex.tryReserve(booking(1003L, ITEM_WITH_PAST_BOOKING_ID,
+                approvedStart.plusDays(1), approvedStart.plusDays(3)))).isFalse();
+        assertThat(availabilityIndex.tryReserve(booking(1004L, ITEM_WITH_PAST_BOOKING_ID,
+                approvedStart.plusDays(5), approvedStart.plusDays(6)))).isTrue();
+        availabilityIndex.evict(ITEM_WITH_PAST_BOOKING_ID);
+    }
+
+    @Test
+    void tryReserve_afterBookingEnded_shouldPruneItFromIndex() {
+        LocalDateTime start = LocalDateTime.of(2020, 1, 1, 10, 0);
+        assertThat(availabilityIndex.tryReserve(booking(1005L, FREE_ITEM_ID, start, start.plusDays(1)))).isTrue();
+
+        // Бронирование 1005 не сохранено в базе, поэтому после очистки индекса период снова свободен
+        assertThat(availabilityIndex.tryReserve(booking(1006L, FREE_ITEM_ID, start, start.plusDays(1)))).isTrue();
+        availabilityIndex.evict(FREE_ITEM_ID);
+    }
+
+    @Test
+    void tryReserve_overlappingBookingMissingInDatabase_shouldReloadItemAndAdmit() {
+        LocalDateTime end = base.plusDays(1);
+        // Бронирование 1007 не сохранено в базе, как если бы его отклонили на другом экземпляре сервера
+        assertThat(availabilityIndex.tryReserve(booking(1007L, FREE_ITEM_ID, base, end))).isTrue();
+
+        assertThat(availabilityIndex.tryReserve(booking(1008L, FREE_ITEM_ID, base, end))).isTrue();
+        availabilityIndex.evict(FREE_ITEM_ID);
+    }
+
+    @Test
+    void tryReserve_overlappingBookingOfUnfinishedTransaction_shouldRejectWithoutDatabase() {
+        LocalDateTime end = base.plusDays(1);
+        transactionTemplate.executeWithoutResult(status -> {
+            assertThat(availabilityIndex.tryReserve(booking(1009L, FREE_ITEM_ID, base, end))).isTrue();
+            assertThat(availabilityIndex.tryReserve(booking(1010L, FREE_ITEM_ID, base, end))).isFalse();
+        });
+
+        assertThat(availabilityIndex.tryReserve(booking(1010L, FREE_ITEM_ID, base, end))).isTrue();
+        availabilityIndex.evict(FREE_ITEM_ID);
+    }
+
+    private static Booking booking(Long id, Long itemId, LocalDateTime start, LocalDateTime end) {
+        Booking booking = new Booking();
+        booking.setId(id);
+        booking.setItem(Item.builder().id(itemId).build());
+        booking.setStart(start);
+        booking.setEnd(end);
+        return booking;
+    }
+}
\ No newline at end of file
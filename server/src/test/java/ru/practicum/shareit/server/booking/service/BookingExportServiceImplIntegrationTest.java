@@ -0,0 +1,98 @@
+package ru.practicum.shareit.server.booking.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.service.BookingExportService;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+@Sql(scripts = "/test-data.sql")
+class BookingExportServiceImplIntegrationTest {
+
+    private static final int EXTRA_BOOKINGS = 1_200;
+
+    @Autowired
+    private BookingExportService bookingExportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        statistics.setStatisticsEnabled(false);
+    }
+
+    @Test
+    void exportByBookerId_shouldWriteWholeHistoryAsNdjsonWithOneQuery() throws Exception {
+        LocalDateTime base = LocalDateTime.of(2030, 1, 1, 10, 0);
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < EXTRA_BOOKINGS; i++) {
+            rows.add(new Object[]{base.plusHours(i), base.plusHours(i).plusMinutes(30), 1L, 2L, "APPROVED"});
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO bookings (start_date, end_date, item_id, booker_id, status) VALUES (?, ?, ?, ?, ?)", rows);
+        Integer expected = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM bookings WHERE booker_id = 2", Integer.class);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        statistics.clear();
+
+        long exported = bookingExportService.exportByBookerId(2L, output);
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        List<BookingResponseDto> bookings = new ArrayList<>();
+        for (String line : lines) {
+            bookings.add(objectMapper.readValue(line, BookingResponseDto.class));
+        }
+        assertThat(exported).isEqualTo(expected.longValue());
+        assertThat(bookings).hasSize(expected);
+        assertThat(bookings).extracting(BookingResponseDto::id).doesNotHaveDuplicates();
+        assertThat(bookings).allSatisfy(booking -> {
+            assertThat(booking.booker().id()).isEqualTo(2L);
+            assertThat(booking.item().owner()).isNotNull();
+        });
+        assertThat(bookings).isSortedAccordingTo(Comparator.comparing(BookingResponseDto::start).reversed());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void exportByBookerId_withUnknownUser_shouldWriteNothing() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        assertThat(bookingExportService.exportByBookerId(999L, output)).isZero();
+        assertThat(output.size()).isZero();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,79 @@
+package ru.practicum.shareit.server.booking.service;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.service.BookingIntervalTree;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BookingIntervalTreeTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    @Test
+    void overlaps_shouldDetectIntersectingPeriods() {
+        BookingIntervalTree tree = new BookingIntervalTree();
+        tree.insert(1L, BASE.plusDays(1), BASE.plusDays(3));
+        tree.insert(2L, BASE.plusDays(5), BASE.plusDays(6));
+
+        assertThat(tree.overlaps(BASE.plusDays(2), BASE.plusDays(4))).isTrue();
+        assertThat(tree.overlaps(BASE, BASE.plusDays(10))).isTrue();
+        assertThat(tree.overlaps(BASE.plusDays(3), BASE.plusDays(5))).isFalse();
+        assertThat(tree.overlaps(BASE.plusDays(6), BASE.plusDays(7))).isFalse();
+    }
+
+    @Test
+    void overlaps_shouldFindLongIntervalHiddenBehindLaterStarts() {
+        BookingIntervalTree tree = new BookingIntervalTree();
+        tree.insert(1L, BASE, BASE.plusDays(100));
+        for (long i = 2; i < 1000; i++) {
+            tree.insert(i, BASE.plusDays(i), BASE.plusDays(i).plusHours(1));
+        }
+
+        assertThat(tree.overlaps(BASE.plusDays(50).plusHours(2), BASE.plusDays(50).plusHours(3))).isTrue();
+        assertThat(tree.overlaps(BASE.plusDays(500).plusHours(2), BASE.plusDays(500).plusHours(3))).isFalse();
+    }
+
+    @Test
+    void remove_shouldFreePeriod() {
+        BookingIntervalTree tree = new BookingIntervalTree();
+        for (long i = 0; i < 1000; i++) {
+            tree.insert(i, BASE.plusDays(i * 2), BASE.plusDays(i * 2 + 1));
+        }
+
+        assertThat(tree.remove(500L, BASE.plusDays(1000))).isTrue();
+        assertThat(tree.remove(500L, BASE.plusDays(1000))).isFalse();
+
+        assertThat(tree.size()).isEqualTo(999);
+        assertThat(tree.overlaps(BASE.plusDays(1000), BASE.plusDays(1001))).isFalse();
+        assertThat(tree.overlaps(BASE.plusDays(998), BASE.plusDays(999))).isTrue();
+    }
+
+    @Test
+    void remove_byBookingId_shouldFreePeriodRegardlessOfStartPrecision() {
+        BookingIntervalTree tree = new BookingIntervalTree();
+        tree.insert(1L, BASE.plusNanos(123_456_789), BASE.plusDays(1));
+
+        assertThat(tree.remove(1L, BASE.plusNanos(123_457_000))).isFalse();
+        assertThat(tree.remove(1L)).isTrue();
+        assertThat(tree.remove(1L)).isFalse();
+        assertThat(tree.overlaps(BASE, BASE.plusDays(1))).isFalse();
+    }
+
+    @Test
+    void removeEndedBefore_shouldDropOnlyEndedIntervals() {
+        BookingIntervalTree tree = new BookingIntervalTree();
+        tree.insert(1L, BASE, BASE.plusDays(1));
+        tree.insert(2L, BASE.plusDays(1), BASE.plusDays(2));
+        tree.insert(3L, BASE.plusDays(1), BASE.plusDays(10));
+        tree.insert(4L, BASE.plusDays(3), BASE.plusDays(4));
+
+        assertThat(tree.removeEndedBefore(BASE.plusDays(2))).isEqualTo(2);
+
+        assertThat(tree.size()).isEqualTo(2);
+        assertThat(tree.overlaps(BASE, BASE.plusDays(1))).isFalse();
+        assertThat(tree.overlaps(BASE.plusDays(5), BASE.plusDays(6))).isTrue();
+        assertThat(tree.remove(4L)).isTrue();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,188 @@
+package ru.practicum.shareit.server.booking.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.context.jdbc.Sql;
+import ru.practicum.shareit.booking.dto.BookingBatchStatusRequestDto;
+import ru.practicum.shareit.booking.dto.BookingBatchStatusResultDto;
+import ru.practicum.shareit.booking.dto.BookingCreateRequestDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingAvailabilityIndex;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exception.booking.BookingPeriodConflictException;
+import ru.practicum.shareit.exception.booking.BookingStatusAlreadySetException;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Sql(scripts = "/test-data.sql")
+class BookingServiceConcurrencyTest {
+
+    private static final int THREADS = 64;
+    private static final Long HOT_ITEM_ID = 3L;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private BookingAvailabilityIndex availabilityIndex;
+
+    private final LocalDateTime base = LocalDateTime.now().plusDays(10).truncatedTo(ChronoUnit.SECONDS);
+
+    @AfterEach
+    void tearDown() {
+        availabilityIndex.evict(HOT_ITEM_ID);
+    }
+
+    @Test
+    void create_samePeriodFromManyThreads_shouldAdmitExactlyOneBooking() throws Exception {
+        List<Boolean> results = createConcurrently(i -> new BookingCreateRequestDto(HOT_ITEM_ID, base, base.plusDays(1)));
+
+        assertThat(results).containsOnlyOnce(true);
+        assertThat(activeBookings()).hasSize(1);
+    }
+
+    @Test
+    void create_disjointPeriodsFromManyThreads_shouldAdmitAllBookings() throws Exception {
+        List<Boolean> results = createConcurrently(i ->
+                new BookingCreateRequestDto(HOT_ITEM_ID, base.plusDays(i), base.plusDays(i + 1)));
+
+        assertThat(results).containsOnly(true);
+        assertThat(activeBookings()).hasSize(THREADS);
+    }
+
+    @Test
+    void create_chainedOverlappingPeriodsFromManyThreads_shouldNeverStoreOverlappingBookings() throws Exception {
+        List<Boolean> results = createConcurrently(i ->
+                new BookingCreateRequestDto(HOT_ITEM_ID, base.plusHours(12L * i), base.plusHours(12L * i + 24)));
+
+        List<Booking> bookings = activeBookings();
+        assertThat(bookings).hasSize((int) results.stream().filter(Boolean::booleanValue).count());
+        for (int i = 1; i < bookings.size(); i++) {
+            assertThat(bookings.get(i).getStart()).isAfterOrEqualTo(bookings.get(i - 1).getEnd());
+        }
+    }
+
+    @Test
+    void updateStatus_fromManyThreads_shouldApplyExactlyOneTransition() throws Exception {
+        Long bookingId = bookingService.create(2L, new BookingCreateRequestDto(HOT_ITEM_ID, base, base.plusDays(1))).id();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Object>> futures = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+            for (int i = 0; i < THREADS; i++) {
+                boolean approved = i % 2 == 0;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        return bookingService.updateStatus(1L, bookingId, approved).status();
+                    } catch (BookingStatusAlreadySetException | OptimisticLockingFailureException e) {
+                        return e.getClass();
+                    }
+                }));
+            }
+            start.countDown();
+        }
+
+        List<Object> outcomes = new ArrayList<>();
+        for (Future<Object> future : futures) {
+            outcomes.add(future.get());
+        }
+        List<Object> transitions = outcomes.stream().filter(BookingStatus.class::isInstance).toList();
+        assertThat(transitions).hasSize(1);
+        Booking booking = bookingRepository.findById(bookingId).orElseThrow();
+        assertThat(booking.getStatus()).isEqualTo(transitions.getFirst());
+        assertThat(booking.getVersion()).isEqualTo(1L);
+    }
+
+    @Test
+    void updateStatuses_fromManyThreads_shouldReportEachTransitionOnce() throws Exception {
+        List<Long> bookingIds = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            bookingIds.add(bookingService.create(2L,
+                    new BookingCreateRequestDto(HOT_ITEM_ID, base.plusDays(i), base.plusDays(i + 1))).id());
+        }
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<BookingBatchStatusResultDto>>> futures = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+            for (int i = 0; i < THREADS; i++) {
+                List<Long> requestIds = i % 2 == 0 ? bookingIds : bookingIds.reversed();
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return bookingService.updateStatuses(1L, new BookingBatchStatusRequestDto(requestIds, true));
+                }));
+            }
+            start.countDown();
+        }
+
+        List<Long> updatedIds = new ArrayList<>();
+        for (Future<List<BookingBatchStatusResultDto>> future : futures) {
+            for (BookingBatchStatusResultDto result : future.get()) {
+                assertThat(result.status()).isEqualTo(BookingStatus.APPROVED);
+                if (result.updated()) {
+                    updatedIds.add(result.bookingId());
+                }
+            }
+        }
+        assertThat(updatedIds).containsExactlyInAnyOrderElementsOf(bookingIds);
+    }
+
+    /**
+     * Одновременно создает бронирования горячей вещи из {@link #THREADS} потоков.
+     *
+     * @param requests запрос на бронирование для номера потока
+     * @return для каждого потока true если бронирование создано и false при конфликте периодов
+     */
+    private List<Boolean> createConcurrently(IntFunction<BookingCreateRequestDto> requests) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+            for (int i = 0; i < THREADS; i++) {
+                BookingCreateRequestDto request = requests.apply(i);
+                Long bookerId = i % 2 == 0 ? 2L : 3L;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        bookingService.create(bookerId, request);
+                        return true;
+                    } catch (BookingPeriodConflictException e) {
+                        return false;
+                    }
+                }));
+            }
+            start.countDown();
+
+            List<Boolean> results = new ArrayList<>();
+            for (Future<Boolean> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        }
+    }
+
+    private List<Booking> activeBookings() {
+        return bookingRepository.findByItemIdAndStatusInOrderByStartAsc(HOT_ITEM_ID,
+                        List.of(BookingStatus.WAITING, BookingStatus.APPROVED)).stream()
+                .filter(booking -> !booking.getStart().isBefore(base))
+                .toList();
+    }
+}
\ No newline at end of file
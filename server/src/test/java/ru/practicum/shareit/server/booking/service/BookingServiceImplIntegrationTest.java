@@ -1,17 +1,25 @@
 package ru.practicum.shareit.server.booking.service;
 
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingBatchStatusRequestDto;
+import ru.practicum.shareit.booking.dto.BookingBatchStatusResultDto;
 import ru.practicum.shareit.booking.dto.BookingCreateRequestDto;
+import ru.practicum.shareit.booking.dto.BookingCursor;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.service.BookingServiceImpl;
 import ru.practicum.shareit.exception.booking.BookingNotFoundException;
 import ru.practicum.shareit.exception.booking.BookingNotOwnedException;
+import ru.practicum.shareit.exception.booking.BookingPeriodConflictException;
 import ru.practicum.shareit.exception.booking.BookingStatusAlreadySetException;
 import ru.practicum.shareit.exception.booking.UnavailableItemException;
 import ru.practicum.shareit.exception.item.ItemNotFoundException;
@@ -25,12 +33,15 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @SpringBootTest
 @Transactional
-@Sql(scripts = {"/test-schema.sql", "/test-data.sql"})
+@Sql(scripts = "/test-data.sql")
 class BookingServiceImplIntegrationTest {
 
     @Autowired
     private BookingServiceImpl bookingService;
 
+    @Autowired
+    private EntityManager entityManager;
+
     private Long createdBookingId;
 
     @BeforeEach
@@ -171,6 +182,46 @@ class BookingServiceImplIntegrationTest {
         );
     }
 
+    @Test
+    void updateStatuses_shouldReturnResultPerBookingWithTwoStatements() {
+        entityManager.flush();
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        List<BookingBatchStatusResultDto> results;
+        try {
+            results = bookingService.updateStatuses(1L,
+                    new BookingBatchStatusRequestDto(List.of(3L, 1L, 2L, 999L, 3L), true));
+
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+
+        assertThat(results).containsExactly(
+                new BookingBatchStatusResultDto(3L, true, BookingStatus.APPROVED, null),
+                new BookingBatchStatusResultDto(1L, false, BookingStatus.APPROVED, "Статус бронирования уже установлен"),
+                new BookingBatchStatusResultDto(2L, false, null, "Только владелец вещи может подтверждать бронирование"),
+                new BookingBatchStatusResultDto(999L, false, null, "Бронирование с id=999 не найдено"));
+        assertThat(bookingService.findById(1L, 3L).status()).isEqualTo(BookingStatus.APPROVED);
+    }
+
+    @Test
+    void updateStatuses_withRejection_shouldReleaseBookedPeriods() {
+        BookingCreateRequestDto request = new BookingCreateRequestDto(
+                3L,
+                LocalDateTime.now().plusDays(1),
+                LocalDateTime.now().plusDays(2)
+        );
+        BookingResponseDto created = bookingService.create(2L, request);
+
+        List<BookingBatchStatusResultDto> results = bookingService.updateStatuses(1L,
+                new BookingBatchStatusRequestDto(List.of(created.id()), false));
+
+        assertThat(results).extracting(BookingBatchStatusResultDto::status).containsExactly(BookingStatus.REJECTED);
+        assertThat(bookingService.create(3L, request).status()).isEqualTo(BookingStatus.WAITING);
+    }
+
     @Test
     void findById_shouldReturnBooking() {
         BookingResponseDto result = bookingService.findById(1L, 1L);
@@ -209,6 +260,74 @@ class BookingServiceImplIntegrationTest {
         assertThat(result).allMatch(booking -> booking.item().owner().id().equals(1L));
     }
 
+    @Test
+    void findByOwnerIdAfter_shouldContinueFromCursor() {
+        List<BookingResponseDto> firstPage = bookingService.findByOwnerId(1L, BookingStatus.ALL, 0, 2);
+
+        List<BookingResponseDto> secondPage = bookingService.findByOwnerIdAfter(
+                1L, BookingStatus.ALL, BookingCursor.of(firstPage.get(1)), 2);
+
+        assertThat(firstPage).extracting(BookingResponseDto::id).containsExactly(3L, 4L);
+        assertThat(secondPage).extracting(BookingResponseDto::id).containsExactly(1L);
+    }
+
+    @Test
+    void findByBookerIdAfter_withStatus_shouldFilterAfterCursor() {
+        BookingCursor cursor = BookingCursor.of(bookingService.findById(2L, 3L));
+
+        List<BookingResponseDto> result = bookingService.findByBookerIdAfter(2L, BookingStatus.APPROVED, cursor, 10);
+
+        assertThat(result).extracting(BookingResponseDto::id).containsExactly(1L);
+    }
+
+    @Test
+    void findByBookerIdAndState_shouldSplitBookingsByTime() {
+        LocalDateTime now = LocalDateTime.now();
+        BookingResponseDto current = bookingService.create(3L,
+                new BookingCreateRequestDto(4L, now.minusDays(1), now.plusDays(1)));
+        BookingResponseDto future = bookingService.create(3L,
+                new BookingCreateRequestDto(5L, now.plusDays(3), now.plusDays(4)));
+
+        assertThat(bookingService.findByBookerIdAndState(3L, BookingState.CURRENT, 0, 10))
+                .extracting(BookingResponseDto::id).containsExactly(current.id());
+        assertThat(bookingService.findByBookerIdAndState(3L, BookingState.FUTURE, 0, 10))
+                .extracting(BookingResponseDto::id).containsExactly(future.id());
+        assertThat(bookingService.findByBookerIdAndState(3L, BookingState.PAST, 0, 10))
+                .extracting(BookingResponseDto::id).containsExactly(4L);
+        assertThat(bookingService.findByBookerIdAndState(3L, BookingState.REJECTED, 0, 10))
+                .extracting(BookingResponseDto::id).containsExactly(4L);
+    }
+
+    @Test
+    void findByOwnerIdAndState_shouldPagePastBookings() {
+        List<BookingResponseDto> firstPage = bookingService.findByOwnerIdAndState(1L, BookingState.PAST, 0, 2);
+        List<BookingResponseDto> secondPage = bookingService.findByOwnerIdAndState(1L, BookingState.PAST, 2, 2);
+
+        assertThat(firstPage).extracting(BookingResponseDto::id).containsExactly(3L, 4L);
+        assertThat(secondPage).extracting(BookingResponseDto::id).containsExactly(1L);
+    }
+
+    @Test
+    void findByOwnerIdAndState_withOffsetInsidePage_shouldStartFromOffset() {
+        List<BookingResponseDto> result = bookingService.findByOwnerIdAndState(1L, BookingState.PAST, 1, 2);
+
+        assertThat(result).extracting(BookingResponseDto::id).containsExactly(4L, 1L);
+    }
+
+    @Test
+    void findByBookerIdAndState_withOffsetInsidePage_shouldStartFromOffset() {
+        LocalDateTime now = LocalDateTime.now();
+        bookingService.create(3L, new BookingCreateRequestDto(4L, now.plusDays(3), now.plusDays(4)));
+        BookingResponseDto second = bookingService.create(3L,
+                new BookingCreateRequestDto(5L, now.plusDays(2), now.plusDays(3)));
+        BookingResponseDto third = bookingService.create(3L,
+                new BookingCreateRequestDto(4L, now.plusDays(1), now.plusDays(2)));
+
+        List<BookingResponseDto> result = bookingService.findByBookerIdAndState(3L, BookingState.FUTURE, 1, 2);
+
+        assertThat(result).extracting(BookingResponseDto::id).containsExactly(second.id(), third.id());
+    }
+
     @Test
     void getBookingOrThrow_shouldReturnBooking() {
         var result = bookingService.getBookingOrThrow(1L);
@@ -288,6 +407,20 @@ class BookingServiceImplIntegrationTest {
         assertThat(result).hasSize(1);
     }
 
+    @Test
+    void findByOwnerId_withOffsetInsidePage_shouldStartFromOffset() {
+        List<BookingResponseDto> result = bookingService.findByOwnerId(1L, BookingStatus.ALL, 1, 2);
+
+        assertThat(result).extracting(BookingResponseDto::id).containsExactly(4L, 1L);
+    }
+
+    @Test
+    void findByBookerId_withOffsetInsidePage_shouldStartFromOffset() {
+        List<BookingResponseDto> result = bookingService.findByBookerId(2L, BookingStatus.ALL, 1, 2);
+
+        assertThat(result).extracting(BookingResponseDto::id).containsExactly(1L);
+    }
+
     @Test
     void create_newBooking_shouldAppearInSearchResults() {
         BookingCreateRequestDto request = new BookingCreateRequestDto(
@@ -309,4 +442,46 @@ class BookingServiceImplIntegrationTest {
         assertThat(ownerWaitingResult).isNotEmpty();
         assertThat(ownerWaitingResult).anyMatch(booking -> booking.id().equals(created.id()));
     }
+
+    @Test
+    void create_withOverlappingPeriod_shouldThrowException() {
+        BookingCreateRequestDto request = new BookingCreateRequestDto(
+                3L,
+                LocalDateTime.of(2024, 12, 4, 10, 0),
+                LocalDateTime.of(2024, 12, 8, 10, 0)
+        );
+
+        assertThrows(BookingPeriodConflictException.class, () ->
+                bookingService.create(3L, request)
+        );
+    }
+
+    @Test
+    void create_withAdjacentPeriod_shouldCreateBooking() {
+        BookingCreateRequestDto request = new BookingCreateRequestDto(
+                3L,
+                LocalDateTime.of(2024, 12, 5, 12, 0),
+                LocalDateTime.of(2024, 12, 8, 10, 0)
+        );
+
+        BookingResponseDto result = bookingService.create(3L, request);
+
+        assertThat(result.status()).isEqualTo(BookingStatus.WAITING);
+    }
+
+    @Test
+    void updateStatus_rejected_shouldReleasePeriod() {
+        LocalDateTime start = LocalDateTime.now().plusDays(10);
+        LocalDateTime end = LocalDateTime.now().plusDays(12);
+        BookingResponseDto created = bookingService.create(2L, new BookingCreateRequestDto(3L, start, end));
+
+        assertThrows(BookingPeriodConflictException.class, () ->
+                bookingService.create(3L, new BookingCreateRequestDto(3L, start, end))
+        );
+
+        bookingService.updateStatus(1L, created.id(), false);
+        BookingResponseDto result = bookingService.create(3L, new BookingCreateRequestDto(3L, start, end));
+
+        assertThat(result.id()).isNotEqualTo(created.id());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,127 @@
+package ru.practicum.shareit.server.booking.service;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.service.BookingService;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Фиксирует число SQL-запросов на страницу бронирований: проверка пользователя и один запрос,
+ * загружающий вещь, владельца вещи и арендатора вместе с бронированиями.
+ */
+@SpringBootTest
+@Transactional
+@Sql(scripts = "/test-data.sql")
+class BookingServiceStatementCountTest {
+
+    private static final long BOOKER_ID = 3L;
+    private static final long OWNER_ID = 1L;
+    private static final int PAGE_SIZE = 10;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> rows = new ArrayList<>();
+        for (long itemId : new long[]{1L, 3L, 4L, 5L, 6L}) {
+            rows.add(new Object[]{now.minusDays(10 + itemId), now.minusDays(9 + itemId), itemId, BOOKER_ID, "APPROVED"});
+            rows.add(new Object[]{now.minusHours(itemId), now.plusHours(itemId), itemId, BOOKER_ID, "APPROVED"});
+            rows.add(new Object[]{now.plusDays(itemId), now.plusDays(itemId + 1), itemId, BOOKER_ID, "WAITING"});
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO bookings (start_date, end_date, item_id, booker_id, status) VALUES (?, ?, ?, ?, ?)", rows);
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        statistics.setStatisticsEnabled(false);
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = BookingStatus.class, names = {"ALL", "WAITING", "APPROVED"})
+    void findByBookerId_shouldLoadPageWithTwoStatements(BookingStatus status) {
+        assertTwoStatements(() -> bookingService.findByBookerId(BOOKER_ID, status, 0, PAGE_SIZE));
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = BookingStatus.class, names = {"ALL", "WAITING", "APPROVED"})
+    void findByOwnerId_shouldLoadPageWithTwoStatements(BookingStatus status) {
+        assertTwoStatements(() -> bookingService.findByOwnerId(OWNER_ID, status, 0, PAGE_SIZE));
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = BookingState.class, names = {"CURRENT", "PAST", "FUTURE"})
+    void findByBookerIdAndState_shouldLoadPageWithTwoStatements(BookingState state) {
+        assertTwoStatements(() -> bookingService.findByBookerIdAndState(BOOKER_ID, state, 0, PAGE_SIZE));
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = BookingState.class, names = {"CURRENT", "PAST", "FUTURE"})
+    void findByOwnerIdAndState_shouldLoadPageWithTwoStatements(BookingState state) {
+        assertTwoStatements(() -> bookingService.findByOwnerIdAndState(OWNER_ID, state, 0, PAGE_SIZE));
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = BookingStatus.class, names = {"ALL", "WAITING"})
+    void findByBookerIdAfter_shouldLoadPageWithTwoStatements(BookingStatus status) {
+        BookingCursor cursor = new BookingCursor(LocalDateTime.now().plusYears(1), Long.MAX_VALUE);
+        assertTwoStatements(() -> bookingService.findByBookerIdAfter(BOOKER_ID, status, cursor, PAGE_SIZE));
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = BookingStatus.class, names = {"ALL", "WAITING"})
+    void findByOwnerIdAfter_shouldLoadPageWithTwoStatements(BookingStatus status) {
+        BookingCursor cursor = new BookingCursor(LocalDateTime.now().plusYears(1), Long.MAX_VALUE);
+        assertTwoStatements(() -> bookingService.findByOwnerIdAfter(OWNER_ID, status, cursor, PAGE_SIZE));
+    }
+
+    private void assertTwoStatements(Supplier<List<BookingResponseDto>> page) {
+        entityManager.flush();
+        entityManager.clear();
+        entityManager.getEntityManagerFactory().getCache().evictAll();
+        statistics.clear();
+
+        List<BookingResponseDto> bookings = page.get();
+
+        assertThat(bookings).isNotEmpty();
+        assertThat(bookings).allSatisfy(booking -> {
+            assertThat(booking.item().name()).isNotNull();
+            assertThat(booking.item().owner().email()).isNotNull();
+            assertThat(booking.booker().email()).isNotNull();
+        });
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,46 @@
+package ru.practicum.shareit.server.booking.service;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.service.OptimisticLockRetry;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class OptimisticLockRetryTest {
+
+    private final OptimisticLockRetry retry =
+            new OptimisticLockRetry(Mockito.mock(PlatformTransactionManager.class), 3, Duration.ofMillis(1));
+
+    @Test
+    void execute_shouldRetryUntilConflictIsResolved() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = retry.execute(() -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new ObjectOptimisticLockingFailureException(Booking.class, 1L);
+            }
+            return "done";
+        });
+
+        assertThat(result).isEqualTo("done");
+        assertThat(attempts).hasValue(3);
+    }
+
+    @Test
+    void execute_shouldRethrowConflictAfterMaxAttempts() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> retry.execute(() -> {
+            attempts.incrementAndGet();
+            throw new ObjectOptimisticLockingFailureException(Booking.class, 1L);
+        }));
+        assertThat(attempts).hasValue(3);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,106 @@
+package ru.practicum.shareit.server.config;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import ru.practicum.shareit.booking.dto.BookingCreateRequestDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exception.booking.UnavailableItemException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserUpdateRequestDto;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@Sql(scripts = "/test-data.sql")
+class EntityCacheConfigTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        statistics.setStatisticsEnabled(false);
+        entityManager.getEntityManagerFactory().getCache().evictAll();
+    }
+
+    @Test
+    void getOrThrow_shouldServeRepeatedLookupsFromSecondLevelCache() {
+        userService.getUserOrThrow(1L);
+        itemService.getItemOrThrow(1L);
+        statistics.clear();
+
+        User user = userService.getUserOrThrow(1L);
+        Item item = itemService.getItemOrThrow(1L);
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getDomainDataRegionStatistics(User.CACHE_REGION).getHitCount()).isEqualTo(1);
+        assertThat(statistics.getDomainDataRegionStatistics(Item.CACHE_REGION).getHitCount()).isEqualTo(1);
+        assertThat(item.getOwner().getId()).isEqualTo(user.getId());
+    }
+
+    @Test
+    void checkUserExists_shouldQueryDatabaseEvenWhenUserIsCached() {
+        userService.getUserOrThrow(1L);
+        statistics.clear();
+
+        userService.checkUserExists(1L);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getDomainDataRegionStatistics(User.CACHE_REGION).getHitCount()).isZero();
+    }
+
+    @Test
+    void createBooking_shouldCheckAvailabilityAgainstDatabaseNotCachedItem() {
+        assertThat(itemService.getItemOrThrow(1L).getAvailable()).isTrue();
+        // Вещь становится недоступной в обход Hibernate, как при изменении другим экземпляром сервера
+        jdbcTemplate.update("UPDATE items SET available = FALSE WHERE id = 1");
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+
+        assertThatThrownBy(() -> bookingService.create(2L, new BookingCreateRequestDto(1L, start, start.plusDays(1))))
+                .isInstanceOf(UnavailableItemException.class);
+    }
+
+    @Test
+    void update_shouldNotServeStaleUserFromSecondLevelCache() {
+        userService.getUserOrThrow(1L);
+
+        userService.update(1L, new UserUpdateRequestDto("Updated Name", null));
+
+        assertThat(userService.getUserOrThrow(1L).getName()).isEqualTo("Updated Name");
+    }
+}
\ No newline at end of file
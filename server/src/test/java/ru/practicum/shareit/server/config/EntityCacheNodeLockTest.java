@@ -0,0 +1,51 @@
+package ru.practicum.shareit.server.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.server.PostgresDatabases;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Проверяет на PostgreSQL, что с включенным кэшем второго уровня с базой данных работает
+ * только один экземпляр сервера, а с отключенным кэшем экземпляров может быть несколько.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class EntityCacheNodeLockTest {
+
+    @Test
+    void start_secondInstanceWithEntityCache_shouldFailUntilFirstStops() {
+        DriverManagerDataSource dataSource = PostgresDatabases.create();
+
+        try (ConfigurableApplicationContext first = start(dataSource, true)) {
+            assertThatThrownBy(() -> start(dataSource, true))
+                    .rootCause()
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("shareit.entity-cache.enabled=false");
+
+            try (ConfigurableApplicationContext withoutCache = start(dataSource, false)) {
+                assertThat(withoutCache.isActive()).isTrue();
+            }
+        }
+
+        try (ConfigurableApplicationContext restarted = start(dataSource, true)) {
+            assertThat(restarted.isActive()).isTrue();
+        }
+    }
+
+    private static ConfigurableApplicationContext start(DriverManagerDataSource dataSource, boolean entityCache) {
+        return new SpringApplicationBuilder(ShareItServer.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.driverClassName=org.postgresql.Driver",
+                        "--spring.datasource.url=" + dataSource.getUrl(),
+                        "--spring.datasource.username=" + dataSource.getUsername(),
+                        "--spring.datasource.password=" + dataSource.getPassword(),
+                        "--shareit.entity-cache.enabled=" + entityCache);
+    }
+}
\ No newline at end of file
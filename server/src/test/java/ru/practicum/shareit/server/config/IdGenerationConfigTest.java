@@ -0,0 +1,71 @@
+package ru.practicum.shareit.server.config;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+@Sql(scripts = "/test-data.sql")
+class IdGenerationConfigTest {
+
+    private static final int COMMENTS = 20;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        statistics.setStatisticsEnabled(false);
+    }
+
+    @Test
+    void saveAll_shouldTakeIdsFromPoolAndInsertInOneBatch() {
+        List<Comment> comments = IntStream.range(0, COMMENTS)
+                .mapToObj(i -> Comment.builder()
+                        .text("Comment " + i)
+                        .item(entityManager.getReference(Item.class, 1L))
+                        .author(entityManager.getReference(User.class, 2L))
+                        .created(LocalDateTime.now())
+                        .build())
+                .toList();
+        statistics.clear();
+
+        commentRepository.saveAll(comments);
+        entityManager.flush();
+
+        List<Long> ids = comments.stream().map(Comment::getId).toList();
+        assertThat(ids.getLast() - ids.getFirst()).isEqualTo(COMMENTS - 1);
+        assertThat(ids.getFirst()).isGreaterThanOrEqualTo(1000L);
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(COMMENTS);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2);
+    }
+}
\ No newline at end of file
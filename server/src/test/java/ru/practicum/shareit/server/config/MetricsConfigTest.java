@@ -0,0 +1,71 @@
+package ru.practicum.shareit.server.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.config.MetricsConfig;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@Sql(scripts = "/test-data.sql")
+class MetricsConfigTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Test
+    void getItem_ShouldTimeServiceMethodStatementsAndConnectionAcquireByEndpoint() throws Exception {
+        mockMvc.perform(get("/items/1")).andExpect(status().isOk());
+
+        Timer timer = registry.find("shareit.service")
+                .tags("class", "ItemServiceImpl", "method", "findById", "endpoint", "GET /items/{id}")
+                .timer();
+        assertThat(timer).isNotNull();
+        assertThat(timer.count()).isEqualTo(1);
+
+        DistributionSummary statements = registry.find(MetricsConfig.STATEMENTS_PER_REQUEST)
+                .tag("endpoint", "GET /items/{id}")
+                .summary();
+        assertThat(statements).isNotNull();
+        assertThat(statements.count()).isEqualTo(1);
+        assertThat(statements.totalAmount()).isPositive();
+
+        Timer acquire = registry.find(MetricsConfig.CONNECTION_ACQUIRE)
+                .tag("endpoint", "GET /items/{id}")
+                .timer();
+        assertThat(acquire).isNotNull();
+        assertThat(acquire.count()).isPositive();
+    }
+
+    @Test
+    void prometheus_ShouldExportServiceStatementAndPoolMetrics() throws Exception {
+        mockMvc.perform(get("/users/1")).andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(allOf(
+                        containsString("shareit_service_seconds_count{"),
+                        containsString("endpoint=\"GET /users/{id}\""),
+                        containsString("shareit_http_statements_count{"),
+                        containsString("shareit_jdbc_connections_acquire_seconds_count{"),
+                        containsString("hikaricp_connections_acquire_seconds_count{"))));
+    }
+}
\ No newline at end of file
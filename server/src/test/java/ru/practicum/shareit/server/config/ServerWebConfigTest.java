@@ -0,0 +1,33 @@
+package ru.practicum.shareit.server.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Sql(scripts = "/test-data.sql")
+class ServerWebConfigTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void getItem_ShouldReturnEtagAndNotModifiedOnMatch() throws Exception {
+        String eTag = mockMvc.perform(get("/items/1"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertThat(eTag).isNotBlank();
+        mockMvc.perform(get("/items/1").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+    }
+}
\ No newline at end of file
@@ -11,6 +11,7 @@ import ru.practicum.shareit.exception.item.ItemNotFoundException;
 import ru.practicum.shareit.exception.item.ItemNotOwnedByUserException;
 import ru.practicum.shareit.item.controller.ItemController;
 import ru.practicum.shareit.item.dto.*;
+import ru.practicum.shareit.item.service.ItemImportService;
 import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.user.dto.UserResponseDto;
 
@@ -38,6 +39,9 @@ class ItemControllerTest {
     @MockBean
     private ItemService itemService;
 
+    @MockBean
+    private ItemImportService itemImportService;
+
     @Test
     void createItem_shouldReturnCreatedItem() throws Exception {
         Long ownerId = 1L;
@@ -70,6 +74,25 @@ class ItemControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void importItems_shouldReturnImportResult() throws Exception {
+        Long ownerId = 1L;
+        ItemImportResultDto result = new ItemImportResultDto(1, 1,
+                List.of(new ItemImportErrorDto(2, "Некорректный JSON")));
+
+        when(itemImportService.importItems(eq(ownerId), any())).thenReturn(result);
+
+        mockMvc.perform(post("/items/import")
+                        .header("X-Sharer-User-Id", ownerId)
+                        .contentType("application/x-ndjson")
+                        .content("{\"name\":\"Drill\",\"description\":\"Drill\",\"available\":true}\nbroken"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported", is(1)))
+                .andExpect(jsonPath("$.rejected", is(1)))
+                .andExpect(jsonPath("$.errors[0].line", is(2)))
+                .andExpect(jsonPath("$.errors[0].error", is("Некорректный JSON")));
+    }
+
     @Test
     void updateItem_shouldReturnUpdatedItem() throws Exception {
         Long itemId = 1L;
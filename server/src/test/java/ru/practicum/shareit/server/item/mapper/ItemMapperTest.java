@@ -6,9 +6,12 @@ import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemView;
+import ru.practicum.shareit.user.dto.UserResponseDto;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -63,6 +66,27 @@ class ItemMapperTest {
         assertThat(dto.nextBooking()).isNull();
     }
 
+    @Test
+    void toResponseDto_shouldConvertViewWithDetailsToResponseDto() {
+        ItemView view = new ItemView(1L, "Test Item", "Test Description", true,
+                2L, "Owner", "owner@example.com", 3L);
+        List<CommentResponseDto> comments = List.of(
+                new CommentResponseDto(4L, "Great item!", "Test User", LocalDateTime.of(2024, 1, 15, 10, 0)));
+        BookingForItemDto lastBooking = new BookingForItemDto(5L, 6L);
+
+        ItemResponseDto dto = itemMapper.toResponseDto(view, comments, lastBooking, null);
+
+        assertThat(dto.id()).isEqualTo(1L);
+        assertThat(dto.name()).isEqualTo("Test Item");
+        assertThat(dto.description()).isEqualTo("Test Description");
+        assertThat(dto.available()).isTrue();
+        assertThat(dto.requestId()).isEqualTo(3L);
+        assertThat(dto.owner()).isEqualTo(new UserResponseDto(2L, "Owner", "owner@example.com"));
+        assertThat(dto.comments()).isEqualTo(comments);
+        assertThat(dto.lastBooking()).isEqualTo(lastBooking);
+        assertThat(dto.nextBooking()).isNull();
+    }
+
     @Test
     void updateEntity_shouldUpdateEntityFromUpdateRequestDto() {
         Item item = Item.builder()
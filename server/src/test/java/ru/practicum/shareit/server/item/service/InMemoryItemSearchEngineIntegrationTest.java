@@ -0,0 +1,128 @@
+package ru.practicum.shareit.server.item.service;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestComponent;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.repository.ItemView;
+import ru.practicum.shareit.item.service.InMemoryItemSearchEngine;
+import ru.practicum.shareit.item.service.ItemSearchEngine;
+import ru.practicum.shareit.item.service.ItemService;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {"shareit.item-search.engine=memory", "shareit.item-search.refresh-interval=0s"})
+@Import(InMemoryItemSearchEngineIntegrationTest.ReadinessProbe.class)
+@Transactional
+@Sql(scripts = "/test-data.sql")
+class InMemoryItemSearchEngineIntegrationTest {
+
+    @Autowired
+    private ItemSearchEngine itemSearchEngine;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ReadinessProbe readinessProbe;
+
+    @Test
+    void searchAvailableItems_shouldUseInMemoryIndex() {
+        ((InMemoryItemSearchEngine) itemSearchEngine).rebuild();
+
+        assertThat(itemSearchEngine).isInstanceOf(InMemoryItemSearchEngine.class);
+        assertThat(itemService.searchAvailableItems("portable", 0, 10))
+                .extracting(ItemResponseDto::id).containsExactly(5L);
+        assertThat(itemService.searchAvailableItems("camera", 0, 10)).isEmpty();
+    }
+
+    @Test
+    void search_beforeRebuild_shouldQueryDatabase() {
+        InMemoryItemSearchEngine engine = new InMemoryItemSearchEngine(itemRepository, Duration.ZERO);
+
+        assertThat(engine.isReady()).isFalse();
+        assertThat(engine.search("portable", 0, 10)).extracting(ItemView::id).containsExactly(5L);
+    }
+
+    @Test
+    void search_builtIndex_shouldNotQueryDatabase() {
+        ((InMemoryItemSearchEngine) itemSearchEngine).rebuild();
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        try {
+            assertThat(itemSearchEngine.search("e", 0, 10)).extracting(ItemView::ownerName)
+                    .contains("Owner User", "Booker User");
+
+            assertThat(statistics.getPrepareStatementCount()).isZero();
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+    }
+
+    @Test
+    void refresh_shouldApplyChangesMadeOutsideThisServer() {
+        InMemoryItemSearchEngine engine = (InMemoryItemSearchEngine) itemSearchEngine;
+        engine.rebuild();
+        jdbcTemplate.update("INSERT INTO items (name, description, available, owner_id) VALUES (?, ?, TRUE, 2)",
+                "Speaker", "Portable speaker");
+        jdbcTemplate.update("UPDATE items SET description = 'Tablet', version = version + 1 WHERE id = 5");
+        jdbcTemplate.update("UPDATE items SET available = FALSE, version = version + 1 WHERE id = 3");
+        jdbcTemplate.update("DELETE FROM items WHERE id = 6");
+        jdbcTemplate.update("UPDATE users SET name = 'Renamed Owner' WHERE id = 1");
+
+        engine.refresh();
+
+        assertThat(engine.search("portable", 0, 10)).extracting(ItemView::name).containsExactly("Speaker");
+        assertThat(engine.search("phone", 0, 10)).isEmpty();
+        assertThat(engine.search("request", 0, 10)).isEmpty();
+        assertThat(engine.search("laptop", 0, 10)).extracting(ItemView::ownerName)
+                .containsExactly("Renamed Owner");
+    }
+
+    @Test
+    void readiness_shouldBeReportedAfterIndexIsBuilt() {
+        assertThat(readinessProbe.readyWhenAcceptingTraffic).isTrue();
+    }
+
+    @TestComponent
+    static class ReadinessProbe {
+
+        private final InMemoryItemSearchEngine engine;
+        private volatile Boolean readyWhenAcceptingTraffic;
+
+        ReadinessProbe(InMemoryItemSearchEngine engine) {
+            this.engine = engine;
+        }
+
+        @EventListener
+        void onReadinessChanged(AvailabilityChangeEvent<ReadinessState> event) {
+            if (event.getState() == ReadinessState.ACCEPTING_TRAFFIC) {
+                readyWhenAcceptingTraffic = engine.isReady();
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,90 @@
+package ru.practicum.shareit.server.item.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.exception.user.UserNotFoundException;
+import ru.practicum.shareit.item.dto.ItemImportErrorDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.service.ItemImportService;
+import ru.practicum.shareit.item.service.ItemService;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(properties = "shareit.item-import.batch-size=2")
+@Transactional
+@Sql(scripts = "/test-data.sql")
+class ItemImportServiceImplIntegrationTest {
+
+    @Autowired
+    private ItemImportService itemImportService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Test
+    void importItems_shouldInsertValidLinesAndReportInvalidOnes() {
+        String ndjson = """
+                {"name":"Drill","description":"Cordless drill","available":true}
+                {"name":"","description":"No name","available":true}
+
+                not a json
+                {"name":"Ladder","description":"Folding ladder","available":false,"requestId":1}
+                {"name":"Tent","description":"Two person tent","available":true,"requestId":999}
+                {"name":"Saw","description":"Hand saw"}
+                """;
+
+        ItemImportResultDto result = itemImportService.importItems(3L, stream(ndjson));
+
+        assertThat(result.imported()).isEqualTo(2);
+        assertThat(result.rejected()).isEqualTo(4);
+        assertThat(result.errors()).containsExactlyInAnyOrder(
+                new ItemImportErrorDto(2, "Название вещи не может быть пустым"),
+                new ItemImportErrorDto(4, "Некорректный JSON"),
+                new ItemImportErrorDto(6, "Запрос с ID 999 не найден"),
+                new ItemImportErrorDto(7, "Статус доступности не может быть пустым"));
+
+        List<ItemResponseDto> items = itemService.findByOwnerId(3L, 0, 10);
+        assertThat(items).extracting(ItemResponseDto::name).contains("Drill", "Ladder");
+        assertThat(items).filteredOn(item -> item.name().equals("Ladder"))
+                .extracting(ItemResponseDto::requestId).containsExactly(1L);
+        assertThat(itemService.searchAvailableItems("cordless", 0, 10))
+                .extracting(ItemResponseDto::name).containsExactly("Drill");
+    }
+
+    @Test
+    void importItems_shouldInsertAllBatches() {
+        String ndjson = IntStream.rangeClosed(1, 5)
+                .mapToObj(i -> "{\"name\":\"Bulk " + i + "\",\"description\":\"Imported item\",\"available\":true}")
+                .collect(Collectors.joining("\n"));
+
+        ItemImportResultDto result = itemImportService.importItems(3L, stream(ndjson));
+
+        assertThat(result.imported()).isEqualTo(5);
+        assertThat(result.rejected()).isZero();
+        assertThat(itemService.findByOwnerId(3L, 0, 20))
+                .extracting(ItemResponseDto::id).doesNotContainNull().doesNotHaveDuplicates();
+        assertThat(itemService.searchAvailableItems("imported", 0, 20)).hasSize(5);
+    }
+
+    @Test
+    void importItems_shouldThrowWhenOwnerNotFound() {
+        assertThrows(UserNotFoundException.class, () -> itemImportService.importItems(999L,
+                stream("{\"name\":\"Drill\",\"description\":\"Cordless drill\",\"available\":true}")));
+    }
+
+    private static InputStream stream(String ndjson) {
+        return new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8));
+    }
+}
\ No newline at end of file
@@ -19,7 +19,7 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @SpringBootTest
 @Transactional
-@Sql(scripts = {"/test-schema.sql", "/test-data.sql"})
+@Sql(scripts = "/test-data.sql")
 class ItemServiceImplIntegrationTest {
 
     @Autowired
@@ -59,6 +59,45 @@ class ItemServiceImplIntegrationTest {
         });
     }
 
+    @Test
+    void findByOwnerId_shouldFillCommentsAndBookings() {
+        List<ItemResponseDto> items = itemService.findByOwnerId(1L, 0, 10);
+
+        ItemResponseDto laptop = items.stream()
+                .filter(item -> item.id().equals(1L))
+                .findFirst()
+                .orElseThrow();
+        assertThat(laptop.comments()).hasSize(2);
+        assertThat(laptop.lastBooking()).isNotNull();
+        assertThat(laptop.lastBooking().id()).isEqualTo(1L);
+        assertThat(laptop.lastBooking().bookerId()).isEqualTo(2L);
+        assertThat(laptop.nextBooking()).isNull();
+    }
+
+    @Test
+    void findByOwnerId_shouldPageInOrderOfId() {
+        List<ItemResponseDto> firstPage = itemService.findByOwnerId(1L, 0, 2);
+        List<ItemResponseDto> secondPage = itemService.findByOwnerId(1L, 2, 2);
+
+        assertThat(firstPage).extracting(ItemResponseDto::id).containsExactly(1L, 2L);
+        assertThat(secondPage).extracting(ItemResponseDto::id).containsExactly(3L, 6L);
+    }
+
+    @Test
+    void findByOwnerId_withOffsetNotMultipleOfSize_shouldStartAtOffset() {
+        List<ItemResponseDto> items = itemService.findByOwnerId(1L, 1, 2);
+
+        assertThat(items).extracting(ItemResponseDto::id).containsExactly(2L, 3L);
+    }
+
+    @Test
+    void searchAvailableItems_withOffsetNotMultipleOfSize_shouldStartAtOffset() {
+        List<ItemResponseDto> items = itemService.searchAvailableItems("o", 1, 3);
+
+        assertThat(items).extracting(ItemResponseDto::name)
+                .containsExactly("Phone", "Book", "Tablet");
+    }
+
     @Test
     void create_shouldCreateNewItem() {
         Long ownerId = 1L;
@@ -148,6 +187,18 @@ class ItemServiceImplIntegrationTest {
                         item.description().toLowerCase().contains("laptop"));
     }
 
+    @Test
+    void searchAvailableItems_shouldRankNameMatchesFirstAndPage() {
+        ItemResponseDto speaker = itemService.create(2L, new ItemCreateRequestDto(
+                "Portable speaker", "Loud speaker", true, null));
+
+        List<ItemResponseDto> firstPage = itemService.searchAvailableItems("portable", 0, 1);
+        List<ItemResponseDto> secondPage = itemService.searchAvailableItems("portable", 1, 1);
+
+        assertThat(firstPage).extracting(ItemResponseDto::id).containsExactly(speaker.id());
+        assertThat(secondPage).extracting(ItemResponseDto::id).containsExactly(5L);
+    }
+
     @Test
     void searchAvailableItems_shouldReturnEmptyListForEmptyText() {
         String emptyText = "";
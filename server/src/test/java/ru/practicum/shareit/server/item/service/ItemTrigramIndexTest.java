@@ -0,0 +1,102 @@
+package ru.practicum.shareit.server.item.service;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.repository.ItemView;
+import ru.practicum.shareit.item.service.ItemTrigramIndex;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ItemTrigramIndexTest {
+
+    @Test
+    void search_shouldMatchSubstringsIgnoringCase() {
+        ItemTrigramIndex index = new ItemTrigramIndex();
+        index.put(item(1L, "Laptop", "High-performance laptop", true), 0);
+        index.put(item(2L, "Drill", "Cordless drill", true), 0);
+
+        assertThat(index.search("LAPT", 0, 10)).extracting(ItemView::id).containsExactly(1L);
+        assertThat(index.search("h-perf", 0, 10)).extracting(ItemView::id).containsExactly(1L);
+        assertThat(index.search("ll", 0, 10)).extracting(ItemView::id).containsExactly(2L);
+        assertThat(index.search("tablet", 0, 10)).isEmpty();
+    }
+
+    @Test
+    void search_shouldRankNameMatchesFirstAndPage() {
+        ItemTrigramIndex index = new ItemTrigramIndex();
+        index.put(item(1L, "Tablet", "Portable tablet", true), 0);
+        index.put(item(2L, "Speaker", "Portable speaker", true), 0);
+        index.put(item(3L, "Portable drill", "Cordless", true), 0);
+
+        assertThat(index.search("portable", 0, 10)).extracting(ItemView::id).containsExactly(3L, 1L, 2L);
+        assertThat(index.search("portable", 1, 1)).extracting(ItemView::id).containsExactly(1L);
+        assertThat(index.search("portable", 3, 1)).isEmpty();
+    }
+
+    @Test
+    void search_shouldReturnStoredProjections() {
+        ItemTrigramIndex index = new ItemTrigramIndex();
+        ItemView drill = new ItemView(1L, "Drill", "Cordless drill", true, 7L, "Owner", "owner@example.com", 3L);
+        index.put(drill, 0);
+
+        assertThat(index.search("drill", 0, 10)).containsExactly(drill);
+    }
+
+    @Test
+    void put_shouldReindexUpdatedAndSkipUnavailableItems() {
+        ItemTrigramIndex index = new ItemTrigramIndex();
+        index.put(item(1L, "Camera", "Old camera", true), 0);
+        index.put(item(2L, "Camera", "Broken camera", false), 0);
+
+        index.put(item(1L, "Tripod", null, true), 1);
+
+        assertThat(index.search("camera", 0, 10)).isEmpty();
+        assertThat(index.search("tripod", 0, 10)).extracting(ItemView::id).containsExactly(1L);
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void put_olderVersion_shouldKeepNewerItem() {
+        ItemTrigramIndex index = new ItemTrigramIndex();
+        index.put(item(1L, "Tripod", "Carbon tripod", true), 2);
+
+        index.put(item(1L, "Camera", "Old camera", true), 1);
+        index.put(item(1L, "Tripod", "Carbon tripod", false), 1);
+
+        assertThat(index.search("camera", 0, 10)).isEmpty();
+        assertThat(index.get(1L).version()).isEqualTo(2);
+        assertThat(index.get(1L).item().name()).isEqualTo("Tripod");
+    }
+
+    @Test
+    void remove_shouldDropItemFromResults() {
+        ItemTrigramIndex index = new ItemTrigramIndex();
+        for (long id = 10; id > 0; id--) {
+            index.put(item(id, "Bike " + id, "City bike", true), 0);
+        }
+
+        index.remove(5L);
+
+        assertThat(index.search("bike", 0, 20)).extracting(ItemView::id)
+                .hasSize(9).doesNotContain(5L).isSorted();
+        assertThat(index.idsBetween(3L, 7L)).containsExactly(4L, 6L, 7L);
+    }
+
+    @Test
+    void removeIfNotNewer_shouldKeepItemsChangedAfterModification() {
+        ItemTrigramIndex index = new ItemTrigramIndex();
+        index.put(item(1L, "Bike", "City bike", true), 0);
+        index.put(item(2L, "Bike", "Mountain bike", true), 3);
+        long modification = index.modifications();
+        index.put(item(3L, "Bike", "Road bike", true), 0);
+
+        index.removeIfNotNewer(1L, Long.MAX_VALUE, modification);
+        index.removeIfNotNewer(2L, 2, modification);
+        index.removeIfNotNewer(3L, Long.MAX_VALUE, modification);
+
+        assertThat(index.search("bike", 0, 10)).extracting(ItemView::id).containsExactly(2L, 3L);
+    }
+
+    private static ItemView item(Long id, String name, String description, boolean available) {
+        return new ItemView(id, name, description, available, 1L, "Owner", "owner@example.com", null);
+    }
+}
\ No newline at end of file
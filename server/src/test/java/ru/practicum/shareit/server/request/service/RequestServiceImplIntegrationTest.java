@@ -1,5 +1,8 @@
 package ru.practicum.shareit.server.request.service;
 
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -7,6 +10,8 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
@@ -21,7 +26,7 @@ import static org.junit.jupiter.api.Assertions.*;
 
 @SpringBootTest
 @Transactional
-@Sql(scripts = {"/test-schema.sql", "/test-data.sql"})
+@Sql(scripts = "/test-data.sql")
 class RequestServiceImplIntegrationTest {
 
     @Autowired
@@ -33,6 +38,12 @@ class RequestServiceImplIntegrationTest {
     @Autowired
     private ItemRequestRepository itemRequestRepository;
 
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
     private User testUser1;
     private User testUser2;
     private User testUser3;
@@ -45,6 +56,8 @@ class RequestServiceImplIntegrationTest {
         testUser2 = userRepository.findById(2L).orElseThrow();
         testUser3 = userRepository.findById(3L).orElseThrow();
 
+        // Ссылка вещи на запрос не обнуляется при удалении запроса, поэтому снимается заранее
+        entityManager.createQuery("UPDATE Item i SET i.requestId = NULL").executeUpdate();
         itemRequestRepository.deleteAll();
 
         testRequest1 = ItemRequest.builder()
@@ -250,4 +263,42 @@ class RequestServiceImplIntegrationTest {
         assertEquals(existingRequestId, foundRequest.id(), "ID запроса должен совпадать");
         assertEquals("Test request from user 1", foundRequest.description(), "Описание должно совпадать");
     }
+
+    @Test
+    void getAllItemRequests_shouldLoadItemsOfPageInSingleQuery() {
+        for (int i = 0; i < 5; i++) {
+            ItemRequest request = itemRequestRepository.save(ItemRequest.builder()
+                    .description("Batch request " + i)
+                    .requestor(testUser2)
+                    .created(LocalDateTime.now().plusMinutes(i))
+                    .build());
+            for (User owner : List.of(testUser1, testUser3)) {
+                itemRepository.save(Item.builder()
+                        .name("Item " + i)
+                        .description("Item for request " + i)
+                        .available(true)
+                        .owner(owner)
+                        .requestId(request.getId())
+                        .build());
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        entityManager.getEntityManagerFactory().getCache().evictAll();
+
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        try {
+            List<ItemRequestDto> requests = requestService.getAllItemRequests(testUser1.getId(), 0, 10);
+
+            assertEquals(6, requests.size(), "Должны вернуться все запросы пользователя 2");
+            assertTrue(requests.stream().limit(5).allMatch(request -> request.items().size() == 2),
+                    "Каждый из новых запросов должен содержать по две вещи");
+            assertEquals(3, statistics.getPrepareStatementCount(),
+                    "Пользователь, страница запросов и вещи всех запросов должны загружаться тремя запросами");
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+    }
 }
\ No newline at end of file
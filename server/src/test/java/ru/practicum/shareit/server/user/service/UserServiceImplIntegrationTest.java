@@ -18,7 +18,7 @@ import static org.junit.jupiter.api.Assertions.*;
 
 @SpringBootTest
 @Transactional
-@Sql(scripts = {"/test-schema.sql", "/test-data.sql"})
+@Sql(scripts = "/test-data.sql")
 class UserServiceImplIntegrationTest {
 
     @Autowired
@@ -158,4 +158,16 @@ class UserServiceImplIntegrationTest {
 
         assertThrows(UserNotFoundException.class, () -> userService.getUserOrThrow(nonExistentUserId));
     }
+
+    @Test
+    void checkUserExists_shouldPassWhenUserExists() {
+        assertDoesNotThrow(() -> userService.checkUserExists(1L));
+    }
+
+    @Test
+    void checkUserExists_shouldThrowExceptionWhenUserNotFound() {
+        Long nonExistentUserId = 999L;
+
+        assertThrows(UserNotFoundException.class, () -> userService.checkUserExists(nonExistentUserId));
+    }
 }
\ No newline at end of file
@@ -12,6 +12,15 @@ ALTER TABLE items ALTER COLUMN id RESTART WITH 1;
 ALTER TABLE bookings ALTER COLUMN id RESTART WITH 1;
 ALTER TABLE comments ALTER COLUMN id RESTART WITH 1;
 
+-- Схему создают миграции Flyway при запуске контекста. Идентификаторы сущностей, сохраняемых через JPA,
+-- выдаются из последовательностей и начинаются после идентификаторов тестовых данных.
+-- Последовательности не сдвигаются назад: Hibernate держит в памяти уже выданные ими пулы идентификаторов
+ALTER SEQUENCE users_seq RESTART WITH (SELECT GREATEST(1000, BASE_VALUE) FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_NAME = 'USERS_SEQ');
+ALTER SEQUENCE requests_seq RESTART WITH (SELECT GREATEST(1000, BASE_VALUE) FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_NAME = 'REQUESTS_SEQ');
+ALTER SEQUENCE items_seq RESTART WITH (SELECT GREATEST(1000, BASE_VALUE) FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_NAME = 'ITEMS_SEQ');
+ALTER SEQUENCE bookings_seq RESTART WITH (SELECT GREATEST(1000, BASE_VALUE) FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_NAME = 'BOOKINGS_SEQ');
+ALTER SEQUENCE comments_seq RESTART WITH (SELECT GREATEST(1000, BASE_VALUE) FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_NAME = 'COMMENTS_SEQ');
+
 -- Пользователи (не указываем ID - пусть генерируются автоматически)
 INSERT INTO users (name, email) VALUES
 ('Owner User', 'owner@example.com'),